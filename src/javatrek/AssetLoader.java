@@ -0,0 +1,248 @@
+package javatrek;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the game's data files and sprites on a background pool while the window is being built. Each asset is exposed
+ * as a future; callers only wait on an asset when they actually need it, and an asset that has not been started yet is
+ * simply loaded on the calling thread. Assets are taken from the packed resource archive when one is present, and from
+ * the individual classpath resources otherwise. CSV files are loaded as rows of fields, split only once.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - added getRows (), which takes CSV files' rows pre-split from the archive
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class AssetLoader {
+
+	/** the data files read at startup */
+	public static final String[] DATA_FILES = { "/data/ship_types.csv", "/data/federation_people_names.txt",
+			"/data/federation_ship_names.txt", "/data/pirate_ship_names.txt", "/data/raider_ship_names.txt",
+			"/data/instructions_energy_weapons.txt", "/data/instructions_projectile_weapons.txt" };
+
+	/** the base and space sprites (ship sprites are taken from the ship data file) */
+	public static final String[] SPRITES = { "/images/bases/science_station.bmp", "/images/bases/star_base.bmp",
+			"/images/bases/supply_depot.bmp", "/images/space/asteroid_01.bmp", "/images/space/asteroid_02.bmp",
+			"/images/space/asteroid_03.bmp", "/images/space/asteroid_04.bmp", "/images/space/asteroid_05.bmp",
+			"/images/space/asteroid_06.bmp", "/images/space/asteroid_07.bmp", "/images/space/sun.bmp" };
+
+	/** the ship data file, which also names the ship sprites */
+	private static final String SHIP_TYPES = "/data/ship_types.csv";
+
+	/** parsed data files, keyed by resource name */
+	private final Map<String, FutureTask<List<String>>> data = new ConcurrentHashMap<>();
+
+	/** split CSV files, keyed by resource name */
+	private final Map<String, FutureTask<List<String[]>>> rows = new ConcurrentHashMap<>();
+
+	/** the background pool (created by start ()) */
+	private ExecutorService pool;
+
+	/**
+	 * Starts loading every data file and sprite on a background pool. Calling this is optional; without it every asset
+	 * is loaded on first use.
+	 *
+	 * @since 3.0
+	 */
+	public synchronized void start() {
+		if (pool != null)
+			return;
+
+		// map the packed archive (if any) before anything asks for an asset
+		ResourceArchive.getDefault();
+
+		// daemon threads, so that an unfinished preload never keeps the game alive
+		int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		AtomicInteger count = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "asset-loader-" + count.incrementAndGet());
+			t.setDaemon(true);
+			t.setPriority(Thread.NORM_PRIORITY - 1);
+			return t;
+		});
+
+		// the ship data is first, as the ship sprites are named inside it
+		pool.execute(() -> {
+			for (String cols[] : getRows(SHIP_TYPES)) {
+				if ((cols.length > 1) && (cols[0].startsWith("Ship Class") == false))
+					JavaTrek.imgMgr.preloadImage("/images/ships/" + cols[1], pool);
+			}
+		});
+
+		for (String filename : DATA_FILES) {
+			if (filename.endsWith(".csv") == false)
+				pool.execute(task(filename));
+		}
+
+		for (String sprite : SPRITES)
+			JavaTrek.imgMgr.preloadImage(sprite, pool);
+	}
+
+	/**
+	 * Returns the future for a data file's lines, scheduling nothing.
+	 *
+	 * @param filename
+	 *            the resource name of the data file
+	 *
+	 * @return the future holding the file's lines
+	 *
+	 * @since 3.0
+	 */
+	public Future<List<String>> getFuture(String filename) {
+		return task(filename);
+	}
+
+	/**
+	 * Returns the lines of a data file, waiting for the background load if it is in progress, or loading the file on
+	 * the calling thread if it has not been started.
+	 *
+	 * @param filename
+	 *            the resource name of the data file
+	 *
+	 * @return an unmodifiable list of the file's lines
+	 *
+	 * @since 3.0
+	 */
+	public List<String> getLines(String filename) {
+		FutureTask<List<String>> task = task(filename);
+
+		// runs the load here if no pool thread has picked it up yet (a no-op otherwise)
+		task.run();
+
+		return await(filename, task);
+	}
+
+	/**
+	 * Returns the rows of a CSV file, each split at its commas as by String.split (","), waiting for the background
+	 * load if it is in progress, or loading the file on the calling thread if it has not been started.
+	 *
+	 * @param filename
+	 *            the resource name of the CSV file
+	 *
+	 * @return an unmodifiable list of the file's rows; the arrays must not be changed
+	 *
+	 * @since 3.1
+	 */
+	public List<String[]> getRows(String filename) {
+		FutureTask<List<String[]>> task = rows.computeIfAbsent(filename, f -> new FutureTask<>(() -> split(f)));
+
+		// runs the load here if no pool thread has picked it up yet (a no-op otherwise)
+		task.run();
+
+		return await(filename, task);
+	}
+
+	/**
+	 * Waits for a load task to finish.
+	 *
+	 * @param filename
+	 *            the resource name of the file being loaded
+	 * @param task
+	 *            the load task
+	 *
+	 * @return the task's result
+	 *
+	 * @since 3.1
+	 */
+	private static <T> T await(String filename, FutureTask<T> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading " + filename, e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not load " + filename, e.getCause());
+		}
+	}
+
+	/**
+	 * Reads a data file from the classpath, one entry per line.
+	 *
+	 * @param filename
+	 *            the resource name of the data file
+	 *
+	 * @return an unmodifiable list of the file's lines
+	 *
+	 * @throws Exception
+	 *             if the file is missing or cannot be read
+	 *
+	 * @since 3.0
+	 */
+	private List<String> read(String filename) throws Exception {
+		// the archive holds the file pre-split
+		ResourceArchive archive = ResourceArchive.getDefault();
+		if ((archive != null) && (archive.contains(filename)))
+			return archive.getLines(filename);
+
+		InputStream in = getClass().getResourceAsStream(filename);
+		if (in == null)
+			throw new Exception(String.format("Data file '%s' not found", filename));
+
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader input = new BufferedReader(new InputStreamReader(in))) {
+			String line;
+			while ((line = input.readLine()) != null)
+				lines.add(line);
+		}
+
+		return Collections.unmodifiableList(lines);
+	}
+
+	/**
+	 * Reads a CSV file's rows, from the archive if it holds them and otherwise by splitting the file's lines.
+	 *
+	 * @param filename
+	 *            the resource name of the CSV file
+	 *
+	 * @return an unmodifiable list of the file's rows
+	 *
+	 * @throws Exception
+	 *             if the file is missing or cannot be read
+	 *
+	 * @since 3.1
+	 */
+	private List<String[]> split(String filename) throws Exception {
+		ResourceArchive archive = ResourceArchive.getDefault();
+		List<String[]> list = (archive != null) ? archive.getRows(filename) : null;
+		if (list != null)
+			return list;
+
+		list = new ArrayList<>();
+		for (String line : read(filename))
+			list.add(line.split(","));
+
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Returns the (possibly not yet run) task that loads a data file.
+	 *
+	 * @param filename
+	 *            the resource name of the data file
+	 *
+	 * @return the load task
+	 *
+	 * @since 3.0
+	 */
+	private FutureTask<List<String>> task(String filename) {
+		return data.computeIfAbsent(filename, f -> new FutureTask<>(() -> read(f)));
+	}
+
+}
@@ -0,0 +1,131 @@
+package javatrek;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javatrek.panels.JavaTrekPanel;
+
+/**
+ * Collects the changes made to the game's data and refreshes only the panels that display them. The game's objects
+ * post changes as they happen; the user interface flushes the bus once an action has completed, and each subscribed
+ * panel is refreshed at most once, and only if one of the changes it subscribed to was posted.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - panels are refreshed while holding the game lock
+ * <LI>Version 3.2 - 10/19/2026 - added SETTINGS_CHANGED
+ * <LI>Version 3.3 - 10/19/2026 - panels are refreshed from the game loop's views, without the game lock
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.3 - 10/19/2026
+ */
+
+public class ChangeBus {
+
+	/**
+	 * The kinds of change that panels can subscribe to.
+	 */
+	public enum Change {
+		/** the player's ship's main energy changed */
+		ENERGY_CHANGED,
+		/** the player's pilot's experience, skills or funds changed */
+		PILOT_CHANGED,
+		/** objects entered or left a region, or the player learned a region's contents */
+		REGION_CONTENTS_CHANGED,
+		/** a setting of one of the player's ship's systems (such as the light drive's speed) changed */
+		SETTINGS_CHANGED,
+		/** the player's ship's shield energy or shield state changed */
+		SHIELDS_CHANGED,
+		/** the player's ship moved */
+		SHIP_MOVED,
+		/** the player's ship's hull or systems were damaged or repaired */
+		SYSTEMS_DAMAGED
+	}
+
+	/** the changes posted since the last flush, one bit per change */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/** the subscribed panels */
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Discards the changes posted since the last flush (used when every panel is refreshed anyway).
+	 *
+	 * @since 3.0
+	 */
+
+	public void clear() {
+		pending.set(0);
+	}
+
+	/**
+	 * Refreshes the panels subscribed to any of the changes posted since the last flush. This must be called on the
+	 * event dispatch thread; the panels draw from the views the game loop published, so the game lock is not taken.
+	 *
+	 * @since 3.0
+	 */
+
+	public void flush() {
+		int changes = pending.getAndSet(0);
+		if (changes == 0)
+			return;
+
+		for (Subscription s : subscriptions) {
+			if ((s.mask & changes) != 0)
+				s.panel.refresh();
+		}
+	}
+
+	/**
+	 * Records a change. This may be called from any thread.
+	 *
+	 * @param change
+	 *            the change made
+	 *
+	 * @since 3.0
+	 */
+
+	public void post(Change change) {
+		int bit = 1 << change.ordinal();
+		pending.accumulateAndGet(bit, (a, b) -> a | b);
+	}
+
+	/**
+	 * Subscribes a panel to one or more changes; the panel's refresh function is called when any of them is flushed.
+	 *
+	 * @param panel
+	 *            the panel to refresh
+	 * @param changes
+	 *            the changes that affect what the panel displays
+	 *
+	 * @since 3.0
+	 */
+
+	public void subscribe(JavaTrekPanel panel, Change... changes) {
+		int mask = 0;
+		for (Change c : changes)
+			mask |= 1 << c.ordinal();
+
+		subscriptions.add(new Subscription(panel, mask));
+	}
+
+	/**
+	 * A panel and the changes it is subscribed to.
+	 */
+	private static class Subscription {
+
+		/** the subscribed changes, one bit per change */
+		final int mask;
+
+		/** the panel to refresh */
+		final JavaTrekPanel panel;
+
+		Subscription(JavaTrekPanel panel, int mask) {
+			this.panel = panel;
+			this.mask = mask;
+		}
+	}
+
+}
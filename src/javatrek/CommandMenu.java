@@ -3,6 +3,7 @@ package javatrek;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
@@ -11,14 +12,17 @@ import javatrek.handlers.ExitGame;
 import javatrek.handlers.QuickLoad;
 import javatrek.handlers.QuickSave;
 import javatrek.handlers.RefreshDisplay;
+import javatrek.handlers.ToggleRealTime;
 import javatrek.handlers.debug.DebugEnergyDamage;
 import javatrek.handlers.debug.DebugEnergyDamageSystem;
 import javatrek.handlers.debug.DebugGivePlayerExperience;
 import javatrek.handlers.debug.DebugIONDamage;
+import javatrek.handlers.debug.DebugPerformanceOverlay;
 import javatrek.handlers.debug.DebugProjectileDamage;
 import javatrek.handlers.debug.DebugProjectileDamageSystem;
 import javatrek.handlers.debug.DebugRevealRegions;
 import javatrek.panels.InstructionsPanel;
+import javatrek.panels.ShipsDatabasePanel;
 
 /**
  * The application's menu bar.
@@ -27,10 +31,14 @@ import javatrek.panels.InstructionsPanel;
  * <LI>Version 1.1 - 04/06/2002 - the original class
  * <LI>Version 1.0 - 03/09/2002 - the original was a pop-up menu
  * <LI>Version 2.0 - 10/21/2004 - now uses seperate action handlers and menu- and item-creating functions
+ * <LI>Version 2.1 - 10/19/2026 - added the real-time mode check box
+ * <LI>Version 2.2 - 10/19/2026 - added the performance overlay to the debug menu
+ * <LI>Version 2.3 - 10/19/2026 - items name their actions for the event dispatch thread watchdog
+ * <LI>Version 2.4 - 10/19/2026 - added the ships database to the help menu
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/21/2004
+ * @version 2.4 - 10/19/2026
  */
 
 public class CommandMenu extends JMenuBar {
@@ -54,6 +62,12 @@ public class CommandMenu extends JMenuBar {
 		createMenuItem(m_file, "Quick Load", "loads the quick-save game", new QuickLoad());
 		createMenuItem(m_file, "Quick Save", "quick-saves your game", new QuickSave());
 		m_file.addSeparator();
+		JCheckBoxMenuItem mi_realtime = new JCheckBoxMenuItem("Real-Time Mode");
+		mi_realtime.setToolTipText("lets time pass continuously, rather than only when you act");
+		mi_realtime.setMnemonic(KeyEvent.VK_T);
+		mi_realtime.addActionListener(JavaTrek.watchdog.track(mi_realtime.getText(), new ToggleRealTime()));
+		m_file.add(mi_realtime);
+		m_file.addSeparator();
 		createMenuItem(m_file, "Exit", "exits the game", KeyEvent.VK_X, new ExitGame());
 
 		// view menu
@@ -83,12 +97,20 @@ public class CommandMenu extends JMenuBar {
 			createMenuItem(m_debug, "Give Player XP", "gives the player 5000 experience points", KeyEvent.VK_G,
 					new DebugGivePlayerExperience());
 			createMenuItem(m_debug, "Reveal Regions", "displays all regions", KeyEvent.VK_R, new DebugRevealRegions());
+			m_debug.addSeparator();
+			JCheckBoxMenuItem mi_perf = new JCheckBoxMenuItem("Performance Overlay");
+			mi_perf.setToolTipText("displays paint, refresh and turn times over the game");
+			mi_perf.setMnemonic(KeyEvent.VK_O);
+			mi_perf.addActionListener(JavaTrek.watchdog.track(mi_perf.getText(), new DebugPerformanceOverlay()));
+			m_debug.add(mi_perf);
 		}
 
 		// create and add the menu items for the help menu
 		JMenu m_help = createMenu("Help", KeyEvent.VK_H);
 		createMenuItem(m_help, "Instructions", "displays instructions for the game", KeyEvent.VK_I,
 				e -> JavaTrek.game.showPanel(InstructionsPanel.class.getName()));
+		createMenuItem(m_help, "Ships Database", "displays the details of every class of ship", KeyEvent.VK_S,
+				e -> JavaTrek.game.showPanel(ShipsDatabasePanel.class.getName()));
 		m_help.addSeparator();
 		createMenuItem(m_help, "Version", "displays version information in the console", KeyEvent.VK_V,
 				e -> JavaTrek.game.console.addMessage("BlackLeft", JavaTrek.GAME_TITLE + "\n"));
@@ -133,7 +155,7 @@ public class CommandMenu extends JMenuBar {
 	private JMenuItem createMenuItem(JMenu menu, String name, String tip, ActionListener ah) {
 		JMenuItem item = new JMenuItem(name);
 		item.setToolTipText(tip);
-		item.addActionListener(ah);
+		item.addActionListener(JavaTrek.watchdog.track(name, ah));
 
 		menu.add(item);
 
@@ -162,7 +184,7 @@ public class CommandMenu extends JMenuBar {
 		JMenuItem item = new JMenuItem(name);
 		item.setToolTipText(tip);
 		item.setMnemonic(mnemonic);
-		item.addActionListener(ah);
+		item.addActionListener(JavaTrek.watchdog.track(name, ah));
 
 		menu.add(item);
 
@@ -0,0 +1,238 @@
+package javatrek;
+
+import java.awt.event.ActionListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Watches the event dispatch thread for stalls. A daemon thread posts a heartbeat to the event queue and, when the
+ * heartbeat has not run within the threshold, logs the event dispatch thread's stack together with the menu item or
+ * button being handled at the time. Each stall is logged once when it passes the threshold, and again when the window
+ * recovers, with its full length.
+ *
+ * <P>
+ * Menu items and buttons name their actions by wrapping their listeners:
+ *
+ * <PRE>
+ * item.addActionListener(JavaTrek.watchdog.track("Quick Save", new QuickSave()));
+ * </PRE>
+ *
+ * <P>
+ * The threshold is read from the javatrek.watchdog.ms system property; 0 turns the watchdog off.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class EdtWatchdog {
+
+	/** the time the event dispatch thread may go without processing events, by default, in milliseconds */
+	public static final int DEFAULT_THRESHOLD = 1000;
+
+	/** the action being handled on the event dispatch thread (null between actions) */
+	private volatile String action = null;
+
+	/** the time the current action started, in nanoseconds */
+	private volatile long action_start;
+
+	/** the event dispatch thread, as seen by the last heartbeat */
+	private volatile Thread edt = null;
+
+	/** the last action to finish */
+	private volatile String last_action = null;
+
+	/** the time the pending heartbeat was posted, in nanoseconds (0 when none is pending) */
+	private long posted = 0;
+
+	/** set once the pending heartbeat's stall has been logged */
+	private boolean reported = false;
+
+	/** the watchdog thread (null until started) */
+	private Thread thread = null;
+
+	/** the stall threshold, in nanoseconds */
+	private final long threshold;
+
+	/**
+	 * Creates a watchdog using the threshold given by the system property.
+	 *
+	 * @since 3.0
+	 */
+
+	public EdtWatchdog() {
+		this(Integer.getInteger("javatrek.watchdog.ms", DEFAULT_THRESHOLD));
+	}
+
+	/**
+	 * Creates a watchdog.
+	 *
+	 * @param millis
+	 *            the time the event dispatch thread may go without processing events (0 or less never starts the
+	 *            watchdog)
+	 *
+	 * @since 3.0
+	 */
+
+	public EdtWatchdog(int millis) {
+		threshold = Math.max(0, millis) * 1000000L;
+	}
+
+	/**
+	 * Starts watching the event dispatch thread.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void start() {
+		if ((thread != null) || (threshold == 0))
+			return;
+
+		thread = new Thread(this::run, "edt-watchdog");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Names an action listener's work, so that a stall inside it can be traced to the menu item or button that
+	 * started it.
+	 *
+	 * @param name
+	 *            the action's name
+	 * @param l
+	 *            the action's listener
+	 *
+	 * @return a listener that records the action's name while running the original
+	 *
+	 * @since 3.0
+	 */
+
+	public ActionListener track(String name, ActionListener l) {
+		return e -> {
+			// a nested action (such as one fired from a dialog) restores the outer one when it ends
+			String outer = action;
+			long outer_start = action_start;
+
+			action = name;
+			action_start = System.nanoTime();
+			try {
+				l.actionPerformed(e);
+			} finally {
+				last_action = name;
+				action = outer;
+				action_start = outer_start;
+			}
+		};
+	}
+
+	/**
+	 * The heartbeat, run by the event dispatch thread.
+	 *
+	 * @since 3.0
+	 */
+
+	private void beat() {
+		edt = Thread.currentThread();
+
+		long stalled;
+		synchronized (this) {
+			stalled = reported ? System.nanoTime() - posted : 0;
+			reported = false;
+			posted = 0;
+		}
+
+		if (stalled > 0)
+			System.out.println(String.format("EDT watchdog: the event dispatch thread recovered after %d ms",
+					stalled / 1000000L));
+	}
+
+	/**
+	 * Logs a stall: what the window was doing and where the event dispatch thread is.
+	 *
+	 * @param stalled
+	 *            how long the heartbeat has been waiting, in nanoseconds
+	 *
+	 * @since 3.0
+	 */
+
+	private void report(long stalled) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("EDT watchdog: the event dispatch thread has not processed events for %d ms",
+				stalled / 1000000L));
+
+		String current = action;
+		if (current != null)
+			sb.append(String.format(" while handling '%s' (started %d ms ago)", current,
+					(System.nanoTime() - action_start) / 1000000L));
+		else if (last_action != null)
+			sb.append(String.format(" (no action running; the last was '%s')", last_action));
+		sb.append(System.lineSeparator());
+
+		Thread t = edt;
+		if (t == null) {
+			sb.append("\t(the event dispatch thread has not run a heartbeat yet)");
+			System.out.println(sb);
+			return;
+		}
+
+		// the lock details show whether the window is waiting on the game loop
+		ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(new long[] { t.getId() }, true, true)[0];
+		if (info == null) {
+			sb.append("\t(the event dispatch thread has ended)");
+			System.out.println(sb);
+			return;
+		}
+
+		sb.append(String.format("\"%s\" %s", info.getThreadName(), info.getThreadState()));
+		if (info.getLockName() != null)
+			sb.append(" on ").append(info.getLockName());
+		if (info.getLockOwnerName() != null)
+			sb.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+		sb.append(System.lineSeparator());
+
+		for (StackTraceElement frame : info.getStackTrace())
+			sb.append("\tat ").append(frame).append(System.lineSeparator());
+
+		System.out.print(sb);
+	}
+
+	/**
+	 * The watchdog thread's body: posts a heartbeat, and checks on it a few times per threshold.
+	 *
+	 * @since 3.0
+	 */
+
+	private void run() {
+		long interval = Math.max(50, threshold / 4000000L);
+
+		while (true) {
+			try {
+				Thread.sleep(interval);
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			long stalled;
+			synchronized (this) {
+				if (posted == 0) {
+					posted = System.nanoTime();
+					SwingUtilities.invokeLater(this::beat);
+					continue;
+				}
+
+				stalled = System.nanoTime() - posted;
+				if ((stalled < threshold) || reported)
+					continue;
+				reported = true;
+			}
+
+			report(stalled);
+		}
+	}
+
+}
@@ -2,12 +2,21 @@ package javatrek;
 
 import java.awt.Point;
 import java.io.Serializable;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
 
 import javatrek.factory.NameFactory;
+import javatrek.factory.Wave;
+import javatrek.metrics.FlightEvent;
+import javatrek.metrics.Histogram;
+import javatrek.metrics.Metrics;
 import javatrek.spaceobjects.Ship;
 import javatrek.spaceobjects.SpaceObject;
+import javatrek.systems.Computer;
+import javatrek.systems.KnowledgeMap;
 import javatrek.systems.Shields;
 
 /**
@@ -19,10 +28,19 @@ import javatrek.systems.Shields;
  * <LI>Version 1.2 - 11/24/2002 - added serializable interface
  * <LI>Version 1.3 - 10/19/2004 - updated to use ShipFactory and its createShips () function
  * <LI>Version 2.0 - 11/12/2004 - removed many settings, reduced to a holder for major game objects (space, name server, stats etc), moved time keeping chores to a GregorianCalendar instance and renamed the class from GameDataRoot to GameData 
+ * <LI>Version 2.1 - 10/19/2026 - time passes an hour at a time, so that game loop commands can report progress and be cancelled
+ * <LI>Version 2.2 - 10/19/2026 - added advance (), which passes fractions of an hour for the real-time mode
+ * <LI>Version 2.3 - 10/19/2026 - ship placement retries are recorded in the game's metrics
+ * <LI>Version 2.4 - 10/19/2026 - passing time emits a Flight Recorder event
+ * <LI>Version 2.5 - 10/19/2026 - hours passed and ships spawned are recorded in the statistics' trends
+ * <LI>Version 2.6 - 10/19/2026 - added addShips (), which places, names and builds a wave of ships in one pass; addShip () adds a wave of one
+ * <LI>Version 2.7 - 10/19/2026 - each team keeps a shared chart; its NPC ships start from the chart, and pool what they learn into it every hour
+ * <LI>Version 2.8 - 10/19/2026 - the computer-controlled ships act once for each hour that passes
+ * <LI>Version 2.9 - 10/19/2026 - advance () keeps the fraction of a minute it could not add, and reports the hours completed; added getHourFraction ()
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/12/2004
+ * @version	2.9 - 10/19/2026
  */
 
 public class GameData implements Serializable
@@ -34,6 +52,12 @@ public class GameData implements Serializable
 
 /** the initial amount of money the player receives */
 private static final int INITIAL_FUNDS = 10000;
+
+/** the number of occupied locations tried before each ship was placed */
+private static final Histogram SHIP_SPAWN_RETRIES = Metrics.histogram ("spawn.ship_retries");
+
+/** the number of random locations tried for a ship before searching for an empty one */
+private static final int SPAWN_GUESSES = 16;
 	
 //////////////////////////////////////////////////////////////////////////////
 //  public fields
@@ -58,6 +82,15 @@ public Statistics stats;
 /** tracks time elapsed since the game began */
 private GregorianCalendar calendar;
 
+/** each team's shared chart, frozen, by team (a team without one knows nothing yet) */
+private HashMap<Integer, KnowledgeMap> charts = new HashMap<Integer, KnowledgeMap> ();
+
+/** the minutes passed in real-time mode since the last whole hour */
+private int minutes = 0;
+
+/** the fraction of a minute passed in real-time mode, but not yet added to the calendar */
+private float partial = 0.0f;
+
 /** the player's name */
 private String players_name;
 
@@ -123,57 +156,180 @@ public GameData (String pname)
 
 public void addShip (String shiptype, int team, int quadrant)
 {
-	// get a name for the ship
-	String shipname;
-	if (team == SpaceObject.RAIDERS)
+	addShips (new Wave ().add (shiptype, team, 1, quadrant));
+}
+
+/**		Adds a wave of ships at random, empty locations within their quadrants
+ * 		(never in the player's region).  Space is searched once for the whole
+ * 		wave, and the ships are added with a single change notification.  If
+ * 		a quadrant fills up, the rest of the wave is not added.
+ * 
+ * 		@param		wave		the wave's composition
+ * 
+ * 		@return		the number of ships added
+ * 
+ * 		@since		2.6
+ */
+
+public int addShips (Wave wave)
+{
+	// find every occupied location once, and keep the player's region clear
+	BitSet occupied[] = space.getOccupied ();
+	Ship player = space.getPlayersShip ();
+	Point pq = player.getQuadrantLocation ();
+	for (int rx = 0; rx < Space.REGION_WIDTH; rx++)
+	{
+		for (int ry = 0; ry < Space.REGION_HEIGHT; ry++)
+		{
+			occupied[player.getQuadrant ()].set (Space.getLocationIndex (pq.x, pq.y, rx, ry));
+		}
+	}
+	
+	// get the player's pilot's level
+	int level = player.getPilot ().getLevel ();
+	
+	// pick every ship's location and name
+	int locations[] = new int [wave.getCount ()];
+	String names[] = new String [wave.getCount ()];
+	int n = 0;
+	entries: for (int e = 0; e < wave.getEntryCount (); e++)
 	{
-		shipname = name_server.getRaiderShipName ();
+		BitSet taken = occupied[wave.getQuadrant (e)];
+		for (int i = 0; i < wave.getCount (e); i++)
+		{
+			int location = findEmptyLocation (taken);
+			if (location < 0)
+			{
+				System.out.println ("GameData.addShips () ran out of room in quadrant " + wave.getQuadrant (e) + "; " + (wave.getCount () - n) + " ships were not added.");
+				break entries;
+			}
+			
+			taken.set (location);
+			locations[n] = location;
+			names[n] = name_server.getShipName (wave.getTeam (e));
+			n++;
+		}
 	}
-	else if (team == SpaceObject.PIRATES)
+	
+	// build the ships and add them all at once
+	Ship ships[] = JavaTrek.ship_factory.createShips (wave, locations, names, level, n);
+	for (int i = 0; i < n; i++)
 	{
-		shipname = name_server.getPirateShipName () ;
+		Computer computer = (Computer) ships[i].getSystem (Computer.class.getName ());
+		if (computer != null) computer.share (getChart (ships[i].getTeam ()));
 	}
-	else if (team == SpaceObject.FEDERATION)
+	space.addSpaceObjects (ships, n);
+	stats.addShipsSpawned (n);
+	
+	return n;
+}
+
+/**		Picks a random, empty location in a quadrant.
+ * 
+ * 		@param		occupied		the quadrant's occupied locations
+ * 
+ * 		@return		the location's index, or -1 if the quadrant is full
+ * 
+ * 		@since		2.6
+ */
+
+private static int findEmptyLocation (BitSet occupied)
+{
+	// a few random guesses find a location quickly in all but a crowded quadrant
+	int retries = 0;
+	for (; retries < SPAWN_GUESSES; retries++)
 	{
-		shipname = name_server.getFederationShipName ();
+		int location = (int) (Math.random () * Space.LOCATIONS_PER_QUADRANT);
+		if (occupied.get (location) == false)
+		{
+			SHIP_SPAWN_RETRIES.record (retries);
+			return location;
+		}
 	}
-	else
+	SHIP_SPAWN_RETRIES.record (retries);
+	
+	// otherwise take the next empty location after a random one
+	int start = (int) (Math.random () * Space.LOCATIONS_PER_QUADRANT);
+	int location = occupied.nextClearBit (start);
+	if (location >= Space.LOCATIONS_PER_QUADRANT)
 	{
-		shipname = "No Name";
+		location = occupied.nextClearBit (0);
 	}
 	
-	// pick a region and a location within the region
-	int qx = ((int)(Math.random () * 100)) % 10;
-	int qy = ((int)(Math.random () * 100)) % 10;
-	int rx = ((int)(Math.random () * 100)) % 10;
-	int ry = ((int)(Math.random () * 100)) % 10;
+	return (location < Space.LOCATIONS_PER_QUADRANT) ? location : -1;
+}
+
+/**		Pools what each team's NPC ships learned this hour into the team's
+ * 		chart.  Every ship's memory is a fork of its team's chart, so only the
+ * 		tiles it changed are merged, and only the regions it learned add to
+ * 		the chart; regions a ship forgot are not taken from it.  When a team's
+ * 		chart has grown, its ships start afresh from the new chart, keeping
+ * 		what they had forgotten; otherwise they are left as they are.  The
+ * 		player's ship keeps its own memory.
+ * 
+ * 		@since		2.7
+ */
+
+private void shareCharts ()
+{
+	Ship ships[] = space.getShips ();
+	Ship players_ship = space.getPlayersShip ();
 	
-	// make sure the location picked is empty, and not in the player's quadrant/region
-	Ship player = space.getPlayersShip ();
-	int pquad = player.getQuadrant ();
-	Point pq = player.getQuadrantLocation ();
-	while (((quadrant == pquad) && ((pq.x == qx) && (pq.y == qy))) && ((space.getSpaceObject (quadrant, new Point (qx, qy), new Point (rx, ry)) != null)))
+	// merge each ship's changes into a working copy of its team's chart, noting the charts that grow
+	HashMap<Integer, KnowledgeMap> working = new HashMap<Integer, KnowledgeMap> ();
+	HashSet<Integer> grown = new HashSet<Integer> ();
+	for (Ship ship : ships)
 	{
-		qx = ((int)(Math.random () * 100)) % 10;
-		qy = ((int)(Math.random () * 100)) % 10;
-		rx = ((int)(Math.random () * 100)) % 10;
-		ry = ((int)(Math.random () * 100)) % 10;
+		Computer computer = (Computer) ship.getSystem (Computer.class.getName ());
+		if ((ship == players_ship) || (computer == null)) continue;
+		
+		KnowledgeMap chart = working.get (ship.getTeam ());
+		if (chart == null)
+		{
+			chart = getChart (ship.getTeam ()).fork ();
+			working.put (ship.getTeam (), chart);
+		}
+		if (chart.merge (computer.getKnowledge ()) == true) grown.add (ship.getTeam ());
 	}
 	
-	// get the player's pilot's level, if possible
-	// (if not, use 1 as the player's pilot's assumed level)
-	int level = 1;
-	Ship players_ship = space.getPlayersShip (); 
-	if (players_ship != null)
+	// freeze the grown charts, and give their teams' ships fresh forks
+	if (grown.isEmpty () == true) return;
+	for (Integer team : grown)
 	{
-		level = players_ship.getPilot ().getLevel ();
+		charts.put (team, working.get (team).snapshot ());
 	}
-	
-	// create the ship
-	Ship new_npc = JavaTrek.ship_factory.createShip (shiptype, shipname, team, level, true, 1, qx, qy, rx, ry);
+	for (Ship ship : ships)
+	{
+		Computer computer = (Computer) ship.getSystem (Computer.class.getName ());
+		if ((ship == players_ship) || (computer == null)) continue;
 		
-	// add the ship to the array
-	space.addSpaceObject (new_npc);
+		if (grown.contains (ship.getTeam ()) == true) computer.share (getChart (ship.getTeam ()));
+	}
+}
+
+/**		Returns a team's shared chart: the regions the team's NPC ships have
+ * 		pooled.  The chart is frozen; ships fork it rather than change it.
+ * 
+ * 		@param		team		the team
+ * 
+ * 		@return		the team's chart
+ * 
+ * 		@since		2.7
+ */
+
+public KnowledgeMap getChart (int team)
+{
+	// games saved before charts were kept have none
+	if (charts == null) charts = new HashMap<Integer, KnowledgeMap> ();
+	
+	KnowledgeMap chart = charts.get (team);
+	if (chart == null)
+	{
+		chart = new KnowledgeMap (Space.QUADRANT_WIDTH, Space.QUADRANT_HEIGHT).snapshot ();
+		charts.put (team, chart);
+	}
+	
+	return chart;
 }
 
 /**		Returns the player's name
@@ -188,10 +344,82 @@ public String getPlayersName ()
 	return players_name;
 }
 
+/**		Passes a fraction of an hour (or more), as the real-time mode's clock
+ * 		does.  The calendar advances by the minute, while the game's objects
+ * 		are given whole hours as they are completed (and a chance to react
+ * 		otherwise).
+ * 
+ *		@param		hours		the number of hours to pass
+ * 
+ *		@return		the number of whole hours completed
+ * 
+ *		@since		2.2
+ */
+
+public int advance (float hours)
+{
+	// bounds checking
+	if (hours <= 0.0f) return 0;
+	
+	// whole minutes are added to the calendar, and the fraction left over is
+	// kept for the next call, so that even the shortest ticks add up
+	float total = (hours * 60.0f) + partial;
+	int m = (int) total;
+	partial = total - m;
+	calendar.add (Calendar.MINUTE, m);
+	minutes += m;
+	
+	int whole = minutes / 60;
+	minutes %= 60;
+	
+	Object event = FlightEvent.PASS_TIME.begin ();
+	int visited = 0;
+	
+	// no hour was completed, but the game's objects still react
+	if (whole == 0)
+	{
+		visited += space.getObjectCount ();
+		space.passTime (0);
+		checkPlayer ();
+	}
+	
+	for (int i = 0; i < whole; i++)
+	{
+		stats.passHour ();
+		visited += space.getObjectCount ();
+		space.passTime (1);
+		JavaTrek.ai.tick (space);
+		shareCharts ();
+		if (checkPlayer () == false) break;
+	}
+	
+	if (event != null) FlightEvent.PASS_TIME.commit (event, hours, visited);
+	
+	return whole;
+}
+
+/**		Returns how far the game is into the current hour, as passed by
+ * 		advance ().
+ * 
+ *		@return		the fraction of the hour passed, from 0 to 1
+ * 
+ *		@since		2.9
+ */
+
+public float getHourFraction ()
+{
+	return (minutes + partial) / 60.0f;
+}
+
 /**		Passes time in the game, and handles all the effects time passing has.
  * 		Please note that passTime (0) is valid, though most of the time-based
  * 		functions will ignore it.
  * 
+ * 		Time passes an hour at a time.  When called by a game loop command,
+ * 		the loop's progress is reported and the window is given a chance to
+ * 		repaint between hours, and a cancelled command (a rest) stops early.
+ * 		The computer-controlled ships act once at the end of each hour.
+ * 
  *		@param		h		the number of hours to pass
  * 
  *		@since		1.0
@@ -202,18 +430,61 @@ public void passTime (int h)
 	// bounds checking
 	if (h < 0) h = 0;
 	
-	// add the hours to the calendar
-	calendar.add (Calendar.HOUR_OF_DAY, h);
+	Object event = FlightEvent.PASS_TIME.begin ();
+	int visited = 0;
+	int passed = 0;
+	
+	// quick actions still give the game's objects a chance to react
+	if (h == 0)
+	{
+		visited += space.getObjectCount ();
+		space.passTime (0);
+		checkPlayer ();
+	}
+	
+	for (int i = 0; i < h; i++)
+	{
+		// stop between hours if the command was cancelled
+		if (JavaTrek.loop.checkpoint (i, h) == false) break;
+		
+		// add the hour to the calendar, and start the statistics' next hour
+		calendar.add (Calendar.HOUR_OF_DAY, 1);
+		stats.passHour ();
+		
+		// pass the time
+		visited += space.getObjectCount ();
+		space.passTime (1);
+		JavaTrek.ai.tick (space);
+		passed++;
+		shareCharts ();
+		
+		// no more time passes once the game is over
+		if (checkPlayer () == false) break;
+	}
+	
+	// the event's duration includes any time spent letting the window repaint
+	if (event != null) FlightEvent.PASS_TIME.commit (event, (float) passed, visited);
+}
 
-	// pass the time
-	space.passTime (h);
+/**		Checks whether the player's ship has been destroyed, and ends the game
+ * 		if it has.
+ * 
+ *		@return		true if the player's ship is still intact
+ * 
+ *		@since		2.1
+ */
 
+private boolean checkPlayer ()
+{
 	// check and see if the player's ship has been destroyed
 	if (space.getPlayersShip ().getHP () <= 0)
 	{
 		// if the player's ship is destroyed, call the game over function
 		JavaTrek.game.endgame (false, "Your ships was destroyed.");
-	}	
+		return false;
+	}
+	
+	return true;
 }
 
 }
\ No newline at end of file
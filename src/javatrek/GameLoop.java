@@ -0,0 +1,301 @@
+package javatrek;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs the game's commands on a dedicated thread, so that the window stays responsive while time passes. Commands are
+ * queued by the user interface and run one at a time while holding the game lock; long commands (resting, light-drive
+ * travel) release the lock between game hours, so that the window can repaint, and report their progress. Rests can
+ * be cancelled at an hour boundary. When a command completes its changes are flushed to the window.
+ *
+ * <P>
+ * The event dispatch thread never takes LOCK: the window draws from the RegionView, QuadrantView and PlayerView the
+ * loop publishes, and every change it makes to the game (including loading a saved game) is a command.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - a RegionView is published after each command and at each hour of a long command
+ * <LI>Version 3.2 - 10/19/2026 - a QuadrantView is published alongside the RegionView
+ * <LI>Version 3.3 - 10/19/2026 - a PlayerView is published with the other views; a long command stops at its next
+ * hour if the game it was started on has been replaced
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.3 - 10/19/2026
+ */
+
+public class GameLoop {
+
+	/** guards the game's data; fair, so that the window is not starved during long commands */
+	public static final ReentrantLock LOCK = new ReentrantLock(true);
+
+	/**
+	 * Receives a running command's progress, on the event dispatch thread.
+	 */
+	public interface ProgressListener {
+
+		/**
+		 * Called when a command has finished (or been cancelled).
+		 *
+		 * @param name
+		 *            the command's name
+		 *
+		 * @since 3.0
+		 */
+		void finished(String name);
+
+		/**
+		 * Called at each hour of a long command.
+		 *
+		 * @param name
+		 *            the command's name
+		 * @param done
+		 *            the number of hours passed
+		 * @param total
+		 *            the number of hours the command will take
+		 * @param cancellable
+		 *            true if the command can be cancelled
+		 *
+		 * @since 3.0
+		 */
+		void progress(String name, int done, int total, boolean cancellable);
+	}
+
+	/** the command being run (null if the loop is idle) */
+	private volatile Command current = null;
+
+	/** receives progress reports (may be null) */
+	private volatile ProgressListener listener = null;
+
+	/** the commands waiting to be run */
+	private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+
+	/** the game-loop thread (created by start ()) */
+	private Thread thread = null;
+
+	/**
+	 * Requests that the running command stop at its next hour boundary, if it can be cancelled.
+	 *
+	 * @since 3.0
+	 */
+
+	public void cancel() {
+		Command c = current;
+		if ((c != null) && (c.cancellable == true))
+			c.cancelled = true;
+	}
+
+	/**
+	 * Called by long commands between game hours: reports progress, publishes the changes made so far and the region's
+	 * view, and briefly releases the game lock so that the window can repaint. Calls from any other thread do nothing.
+	 *
+	 * @param done
+	 *            the number of hours passed so far
+	 * @param total
+	 *            the number of hours the command will take
+	 *
+	 * @return false if the command has been cancelled, or its game replaced, and should stop
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean checkpoint(int done, int total) {
+		Command c = current;
+		if ((Thread.currentThread() != thread) || (c == null))
+			return true;
+
+		ProgressListener l = listener;
+		if (l != null)
+			SwingUtilities.invokeLater(() -> l.progress(c.name, done, total, c.cancellable));
+		SwingUtilities.invokeLater(JavaTrek.changes::flush);
+
+		publishViews();
+
+		// the lock is fair, so a waiting window thread gets in before the lock is taken back
+		LOCK.unlock();
+		LOCK.lock();
+
+		return (c.cancelled == false) && (gameData() == c.game);
+	}
+
+	/**
+	 * Determines if the calling thread is the game-loop thread.
+	 *
+	 * @return true if called by a command
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isLoopThread() {
+		return Thread.currentThread() == thread;
+	}
+
+	/**
+	 * Sets the object that receives progress reports.
+	 *
+	 * @param l
+	 *            the progress listener (null for none)
+	 *
+	 * @since 3.0
+	 */
+
+	public void setProgressListener(ProgressListener l) {
+		listener = l;
+	}
+
+	/**
+	 * Starts the game-loop thread.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void start() {
+		if (thread != null)
+			return;
+
+		thread = new Thread(this::run, "game-loop");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues a command that cannot be cancelled.
+	 *
+	 * @param name
+	 *            the command's name, as shown while it runs
+	 * @param command
+	 *            the command
+	 *
+	 * @since 3.0
+	 */
+
+	public void submit(String name, Runnable command) {
+		submit(name, false, command);
+	}
+
+	/**
+	 * Queues a command. If the loop has not been started, the command is run immediately on the calling thread.
+	 *
+	 * @param name
+	 *            the command's name, as shown while it runs
+	 * @param cancellable
+	 *            true if the player may cancel the command while it runs
+	 * @param command
+	 *            the command
+	 *
+	 * @since 3.0
+	 */
+
+	public void submit(String name, boolean cancellable, Runnable command) {
+		Command c = new Command(name, cancellable, command);
+
+		if (thread == null)
+			execute(c);
+		else
+			queue.add(c);
+	}
+
+	/**
+	 * Runs a command while holding the game lock, then publishes the region's view and the command's changes.
+	 *
+	 * @param c
+	 *            the command to run
+	 *
+	 * @since 3.0
+	 */
+
+	private void execute(Command c) {
+		current = c;
+		LOCK.lock();
+		try {
+			c.game = gameData();
+			c.command.run();
+		} catch (RuntimeException e) {
+			System.out.println(String.format("The '%s' command failed", c.name));
+			e.printStackTrace();
+		} finally {
+			publishViews();
+			LOCK.unlock();
+			current = null;
+		}
+
+		ProgressListener l = listener;
+		if (l != null)
+			SwingUtilities.invokeLater(() -> l.finished(c.name));
+		SwingUtilities.invokeLater(JavaTrek.changes::flush);
+	}
+
+	/**
+	 * Returns the game's data, as replaced by a load.
+	 *
+	 * @return the current game's data (null before a game has begun)
+	 *
+	 * @since 3.3
+	 */
+
+	private static GameData gameData() {
+		JavaTrek game = JavaTrek.game;
+		return (game == null) ? null : game.gamedata;
+	}
+
+	/**
+	 * Publishes the views the window draws from without the game lock. This must be called while holding the lock;
+	 * the loop calls it after each command and at each hour of a long command.
+	 *
+	 * @since 3.2
+	 */
+
+	public static void publishViews() {
+		RegionView.publish();
+		QuadrantView.publish();
+		PlayerView.publish();
+	}
+
+	/**
+	 * The game-loop thread's body: runs queued commands in order.
+	 *
+	 * @since 3.0
+	 */
+
+	private void run() {
+		while (true) {
+			try {
+				execute(queue.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * A queued command.
+	 */
+	private static class Command {
+
+		/** set when the player cancels the command */
+		volatile boolean cancelled = false;
+
+		/** the game the command was started on */
+		GameData game = null;
+
+		/** true if the command may be cancelled */
+		final boolean cancellable;
+
+		/** the work to do */
+		final Runnable command;
+
+		/** the command's name */
+		final String name;
+
+		Command(String name, boolean cancellable, Runnable command) {
+			this.name = name;
+			this.cancellable = cancellable;
+			this.command = command;
+		}
+	}
+
+}
@@ -3,6 +3,13 @@ package javatrek;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
@@ -10,16 +17,17 @@ import javax.swing.ImageIcon;
 /**
  * <UL>
  * <LI>Version 3.0 - 09/16/2017 - modernizing the code
+ * <LI>Version 3.1 - 10/19/2026 - decoded images are cached, and can be preloaded on a background pool
+ * <LI>Version 3.2 - 10/19/2026 - images are taken from the packed resource archive when one is present
+ * <LI>Version 3.3 - 10/19/2026 - counts cache hits and misses for the performance overlay
  * </UL>
  * 
  * @author Andrew Killam
- * @version 3.0 - 09/16/2017
+ * @version 3.3 - 10/19/2026
  */
 
 public class ImageManager {
 
-	// TODO: add buffering
-
 	public static enum ImagesEnum {
 
 		HELP("/images/sun_icons/Help24.gif"),
@@ -49,14 +57,31 @@ public class ImageManager {
 		}
 	}
 
+	/** decoded images, keyed by resource name */
+	private final Map<String, FutureTask<Image>> images = new ConcurrentHashMap<>();
+
+	/** the number of requests answered with an already-decoded image */
+	private final LongAdder hits = new LongAdder();
+
+	/** the number of requests that decoded the image, or waited for its preload */
+	private final LongAdder misses = new LongAdder();
+
 	/**
+	 * Decodes an image from the classpath.
+	 * 
 	 * @param name
+	 *            the image's resource name
 	 * 
-	 * @return
+	 * @return the decoded image
 	 * 
-	 * @since 3.0
+	 * @since 3.1
 	 */
-	public Image loadImage(String name) {
+	private Image decodeImage(String name) {
+		// the archive holds the image already decoded
+		ResourceArchive archive = ResourceArchive.getDefault();
+		if ((archive != null) && (archive.contains(name)))
+			return archive.getImage(name);
+
 		try {
 			URL url = this.getClass().getResource(name);
 			if (url == null) {
@@ -72,6 +97,108 @@ public class ImageManager {
 		}
 	}
 
+	/**
+	 * Returns the future for an image, without scheduling its decoding.
+	 * 
+	 * @param name
+	 *            the image's resource name
+	 * 
+	 * @return the future holding the decoded image
+	 * 
+	 * @since 3.1
+	 */
+	public Future<Image> getImageFuture(String name) {
+		return task(name);
+	}
+
+	/**
+	 * Returns an image, decoding it on the first request and returning the cached copy afterwards. If the image is
+	 * being preloaded, this waits for the preload to finish.
+	 * 
+	 * @param name
+	 *            the image's resource name
+	 * 
+	 * @return the decoded image
+	 * 
+	 * @since 3.0
+	 */
+	public Image loadImage(String name) {
+		FutureTask<Image> task = task(name);
+		if (task.isDone())
+			hits.increment();
+		else
+			misses.increment();
+
+		// decodes here if no pool thread has picked it up yet (a no-op otherwise)
+		task.run();
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return decodeImage(name);
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+			System.exit(0);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the number of image requests answered from the cache.
+	 * 
+	 * @return the number of cache hits
+	 * 
+	 * @since 3.3
+	 */
+	public long getCacheHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of image requests that had to decode the image or wait for it.
+	 * 
+	 * @return the number of cache misses
+	 * 
+	 * @since 3.3
+	 */
+	public long getCacheMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Schedules an image to be decoded on the given executor, unless it has already been requested.
+	 * 
+	 * @param name
+	 *            the image's resource name
+	 * @param executor
+	 *            the executor to decode the image on
+	 * 
+	 * @return the future holding the decoded image
+	 * 
+	 * @since 3.1
+	 */
+	public Future<Image> preloadImage(String name, Executor executor) {
+		FutureTask<Image> task = task(name);
+		if (task.isDone() == false)
+			executor.execute(task);
+		return task;
+	}
+
+	/**
+	 * Returns the (possibly not yet run) task that decodes an image.
+	 * 
+	 * @param name
+	 *            the image's resource name
+	 * 
+	 * @return the decode task
+	 * 
+	 * @since 3.1
+	 */
+	private FutureTask<Image> task(String name) {
+		return images.computeIfAbsent(name, n -> new FutureTask<>(() -> decodeImage(n)));
+	}
+
 	/**
 	 * @param image
 	 *            image enum
@@ -81,6 +208,10 @@ public class ImageManager {
 	 * @since 3.0
 	 */
 	public ImageIcon loadImageIcon(ImagesEnum image) {
+		ResourceArchive archive = ResourceArchive.getDefault();
+		if ((archive != null) && (archive.contains(image.getFilename())))
+			return new ImageIcon(loadImage(image.getFilename()));
+
 		try {
 			URL url = getClass().getResource(image.getFilename());
 			if (url == null) {
@@ -103,6 +234,10 @@ public class ImageManager {
 	 * @since 3.0
 	 */
 	public ImageIcon loadImageIcon(String filename) {
+		ResourceArchive archive = ResourceArchive.getDefault();
+		if ((archive != null) && (archive.contains(filename)))
+			return new ImageIcon(loadImage(filename));
+
 		try {
 			return new ImageIcon(getClass().getResource(filename));
 		} catch (Exception e) {
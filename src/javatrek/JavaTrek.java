@@ -4,17 +4,25 @@ import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Dimension;
 import java.awt.Toolkit;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.HashMap;
+import java.util.function.Supplier;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
+import javatrek.ai.AIScheduler;
 import javatrek.factory.ShipFactory;
+import javatrek.factory.ShipTableWatcher;
+import javatrek.metrics.FlightEvent;
+import javatrek.metrics.Histogram;
+import javatrek.metrics.Metrics;
 import javatrek.panels.AssignPilotPointsPanel;
 import javatrek.panels.ConsolePanel;
 import javatrek.panels.EndOfGamePanel;
@@ -22,6 +30,7 @@ import javatrek.panels.FramePanel;
 import javatrek.panels.InstructionsPanel;
 import javatrek.panels.JavaTrekPanel;
 import javatrek.panels.MainScreen;
+import javatrek.panels.ShipsDatabasePanel;
 
 /**
  * <P>
@@ -39,10 +48,26 @@ import javatrek.panels.MainScreen;
  * one can do with multiple windows
  * <LI>Version 2.0 - 11/13/2004 - cleaned up the code, made minor alterations
  * <LI>Version 3.0 - 09/16/2017 - modernizing the code
+ * <LI>Version 3.1 - 10/19/2026 - actions refresh only the panels subscribed to their changes; refresh () remains for
+ * loading and the refresh display command
+ * <LI>Version 3.2 - 10/19/2026 - the game's commands run on the game loop thread; the window holds the game lock while
+ * reading the game's data
+ * <LI>Version 3.3 - 10/19/2026 - added the real-time mode's clock
+ * <LI>Version 3.4 - 10/19/2026 - added the performance monitor
+ * <LI>Version 3.5 - 10/19/2026 - exports the game's metrics through JMX, and records save and load times and sizes
+ * <LI>Version 3.6 - 10/19/2026 - saves and loads emit Flight Recorder events
+ * <LI>Version 3.7 - 10/19/2026 - added the event dispatch thread watchdog
+ * <LI>Version 3.8 - 10/19/2026 - in debug mode, the ship types file is reloaded whenever it changes
+ * <LI>Version 3.9 - 10/19/2026 - panels other than the main screen are built when first shown; the time taken by
+ * each phase of startup is logged
+ * <LI>Version 3.10 - 10/19/2026 - added the AI scheduler, which runs the computer-controlled ships
+ * <LI>Version 3.11 - 10/19/2026 - loading, saving and ending the game are game loop commands; the window draws from
+ * the loop's views and no longer takes the game lock
+ * <LI>Version 3.12 - 10/19/2026 - the resource archive is checked against its sources in debug mode only
  * </UL>
  * 
  * @author Andrew Killam
- * @version 3.0 - 09/16/2017
+ * @version 3.12 - 10/19/2026
  */
 
 public class JavaTrek extends JFrame {
@@ -55,6 +80,27 @@ public class JavaTrek extends JFrame {
 
 	public static ImageManager imgMgr = new ImageManager();
 
+	/** loads the game's data files and sprites in the background */
+	public static AssetLoader assets = new AssetLoader();
+
+	/** refreshes only the panels affected by the game's changes */
+	public static ChangeBus changes = new ChangeBus();
+
+	/** runs the game's commands off the event dispatch thread */
+	public static GameLoop loop = new GameLoop();
+
+	/** advances the game continuously while real-time mode is on */
+	public static RealTimeClock clock = new RealTimeClock();
+
+	/** times panels and game turns for the performance overlay (debug mode only) */
+	public static PerformanceMonitor perf = new PerformanceMonitor();
+
+	/** logs the event dispatch thread's stack when the window stops responding */
+	public static EdtWatchdog watchdog = new EdtWatchdog();
+
+	/** decides and carries out the computer-controlled ships' actions each tick */
+	public static AIScheduler ai = new AIScheduler();
+
 	/** the initial height of the game */
 	private static final int INITIAL_HEIGHT = 600;
 
@@ -63,9 +109,30 @@ public class JavaTrek extends JFrame {
 
 	private static final long serialVersionUID = 1L;
 
+	/** the format of saved games, as reported to Flight Recorder */
+	private static final String SAVE_FORMAT = "java-serialization";
+
+	/** the time taken to load each saved game, in nanoseconds */
+	private static final Histogram LOAD_NANOS = Metrics.histogram("load.nanos");
+
+	/** the size of each saved game loaded, in bytes */
+	private static final Histogram LOAD_BYTES = Metrics.histogram("load.bytes");
+
+	/** the time taken to save each game, in nanoseconds */
+	private static final Histogram SAVE_NANOS = Metrics.histogram("save.nanos");
+
+	/** the size of each saved game, in bytes */
+	private static final Histogram SAVE_BYTES = Metrics.histogram("save.bytes");
+
 	/** the game's ship factory */
 	public static ShipFactory ship_factory;
 
+	/** the time the game was started, in nanoseconds */
+	private static final long STARTED = System.nanoTime();
+
+	/** the time the last phase of startup ended, in nanoseconds */
+	private static long phase_end = STARTED;
+
 	/**
 	 * The main function, which allows the application to run.
 	 * 
@@ -79,8 +146,16 @@ public class JavaTrek extends JFrame {
 		// switched to a volatile image (if possible)
 		System.setProperty("sun.java2d.accthreshold", "1");
 
-		// create the ship factory
-		ship_factory = new ShipFactory();
+		// in debug mode data files are edited as the game runs, so the archive is checked against them
+		boolean debug = (args.length == 1) && (args[0].compareTo("debug") == 0);
+		ResourceArchive.setCheckSources(debug);
+
+		// start decoding sprites and parsing data files while the window is built
+		assets.start();
+
+		// let JMX clients read the game's metrics
+		Metrics.register();
+		logPhase("assets and metrics");
 
 		// set the look and feel
 		try {
@@ -91,15 +166,56 @@ public class JavaTrek extends JFrame {
 			System.out.println("Error!  Couldn't set look and feel!");
 			System.exit(1);
 		}
+		logPhase("look and feel");
+
+		// create the ship factory
+		ship_factory = new ShipFactory();
+		logPhase("ship factory");
 
 		// create the game, update it's display and make it visible
-		if ((args.length == 1) && (args[0].compareTo("debug") == 0)) {
+		if (debug) {
 			game = new JavaTrek(true);
+
+			// let ship balance be changed while playing
+			new ShipTableWatcher(ship_factory).start();
 		} else {
 			game = new JavaTrek(false);
 		}
+		// the window draws from the game loop's views, so the first are taken before it is shown
+		GameLoop.LOCK.lock();
+		try {
+			GameLoop.publishViews();
+		} finally {
+			GameLoop.LOCK.unlock();
+		}
 		game.refresh();
 		game.setVisible(true);
+		logPhase("window shown");
+
+		// the first events handled follow the window's first paint
+		SwingUtilities.invokeLater(() -> logPhase("first paint"));
+
+		// from here on, commands run on their own thread
+		loop.start();
+
+		// and anything still slow enough to freeze the window is logged
+		watchdog.start();
+	}
+
+	/**
+	 * Logs the time taken by a phase of startup, and the time since the game was started.
+	 * 
+	 * @param phase
+	 *            the name of the phase that just ended
+	 * 
+	 * @since 3.9
+	 */
+
+	private static synchronized void logPhase(String phase) {
+		long now = System.nanoTime();
+		System.out.println(String.format("Startup:  %-20s %5d ms  (%d ms in all)", phase, (now - phase_end) / 1000000,
+				(now - STARTED) / 1000000));
+		phase_end = now;
 	}
 
 	/** handles cards/panels that fill the entire window */
@@ -114,6 +230,9 @@ public class JavaTrek extends JFrame {
 	/** holds the cards/panels for the centre of the entire window */
 	private JPanel p_full;
 
+	/** creates the cards/panels not yet shown, by name; each is built when first shown */
+	private HashMap<String, Supplier<JPanel>> unbuilt = new HashMap<>();
+
 	/**
 	 * holds JavaTrekPanels so that they can all be refreshed at once, and quickly
 	 * accessed if needed
@@ -137,6 +256,7 @@ public class JavaTrek extends JFrame {
 		// create the game data object with the specified player name and playing level
 		// TODO: use a preferences setting for the player's name
 		gamedata = new GameData("Andrew");
+		logPhase("game data");
 
 		// use a border layout for the content pane
 		setContentPane(new JPanel(new BorderLayout()));
@@ -151,6 +271,7 @@ public class JavaTrek extends JFrame {
 
 		// create the user interface bits
 		setupInterface();
+		logPhase("interface");
 
 		// allows time-triggered events occur
 		gamedata.passTime(0);
@@ -172,14 +293,27 @@ public class JavaTrek extends JFrame {
 	 */
 
 	public void endgame(boolean victory, String message) {
+		// games are ended by the game loop (the player quitting is queued behind any running command)
+		if (GameLoop.LOCK.isHeldByCurrentThread() == false) {
+			loop.submit("End Game", () -> endgame(victory, message));
+			return;
+		}
+
+		// time stops with the game
+		clock.stop();
+
 		// clear all remaining space objects
 		gamedata.space.removeAll();
 
-		// display the endgame panel
-		EndOfGamePanel p_itsover = new EndOfGamePanel(victory, message);
-		// p_full.add ("endgame", p_itsover);
-		// cl_full.show (p_full, "endgame");
-		setContentPane(p_itsover);
+		// the window is changed on the event dispatch thread, and shows the statistics as they are now
+		Statistics stats = new Statistics(gamedata.stats);
+		SwingUtilities.invokeLater(() -> {
+			// display the endgame panel
+			EndOfGamePanel p_itsover = new EndOfGamePanel(victory, message, stats);
+			// p_full.add ("endgame", p_itsover);
+			// cl_full.show (p_full, "endgame");
+			setContentPane(p_itsover);
+		});
 	}
 
 	/**
@@ -199,32 +333,61 @@ public class JavaTrek extends JFrame {
 				filename = filename.concat(".jtg");
 			}
 
-			try {
-				FileInputStream fis = new FileInputStream(filename);
-				ObjectInputStream ois = new ObjectInputStream(fis);
-				gamedata = (GameData) (ois.readObject());
-				ois.close();
-				fis.close();
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+			// the game is replaced by the game loop, between commands
+			String file = filename;
+			loop.submit("Load Game", () -> load(file));
+		}
+	}
 
-			// console message
-			console.clearMessages();
-			console.addMessage("BlackLeft", "Game loaded from file " + filename + ".\n");
+	/**
+	 * Replaces the game with a saved game; run by the game loop.
+	 * 
+	 * @param filename
+	 *            the saved game's filename
+	 * 
+	 * @since 3.11
+	 */
 
-			// refresh display
-			refresh();
+	private void load(String filename) {
+		// commands hold the game lock, so the time spent waiting for it is not part of the load
+		long start = System.nanoTime();
+		Object event = FlightEvent.LOAD.begin();
+		try {
+			FileInputStream fis = new FileInputStream(filename);
+			ObjectInputStream ois = new ObjectInputStream(fis);
+			gamedata = (GameData) (ois.readObject());
+			ois.close();
+			fis.close();
+
+			long bytes = new File(filename).length();
+			LOAD_NANOS.record(System.nanoTime() - start);
+			LOAD_BYTES.record(bytes);
+			if (event != null)
+				FlightEvent.LOAD.commit(event, filename, bytes, SAVE_FORMAT);
+		} catch (Exception e) {
+			e.printStackTrace();
 		}
+
+		// console message
+		console.clearMessages();
+		console.addMessage("BlackLeft", "Game loaded from file " + filename + ".\n");
+
+		// every panel is refreshed from views of the loaded game
+		GameLoop.publishViews();
+		SwingUtilities.invokeLater(this::refresh);
 	}
 
 	/**
-	 * Calls the panels' refresh functions.
+	 * Calls every panel's refresh function, whatever has changed (use JavaTrek.changes.flush () after an action).
 	 * 
 	 * @since 1.0
 	 */
 
 	public void refresh() {
+		// everything is about to be redrawn, so the pending changes are moot
+		changes.clear();
+
+		// the panels draw from the game loop's views, so the game lock is not needed
 		if ((panels != null) && (panels.size() > 0)) {
 			for (JavaTrekPanel p : panels.values())
 				p.refresh();
@@ -262,19 +425,45 @@ public class JavaTrek extends JFrame {
 				filename = filename.concat(".jtg");
 			}
 
-			try {
-				FileOutputStream fos = new FileOutputStream(filename);
-				ObjectOutputStream oos = new ObjectOutputStream(fos);
-				oos.writeObject(gamedata);
-				oos.close();
-				fos.close();
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+			// the game is written by the game loop, between commands
+			String file = filename;
+			loop.submit("Save Game", () -> save(file));
+		}
+	}
+
+	/**
+	 * Writes the game to a binary file; run by the game loop.
+	 * 
+	 * @param filename
+	 *            the filename to use
+	 * 
+	 * @since 3.11
+	 */
 
-			// console message
-			console.addMessage("BlackLeft", "Game saved to file " + filename + ".\n");
+	private void save(String filename) {
+		// commands hold the game lock, so the time spent waiting for it is not part of the save
+		long t = perf.start();
+		long start = System.nanoTime();
+		Object event = FlightEvent.SAVE.begin();
+		try {
+			FileOutputStream fos = new FileOutputStream(filename);
+			ObjectOutputStream oos = new ObjectOutputStream(fos);
+			oos.writeObject(gamedata);
+			oos.close();
+			fos.close();
+
+			long bytes = new File(filename).length();
+			SAVE_NANOS.record(System.nanoTime() - start);
+			SAVE_BYTES.record(bytes);
+			if (event != null)
+				FlightEvent.SAVE.commit(event, filename, bytes, SAVE_FORMAT);
+		} catch (Exception e) {
+			e.printStackTrace();
 		}
+		perf.stop("JavaTrek.saveGame", t);
+
+		// console message
+		console.addMessage("BlackLeft", "Game saved to file " + filename + ".\n");
 	}
 
 	/**
@@ -304,13 +493,10 @@ public class JavaTrek extends JFrame {
 		getContentPane().add(fp, BorderLayout.EAST);
 		panels.put(BorderLayout.EAST, fp);
 
-		// create the instructions panel
-		p_full.add(InstructionsPanel.class.getName(), new InstructionsPanel());
-
-		// create the assign pilot points panel
-		AssignPilotPointsPanel app = new AssignPilotPointsPanel();
-		p_full.add(AssignPilotPointsPanel.class.getName(), app);
-		panels.put(AssignPilotPointsPanel.class.getName(), app);
+		// the other full-window panels wait until they are first shown
+		unbuilt.put(InstructionsPanel.class.getName(), InstructionsPanel::new);
+		unbuilt.put(AssignPilotPointsPanel.class.getName(), AssignPilotPointsPanel::new);
+		unbuilt.put(ShipsDatabasePanel.class.getName(), ShipsDatabasePanel::new);
 
 		// create the console and the main game panel
 		console = new ConsolePanel();
@@ -323,7 +509,7 @@ public class JavaTrek extends JFrame {
 	}
 
 	/**
-	 * Displays a specified panel.
+	 * Displays a specified panel, building it first if it has not been shown before.
 	 * 
 	 * @param panel
 	 *            the panel to display
@@ -332,6 +518,22 @@ public class JavaTrek extends JFrame {
 	 */
 
 	public void showPanel(String panel) {
+		Supplier<JPanel> factory = unbuilt.remove(panel);
+		if (factory != null) {
+			long start = System.nanoTime();
+			JPanel p = factory.get();
+			p_full.add(panel, p);
+
+			// a panel displaying the game's data must show it as it is now, and from now on
+			if (p instanceof JavaTrekPanel) {
+				panels.put(panel, (JavaTrekPanel) p);
+				((JavaTrekPanel) p).refresh();
+			}
+
+			System.out.println(String.format("Built %s in %d ms.", p.getClass().getSimpleName(),
+					(System.nanoTime() - start) / 1000000));
+		}
+
 		cl_full.show(p_full, panel);
 	}
 
@@ -0,0 +1,240 @@
+package javatrek;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects rolling timings for the performance overlay: how long each panel takes to paint or refresh, how long the
+ * game takes to pass time, and a few gauges (objects ticked, image cache hits, allocation rate). Nothing is recorded
+ * until the monitor is enabled, and a disabled monitor costs a volatile read per measurement.
+ *
+ * <P>
+ * Measurements are taken in pairs:
+ *
+ * <PRE>
+ * long t = JavaTrek.perf.start();
+ * ...
+ * JavaTrek.perf.stop("QuadrantMap.paint", t);
+ * </PRE>
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class PerformanceMonitor {
+
+	/** the number of recent samples kept for each timing */
+	public static final int SAMPLES = 240;
+
+	/** the bytes allocated by every live thread at the last report (-1 before the first) */
+	private long allocated = -1;
+
+	/** the time of the last report, in nanoseconds */
+	private long allocated_time;
+
+	/** true while measurements are being recorded */
+	private volatile boolean enabled = false;
+
+	/** the latest value of each gauge, by name */
+	private final Map<String, AtomicLong> gauges = new ConcurrentSkipListMap<>();
+
+	/** the recent samples of each timing, by name */
+	private final Map<String, Samples> timings = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Determines if measurements are being recorded.
+	 *
+	 * @return true if the monitor is enabled
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Describes the recent measurements, one line per timing or gauge.
+	 *
+	 * @return the report's lines
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized List<String> report() {
+		List<String> lines = new ArrayList<>();
+
+		for (Map.Entry<String, Samples> e : timings.entrySet()) {
+			long sorted[] = e.getValue().sorted();
+			if (sorted.length == 0)
+				continue;
+
+			lines.add(String.format("%-22s p50 %7.2f ms  p99 %7.2f ms", e.getKey(), percentile(sorted, 50) / 1e6,
+					percentile(sorted, 99) / 1e6));
+		}
+
+		for (Map.Entry<String, AtomicLong> e : gauges.entrySet())
+			lines.add(String.format("%-22s %d", e.getKey(), e.getValue().get()));
+
+		long hits = JavaTrek.imgMgr.getCacheHits();
+		long misses = JavaTrek.imgMgr.getCacheMisses();
+		if (hits + misses > 0)
+			lines.add(String.format("%-22s %.1f%% of %d", "image cache hits", (100.0 * hits) / (hits + misses),
+					hits + misses));
+
+		double rate = allocationRate();
+		if (rate >= 0)
+			lines.add(String.format("%-22s %.1f MB/s", "allocation", rate / (1024 * 1024)));
+
+		return lines;
+	}
+
+	/**
+	 * Sets a gauge (only while enabled).
+	 *
+	 * @param name
+	 *            the gauge's name
+	 * @param value
+	 *            the gauge's new value
+	 *
+	 * @since 3.0
+	 */
+
+	public void set(String name, long value) {
+		if (enabled)
+			gauges.computeIfAbsent(name, n -> new AtomicLong()).set(value);
+	}
+
+	/**
+	 * Turns recording on or off. Turning recording on discards the earlier measurements.
+	 *
+	 * @param on
+	 *            true to record measurements
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void setEnabled(boolean on) {
+		if (on && (enabled == false)) {
+			timings.clear();
+			gauges.clear();
+			allocated = -1;
+		}
+		enabled = on;
+	}
+
+	/**
+	 * Starts a measurement.
+	 *
+	 * @return the start time, or 0 if the monitor is disabled
+	 *
+	 * @since 3.0
+	 */
+
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Ends a measurement, recording its time.
+	 *
+	 * @param name
+	 *            the timing's name
+	 * @param start
+	 *            the value returned by start () (a measurement started while disabled is ignored)
+	 *
+	 * @since 3.0
+	 */
+
+	public void stop(String name, long start) {
+		if (start == 0)
+			return;
+
+		long elapsed = System.nanoTime() - start;
+		timings.computeIfAbsent(name, n -> new Samples()).add(elapsed);
+	}
+
+	/**
+	 * Measures how quickly the game's threads are allocating memory, since the last call.
+	 *
+	 * @return bytes per second, or -1 if this JVM cannot report allocations (or on the first call)
+	 *
+	 * @since 3.0
+	 */
+
+	private double allocationRate() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if ((bean instanceof com.sun.management.ThreadMXBean) == false)
+			return -1;
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		if (threads.isThreadAllocatedMemorySupported() == false)
+			return -1;
+		if (threads.isThreadAllocatedMemoryEnabled() == false)
+			threads.setThreadAllocatedMemoryEnabled(true);
+
+		long total = 0;
+		for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+			total += Math.max(0, bytes);
+		long now = System.nanoTime();
+
+		double rate = -1;
+		if ((allocated >= 0) && (now > allocated_time))
+			rate = Math.max(0, total - allocated) * 1e9 / (now - allocated_time);
+
+		allocated = total;
+		allocated_time = now;
+		return rate;
+	}
+
+	/**
+	 * Returns a percentile of sorted samples.
+	 *
+	 * @param sorted
+	 *            the samples, in ascending order
+	 * @param p
+	 *            the percentile (0 to 100)
+	 *
+	 * @return the sample at that percentile
+	 *
+	 * @since 3.0
+	 */
+
+	private static long percentile(long sorted[], int p) {
+		int index = (int) Math.ceil((p / 100.0) * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	/**
+	 * A ring of a timing's most recent samples.
+	 */
+	private static class Samples {
+
+		/** the number of samples taken (the ring holds the last SAMPLES) */
+		private long count = 0;
+
+		/** the samples, in nanoseconds */
+		private final long ring[] = new long[SAMPLES];
+
+		synchronized void add(long nanos) {
+			ring[(int) (count++ % SAMPLES)] = nanos;
+		}
+
+		synchronized long[] sorted() {
+			long copy[] = Arrays.copyOf(ring, (int) Math.min(count, SAMPLES));
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+}
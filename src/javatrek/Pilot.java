@@ -2,6 +2,8 @@ package javatrek;
 
 import java.io.Serializable;
 
+import javatrek.ChangeBus.Change;
+
 /**
  * This object represents a pilot.
  * 
@@ -10,10 +12,11 @@ import java.io.Serializable;
  * <LI>Version 1.1 - 11/24/2002 - moved the ship upgrade aspect of the addXP function to the object_machine class and added the serializable interface
  * <LI>Version 1.2 - 10/07/2004 - removed tracking of the size of the crew
  * <LI>Version 2.0 - 11/12/2004 - converted the Crew class to a Pilot class and implemented skills
+ * <LI>Version 2.1 - 10/19/2026 - changes to the player's pilot are posted to the change bus
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/12/2004
+ * @version	2.1 - 10/19/2026
  */
 
 public class Pilot implements Serializable
@@ -180,6 +183,8 @@ public int addExperience (long xp)
 	// determine how many skill points have been gained
 	unassigned += gained * POINTS_PER_LEVEL;
 	
+	if (xp > 0) changed ();
+	
 	// if the pilot is AI-controlled, evenly distribute the new skill points
 	if ((ai == true) && (unassigned > 0))
 	{
@@ -208,6 +213,7 @@ public void addFunds (int f)
 	if (f > 0)
 	{
 		funds += f;
+		changed ();
 	}
 	else
 	{
@@ -218,6 +224,16 @@ public void addFunds (int f)
 	}
 }
 
+/**		Posts a pilot change to the change bus, if this is the player's pilot.
+ * 
+ * 		@since		2.1
+ */
+
+private void changed ()
+{
+	if (ai == false) JavaTrek.changes.post (Change.PILOT_CHANGED);
+}
+
 /**		Calculates the level of a pilot based on a given amount of experience.
  * 
  *		@param		xp		the experience of the pilot
@@ -305,6 +321,8 @@ public boolean assignPoints (int s, int p)
 		
 		unassigned -= p;
 		
+		changed ();
+		
 		return true;
 	}
 	
@@ -403,6 +421,7 @@ public boolean removeFunds (int f)
 		if (f <= funds)
 		{
 			funds -= f;
+			changed ();
 			return true;
 		}
 
@@ -428,6 +447,7 @@ public void setFunds (int f)
 	if (f >= 0)
 	{
 		funds = f;
+		changed ();
 	}
 	else
 	{
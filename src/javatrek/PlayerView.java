@@ -0,0 +1,182 @@
+package javatrek;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javatrek.spaceobjects.Ship;
+import javatrek.systems.LightDrive;
+import javatrek.systems.MachineSystem;
+import javatrek.systems.Shields;
+import javatrek.systems.ShortRangeScanner;
+
+/**
+ * An unchanging picture of the player's ship and pilot, for the window's panels and controls to display without taking
+ * the game lock. The game loop publishes a new view alongside the RegionView and QuadrantView.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class PlayerView {
+
+	/**
+	 * One of the ship's systems: its name and state of repair.
+	 */
+	public static final class SystemState {
+
+		/** the system's name */
+		public final String name;
+
+		/** the system's state of repair, as a percentage */
+		public final int repair;
+
+		SystemState(MachineSystem sys) {
+			name = sys.getName();
+			repair = (int) (sys.getRepair() * 100);
+		}
+	}
+
+	/** the latest view (null until one is published) */
+	private static volatile PlayerView current = null;
+
+	/** true if the ship has a light drive */
+	public final boolean drive;
+
+	/** the light drive's fastest setting (0 if there is no drive) */
+	public final float drive_max;
+
+	/** the light drive's current setting (0 if there is no drive) */
+	public final float drive_setting;
+
+	/** the ship's main energy */
+	public final int energy, energy_max;
+
+	/** the ship's hit points */
+	public final int hp, hp_max;
+
+	/** the pilot's level */
+	public final int level;
+
+	/** true if the ship has a short-range scanner */
+	public final boolean scanner;
+
+	/** the shields' energy (0 if there are no shields) */
+	public final int shield_energy, shield_capacity;
+
+	/** true if the ship has shields */
+	public final boolean shields;
+
+	/** true if the ship's shields are raised */
+	public final boolean shields_on;
+
+	/** the pilot's skill ratings */
+	private final int skills[] = new int[Pilot.HOWMANY_SKILLS];
+
+	/** the ship's systems, in alphabetical order */
+	public final List<SystemState> systems;
+
+	/** the pilot's unassigned skill points */
+	public final int unassigned;
+
+	/** the pilot's experience */
+	public final long xp;
+
+	/**
+	 * Takes a picture of the player's ship and pilot.
+	 *
+	 * @param ship
+	 *            the player's ship
+	 * @param pilot
+	 *            the player's pilot
+	 *
+	 * @since 3.0
+	 */
+
+	private PlayerView(Ship ship, Pilot pilot) {
+		hp = ship.getHP();
+		hp_max = ship.getHPMax();
+		energy = ship.getEnergyRemaining();
+		energy_max = ship.getEnergyMax();
+
+		Shields s = (Shields) ship.getSystem(Shields.class.getName());
+		shields = (s != null);
+		shields_on = (s != null) && s.getShieldsOn();
+		shield_energy = (s != null) ? s.getRemaining() : 0;
+		shield_capacity = (s != null) ? s.getCapacity() : 0;
+
+		LightDrive ld = (LightDrive) ship.getSystem(LightDrive.class.getName());
+		drive = (ld != null);
+		drive_setting = (ld != null) ? ld.getSetting() : 0.0f;
+		drive_max = (ld != null) ? ld.getMax() : 0.0f;
+
+		scanner = (ship.getSystem(ShortRangeScanner.class.getName()) != null);
+
+		List<SystemState> list = new ArrayList<>();
+		MachineSystem sys[] = ship.getSystems();
+		if (sys != null) {
+			for (MachineSystem m : sys)
+				list.add(new SystemState(m));
+			list.sort(Comparator.comparing((SystemState st) -> st.name));
+		}
+		systems = Collections.unmodifiableList(list);
+
+		level = pilot.getLevel();
+		xp = pilot.getXP();
+		unassigned = pilot.getUnassigend();
+		for (int i = 0; i < Pilot.HOWMANY_SKILLS; i++)
+			skills[i] = pilot.getSkill(i);
+	}
+
+	/**
+	 * Returns one of the pilot's skill ratings.
+	 *
+	 * @param skill
+	 *            the skill's index
+	 *
+	 * @return the rating, as a percentage
+	 *
+	 * @since 3.0
+	 */
+
+	public int getSkill(int skill) {
+		return skills[skill];
+	}
+
+	/**
+	 * Returns the latest view. This may be called from any thread, without the game lock.
+	 *
+	 * @return the view, or null if none has been published
+	 *
+	 * @since 3.0
+	 */
+
+	public static PlayerView getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Takes a picture of the player's ship and pilot and makes it the latest view. This must be called while holding
+	 * the game lock; it does nothing before a game has begun.
+	 *
+	 * @since 3.0
+	 */
+
+	public static void publish() {
+		JavaTrek game = JavaTrek.game;
+		if ((game == null) || (game.gamedata == null) || (game.gamedata.space == null))
+			return;
+
+		Ship ship = game.gamedata.space.getPlayersShip();
+		if ((ship == null) || (game.gamedata.player == null))
+			return;
+
+		current = new PlayerView(ship, game.gamedata.player);
+	}
+
+}
@@ -0,0 +1,191 @@
+package javatrek;
+
+import java.awt.Point;
+
+import javatrek.spaceobjects.Asteroid;
+import javatrek.spaceobjects.Base;
+import javatrek.spaceobjects.Ship;
+import javatrek.spaceobjects.SpaceObject;
+import javatrek.spaceobjects.Star;
+import javatrek.systems.Computer;
+
+/**
+ * An unchanging picture of the player's quadrant, for the quadrant map to draw its cells from without taking the game
+ * lock. Each region's counts are gathered in a single pass over space's objects when the view is taken, so that a cell
+ * costs only a few array reads. The game loop publishes a new view alongside the RegionView.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class QuadrantView {
+
+	/** the latest view (null until one is published) */
+	private static volatile QuadrantView current = null;
+
+	/** the image of the first base found in each region (null if none) */
+	private final String base[][] = new String[Space.QUADRANT_WIDTH][Space.QUADRANT_HEIGHT];
+
+	/** the number of enemy ships in each region */
+	private final int enemies[][] = new int[Space.QUADRANT_WIDTH][Space.QUADRANT_HEIGHT];
+
+	/** true for each region whose contents the player's ship's computer knows */
+	private final boolean known[][] = new boolean[Space.QUADRANT_WIDTH][Space.QUADRANT_HEIGHT];
+
+	/** the number of stars and asteroids in each region */
+	private final int objects[][] = new int[Space.QUADRANT_WIDTH][Space.QUADRANT_HEIGHT];
+
+	/** the quadrant the player's ship is in */
+	public final int quad;
+
+	/** the image of the player's ship */
+	public final String ship;
+
+	/** the location of the player's ship's region in the quadrant */
+	public final int ship_x, ship_y;
+
+	/**
+	 * Takes a picture of the player's quadrant.
+	 *
+	 * @param space
+	 *            the game's space
+	 *
+	 * @since 3.0
+	 */
+
+	private QuadrantView(Space space) {
+		Ship player = space.getPlayersShip();
+		Point qloc = player.getQuadrantLocation();
+
+		quad = player.getQuadrant();
+		ship = player.getImageName();
+		ship_x = qloc.x;
+		ship_y = qloc.y;
+
+		Computer computer = (Computer) player.getSystem(Computer.class.getName());
+		if (computer != null) {
+			for (int i = 0; i < Space.QUADRANT_WIDTH; i++)
+				for (int j = 0; j < Space.QUADRANT_HEIGHT; j++)
+					known[i][j] = computer.getKnown(i, j);
+		}
+
+		// the same filters as the map's old region queries: exact classes, and enemies are ships of other teams
+		int team = player.getTeam();
+		for (SpaceObject so : space.getSpaceObjects()) {
+			if ((so == null) || (so.getQuadrant() != quad))
+				continue;
+
+			Point p = so.getQuadrantLocation();
+			if ((p.x < 0) || (p.x >= Space.QUADRANT_WIDTH) || (p.y < 0) || (p.y >= Space.QUADRANT_HEIGHT))
+				continue;
+
+			Class<?> c = so.getClass();
+			if ((c == Base.class) && (base[p.x][p.y] == null))
+				base[p.x][p.y] = so.getImageName();
+			else if ((c == Ship.class) && (so.getTeam() != team))
+				enemies[p.x][p.y]++;
+			else if ((c == Star.class) || (c == Asteroid.class))
+				objects[p.x][p.y]++;
+		}
+	}
+
+	/**
+	 * Returns the image of the first base found in a region.
+	 *
+	 * @param i
+	 *            the region's x-location
+	 * @param j
+	 *            the region's y-location
+	 *
+	 * @return the base's image name, or null if the region has no base
+	 *
+	 * @since 3.0
+	 */
+
+	public String getBase(int i, int j) {
+		return base[i][j];
+	}
+
+	/**
+	 * Returns the number of enemy ships in a region.
+	 *
+	 * @param i
+	 *            the region's x-location
+	 * @param j
+	 *            the region's y-location
+	 *
+	 * @return the number of ships not on the player's team
+	 *
+	 * @since 3.0
+	 */
+
+	public int getEnemies(int i, int j) {
+		return enemies[i][j];
+	}
+
+	/**
+	 * Returns the number of stars and asteroids in a region.
+	 *
+	 * @param i
+	 *            the region's x-location
+	 * @param j
+	 *            the region's y-location
+	 *
+	 * @return the number of neutral bodies
+	 *
+	 * @since 3.0
+	 */
+
+	public int getObjects(int i, int j) {
+		return objects[i][j];
+	}
+
+	/**
+	 * Determines if the player's ship's computer knows a region's contents.
+	 *
+	 * @param i
+	 *            the region's x-location
+	 * @param j
+	 *            the region's y-location
+	 *
+	 * @return true if the region is known
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isKnown(int i, int j) {
+		return known[i][j];
+	}
+
+	/**
+	 * Returns the latest view. This may be called from any thread, without the game lock.
+	 *
+	 * @return the view, or null if none has been published
+	 *
+	 * @since 3.0
+	 */
+
+	public static QuadrantView getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Takes a picture of the player's quadrant and makes it the latest view. This must be called while holding the
+	 * game lock; it does nothing before a game has begun.
+	 *
+	 * @since 3.0
+	 */
+
+	public static void publish() {
+		JavaTrek game = JavaTrek.game;
+		if ((game == null) || (game.gamedata == null) || (game.gamedata.space == null))
+			return;
+
+		current = new QuadrantView(game.gamedata.space);
+	}
+
+}
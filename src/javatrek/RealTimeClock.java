@@ -0,0 +1,365 @@
+package javatrek;
+
+import java.awt.Point;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import javatrek.spaceobjects.Ship;
+import javatrek.spaceobjects.SpaceObject;
+
+/**
+ * Drives the optional real-time mode: a fixed-timestep clock that advances the game by a fraction of an hour per tick,
+ * independently of how often the window paints. Ticks are run as game loop commands. A tick is only queued once the
+ * previous one has run, so a busy game loop delays ticks rather than piling them up; the lag that builds up is made
+ * good with at most a few extra ticks at a time, and anything beyond that is dropped, so the simulation never tries to
+ * catch up with an unbounded backlog.
+ *
+ * <P>
+ * Ships move once per game hour. When a tick completes an hour, the clock keeps where the ships in the player's region
+ * were before it, and the region map draws them gliding from there to their new locations over the following hour, so
+ * that every tick (and every frame between ticks) moves them a little further.
+ *
+ * <P>
+ * The tick length, tick rate and catch-up limit are read from the javatrek.realtime.hours, javatrek.realtime.rate and
+ * javatrek.realtime.catchup system properties; a malformed value is replaced by the default.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - ships are interpolated across the game hour, rather than across the tick in which they
+ * moved; a malformed javatrek.realtime.hours no longer stops the game from starting
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class RealTimeClock {
+
+	/** the number of game hours passed by a tick, by default */
+	public static final float DEFAULT_HOURS = 0.1f;
+
+	/** the number of ticks per second, by default */
+	public static final int DEFAULT_RATE = 10;
+
+	/** the most ticks run together to make good lost time, by default */
+	public static final int DEFAULT_CATCH_UP = 5;
+
+	/** the number of game hours passed by a tick */
+	private final float hours;
+
+	/** how far the game was into the current hour after the last tick */
+	private volatile float hour_fraction = 0.0f;
+
+	/** the time of the last tick, in nanoseconds */
+	private volatile long last_tick;
+
+	/** the most ticks run together */
+	private final int max_catch_up;
+
+	/** true if ships moved at the start of the current hour */
+	private volatile boolean moved = false;
+
+	/** called on the event dispatch thread after a tick in which ships moved */
+	private final List<Runnable> motion_listeners = new CopyOnWriteArrayList<>();
+
+	/** the length of a tick, in nanoseconds */
+	private final long period;
+
+	/** the locations of the ships in the player's region before the current hour began */
+	private volatile Map<SpaceObject, Point> previous = new IdentityHashMap<>();
+
+	/** set while a tick command is waiting for (or being run by) the game loop */
+	private final AtomicBoolean queued = new AtomicBoolean();
+
+	/** the clock thread (null while stopped) */
+	private Thread thread = null;
+
+	/** the number of ticks dropped because the game fell too far behind */
+	private volatile long dropped = 0;
+
+	/**
+	 * Creates a clock using the settings given by the system properties.
+	 *
+	 * @since 3.0
+	 */
+
+	public RealTimeClock() {
+		this(getFloat("javatrek.realtime.hours", DEFAULT_HOURS), Integer.getInteger("javatrek.realtime.rate", DEFAULT_RATE),
+				Integer.getInteger("javatrek.realtime.catchup", DEFAULT_CATCH_UP));
+	}
+
+	/**
+	 * Creates a clock.
+	 *
+	 * @param hours
+	 *            the number of game hours passed by a tick
+	 * @param rate
+	 *            the number of ticks per second
+	 * @param max_catch_up
+	 *            the most ticks run together to make good lost time
+	 *
+	 * @since 3.0
+	 */
+
+	public RealTimeClock(float hours, int rate, int max_catch_up) {
+		this.hours = (hours > 0.0f) ? hours : DEFAULT_HOURS;
+		this.period = 1000000000L / Math.max(1, rate);
+		this.max_catch_up = Math.max(1, max_catch_up);
+	}
+
+	/**
+	 * Adds a listener, called on the event dispatch thread after each tick in which ships moved.
+	 *
+	 * @param l
+	 *            the listener
+	 *
+	 * @since 3.0
+	 */
+
+	public void addMotionListener(Runnable l) {
+		motion_listeners.add(l);
+	}
+
+	/**
+	 * Returns how far the game is through the current hour, for interpolating ship locations. The time since the last
+	 * tick is included, so that the ships keep moving smoothly between ticks.
+	 *
+	 * @return a fraction from 0 (the start of the hour, when the ships moved) to 1 (the end of the hour)
+	 *
+	 * @since 3.0
+	 */
+
+	public float getAlpha() {
+		if (isRunning() == false)
+			return 1.0f;
+
+		float since = Math.min(1.0f, (float) (System.nanoTime() - last_tick) / period);
+		float alpha = hour_fraction + since * Math.min(1.0f, hours);
+		return Math.max(0.0f, Math.min(1.0f, alpha));
+	}
+
+	/**
+	 * Returns the number of ticks dropped because the game fell too far behind.
+	 *
+	 * @return the number of dropped ticks
+	 *
+	 * @since 3.0
+	 */
+
+	public long getDroppedTicks() {
+		return dropped;
+	}
+
+	/**
+	 * Returns where a ship was before the current hour began.
+	 *
+	 * @param so
+	 *            the ship
+	 *
+	 * @return the ship's previous regional location, or null if it was not in the player's region
+	 *
+	 * @since 3.0
+	 */
+
+	public Point getPreviousLocation(SpaceObject so) {
+		return previous.get(so);
+	}
+
+	/**
+	 * Determines if ships are still moving between their previous and current locations.
+	 *
+	 * @return true if the region map should keep repainting
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isMoving() {
+		return moved && isRunning() && (getAlpha() < 1.0f);
+	}
+
+	/**
+	 * Reads a float-valued system property.
+	 *
+	 * @param name
+	 *            the property's name
+	 * @param def
+	 *            the value used if the property is not set, or is not a number
+	 *
+	 * @return the property's value
+	 *
+	 * @since 3.1
+	 */
+
+	private static float getFloat(String name, float def) {
+		String value = System.getProperty(name);
+		if (value == null)
+			return def;
+
+		try {
+			return Float.parseFloat(value.trim());
+		} catch (NumberFormatException e) {
+			System.out.println(String.format("Ignoring %s=%s, which is not a number", name, value));
+			return def;
+		}
+	}
+
+	/**
+	 * Determines if real-time mode is on.
+	 *
+	 * @return true if the clock is running
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized boolean isRunning() {
+		return thread != null;
+	}
+
+	/**
+	 * Turns on real-time mode.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void start() {
+		if (thread != null)
+			return;
+
+		last_tick = System.nanoTime();
+		thread = new Thread(this::run, "real-time-clock");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Turns off real-time mode; a queued tick still runs.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void stop() {
+		if (thread == null)
+			return;
+
+		thread.interrupt();
+		thread = null;
+		moved = false;
+	}
+
+	/**
+	 * The clock thread's body: wakes once per tick and queues the ticks that are due.
+	 *
+	 * @since 3.0
+	 */
+
+	private void run() {
+		long next = System.nanoTime() + period;
+		long owed = 0;
+
+		while (Thread.currentThread().isInterrupted() == false) {
+			long wait = next - System.nanoTime();
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+			next += period;
+			owed++;
+
+			// the previous ticks have not run yet, so these wait; the window is never flooded with ticks
+			if (queued.compareAndSet(false, true) == false) {
+				if (owed > max_catch_up) {
+					dropped += owed - max_catch_up;
+					owed = max_catch_up;
+				}
+				continue;
+			}
+
+			int count = (int) Math.min(owed, max_catch_up);
+			dropped += owed - count;
+			owed = 0;
+
+			// the clock never falls more than a tick behind the real time
+			long now = System.nanoTime();
+			if (next < now)
+				next = now + period;
+
+			JavaTrek.loop.submit("Real Time", () -> tick(count));
+		}
+	}
+
+	/**
+	 * Advances the game; run by the game loop.
+	 *
+	 * @param count
+	 *            the number of ticks to run
+	 *
+	 * @since 3.0
+	 */
+
+	private void tick(int count) {
+		try {
+			GameData gamedata = JavaTrek.game.gamedata;
+			Map<SpaceObject, Point> before = snapshot();
+
+			int completed = gamedata.advance(hours * count);
+			hour_fraction = gamedata.getHourFraction();
+			last_tick = System.nanoTime();
+
+			// ships only move as an hour is completed; until then, they go on gliding towards their new locations
+			if (completed == 0)
+				return;
+
+			// compare against the new locations, so the window knows whether to animate
+			boolean any = false;
+			for (Map.Entry<SpaceObject, Point> e : before.entrySet()) {
+				if (e.getValue().equals(e.getKey().getRegionLocation()) == false) {
+					any = true;
+					break;
+				}
+			}
+
+			previous = before;
+			moved = any;
+
+			if (any) {
+				for (Runnable l : motion_listeners)
+					SwingUtilities.invokeLater(l);
+			}
+		} finally {
+			queued.set(false);
+		}
+	}
+
+	/**
+	 * Records the locations of the ships in the player's region.
+	 *
+	 * @return the ships' regional locations
+	 *
+	 * @since 3.0
+	 */
+
+	private Map<SpaceObject, Point> snapshot() {
+		Map<SpaceObject, Point> locations = new IdentityHashMap<>();
+
+		Space space = JavaTrek.game.gamedata.space;
+		Ship player = space.getPlayersShip();
+		SpaceObject obj[] = space.getInRegion(player.getQuadrant(), player.getQuadrantLocation(), 0, null);
+		if (obj != null) {
+			for (SpaceObject so : obj) {
+				if (so instanceof Ship)
+					locations.put(so, new Point(so.getRegionLocation()));
+			}
+		}
+
+		return locations;
+	}
+
+}
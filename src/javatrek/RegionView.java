@@ -0,0 +1,169 @@
+package javatrek;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javatrek.spaceobjects.Asteroid;
+import javatrek.spaceobjects.Ship;
+import javatrek.spaceobjects.SpaceObject;
+import javatrek.spaceobjects.Star;
+import javatrek.systems.Shields;
+
+/**
+ * An unchanging picture of the player's region, for the region map to paint from without taking the game lock. The
+ * game loop publishes a new view, while it still holds the lock, after each command and between the hours of long
+ * commands, including the one that loads a saved game. The map only ever paints the latest view, so painting never
+ * waits on a tick.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - sprites keep their objects, so that the map's right-click can find them
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public final class RegionView {
+
+	/**
+	 * An object as it is drawn: its image and location, where it was before the last real-time tick, and whether its
+	 * shields are raised. The object itself is kept only so that the window can name it in a command; it must not be
+	 * read outside the game loop.
+	 */
+	public static final class Sprite {
+
+		/** the location before the last real-time tick (the same as the location if the object did not move) */
+		public final int from_x, from_y;
+
+		/** the name of the object's image */
+		public final String image;
+
+		/** the object (for commands to act on) */
+		public final SpaceObject object;
+
+		/** true if the object is a ship with its shields raised */
+		public final boolean shields;
+
+		/** the object's location within the region */
+		public final int x, y;
+
+		Sprite(SpaceObject so) {
+			Point p = so.getRegionLocation();
+			Point from = JavaTrek.clock.getPreviousLocation(so);
+
+			object = so;
+			image = so.getImageName();
+			x = p.x;
+			y = p.y;
+			from_x = (from != null) ? from.x : p.x;
+			from_y = (from != null) ? from.y : p.y;
+
+			Shields sh = (so instanceof Ship) ? (Shields) ((Ship) so).getSystem(Shields.class.getName()) : null;
+			shields = (sh != null) && sh.getShieldsOn();
+		}
+	}
+
+	/** the latest view (null until one is published) */
+	private static volatile RegionView current = null;
+
+	/** the region's neutral bodies, which never move */
+	public final List<Sprite> fixed;
+
+	/** the region's other objects */
+	public final List<Sprite> moving;
+
+	/** the quadrant the region is in */
+	public final int quad;
+
+	/** the region's location in the quadrant */
+	public final int region_x, region_y;
+
+	/**
+	 * Takes a picture of the player's region.
+	 *
+	 * @param space
+	 *            the game's space
+	 *
+	 * @since 3.0
+	 */
+
+	private RegionView(Space space) {
+		Ship ship = space.getPlayersShip();
+		Point qloc = ship.getQuadrantLocation();
+
+		quad = ship.getQuadrant();
+		region_x = qloc.x;
+		region_y = qloc.y;
+
+		List<Sprite> f = new ArrayList<>();
+		List<Sprite> m = new ArrayList<>();
+		SpaceObject obj[] = space.getInRegion(quad, qloc, 0, null);
+		if (obj != null) {
+			for (SpaceObject so : obj) {
+				if ((so instanceof Star) || (so instanceof Asteroid))
+					f.add(new Sprite(so));
+				else
+					m.add(new Sprite(so));
+			}
+		}
+
+		fixed = Collections.unmodifiableList(f);
+		moving = Collections.unmodifiableList(m);
+	}
+
+	/**
+	 * Finds the object drawn at a location in the region.
+	 *
+	 * @param x
+	 *            the location's x-coordinate within the region
+	 * @param y
+	 *            the location's y-coordinate within the region
+	 *
+	 * @return the object's sprite, or null if the location is empty
+	 *
+	 * @since 3.1
+	 */
+
+	public Sprite getSpriteAt(int x, int y) {
+		for (Sprite s : moving) {
+			if ((s.x == x) && (s.y == y))
+				return s;
+		}
+		for (Sprite s : fixed) {
+			if ((s.x == x) && (s.y == y))
+				return s;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the latest view. This may be called from any thread, without the game lock.
+	 *
+	 * @return the view, or null if none has been published
+	 *
+	 * @since 3.0
+	 */
+
+	public static RegionView getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Takes a picture of the player's region and makes it the latest view. This must be called while holding the game
+	 * lock; it does nothing before a game has begun.
+	 *
+	 * @since 3.0
+	 */
+
+	public static void publish() {
+		JavaTrek game = JavaTrek.game;
+		if ((game == null) || (game.gamedata == null) || (game.gamedata.space == null))
+			return;
+
+		current = new RegionView(game.gamedata.space);
+	}
+
+}
@@ -0,0 +1,696 @@
+package javatrek;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+/**
+ * A packed archive of the game's sprites and data files. Sprites are stored as decoded, pre-converted pixel data, text
+ * files as pre-split lines and CSV files as pre-split rows of fields, so that startup is a single memory-mapped read
+ * with no image decoding or text scanning. When no archive is present the game falls back to loading each resource
+ * from the classpath.
+ *
+ * <P>
+ * Each entry records the size, modification time and CRC-32 of the file it was built from. The archive is normally
+ * trusted as it stands. In debug mode, where data files are edited while the game is developed, each entry is checked
+ * against its file (if that is still on the classpath) the first time it is asked for; an entry whose source has since
+ * changed is treated as absent, so the loose file is loaded instead until the archive is rebuilt.
+ *
+ * <P>
+ * The archive is generated from the source tree with:
+ *
+ * <PRE>
+ * java javatrek.ResourceArchive [source directory] [archive file]
+ * </PRE>
+ *
+ * <P>
+ * Layout (big-endian): magic, version, entry count, then an index of (name, type, offset, length, source size,
+ * source modification time, source CRC-32) entries followed by the entries' payloads. An image payload is its
+ * BufferedImage type, width, height and one int per pixel; a table payload is its line count and then each line in
+ * modified UTF-8; a rows payload is its row count and then, for each row, its field count and each field in modified
+ * UTF-8.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - entries are checked against their sources in debug mode only; CSV files are stored
+ * as rows of fields
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class ResourceArchive {
+
+	/** the archive's default file name */
+	public static final String DEFAULT_NAME = "javatrek.pak";
+
+	/** the system property that overrides the archive's location */
+	public static final String PROPERTY = "javatrek.archive";
+
+	/** identifies an archive file ("JTPK") */
+	private static final int MAGIC = 0x4A54504B;
+
+	/** identifies an image entry */
+	private static final byte TYPE_IMAGE = 1;
+
+	/** identifies a table entry */
+	private static final byte TYPE_TABLE = 2;
+
+	/** identifies a rows entry */
+	private static final byte TYPE_ROWS = 3;
+
+	/** the archive format's version */
+	private static final int VERSION = 3;
+
+	/** the default archive (null if none was found) */
+	private static ResourceArchive archive;
+
+	/** set once an attempt has been made to open the default archive */
+	private static boolean opened = false;
+
+	/** true if entries are checked against their sources (debug mode) */
+	private static volatile boolean check_sources = false;
+
+	/** the mapped archive */
+	private final ByteBuffer data;
+
+	/** the archive's index, keyed by resource name */
+	private final Map<String, Entry> index;
+
+	/**
+	 * Wraps a mapped archive and reads its index.
+	 *
+	 * @param data
+	 *            the mapped archive
+	 *
+	 * @throws IOException
+	 *             if the archive is not a valid archive
+	 *
+	 * @since 3.0
+	 */
+	private ResourceArchive(ByteBuffer data) throws IOException {
+		this.data = data;
+
+		if ((data.getInt(0) != MAGIC) || (data.getInt(4) != VERSION))
+			throw new IOException("Not a JavaTrek resource archive (or an unsupported version)");
+
+		// the index is read through a duplicate, leaving the mapped buffer's position alone
+		ByteBuffer header = data.duplicate();
+		header.position(8);
+		int count = header.getInt();
+		index = new HashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			String name = readString(header);
+			byte type = header.get();
+			int offset = header.getInt();
+			int length = header.getInt();
+			long size = header.getLong();
+			long modified = header.getLong();
+			int crc = header.getInt();
+			index.put(name, new Entry(type, offset, length, size, modified, crc));
+		}
+	}
+
+	/**
+	 * Returns the game's archive, opening it on the first call. The archive is looked for at the location given by the
+	 * javatrek.archive system property, then in the working directory, then beside the game's classes.
+	 *
+	 * @return the archive, or null if none exists (resources are then loaded individually)
+	 *
+	 * @since 3.0
+	 */
+	public static synchronized ResourceArchive getDefault() {
+		if (opened == false) {
+			opened = true;
+
+			File file = findArchive();
+			if (file != null) {
+				try {
+					archive = open(file);
+				} catch (IOException e) {
+					System.out.println(String.format("Resource archive '%s' could not be read; using loose files", file));
+					e.printStackTrace();
+				}
+			}
+		}
+
+		return archive;
+	}
+
+	/**
+	 * Looks for the archive file.
+	 *
+	 * @return the archive file, or null if none exists
+	 *
+	 * @since 3.0
+	 */
+	private static File findArchive() {
+		String property = System.getProperty(PROPERTY);
+		if (property != null)
+			return new File(property).isFile() ? new File(property) : null;
+
+		File file = new File(DEFAULT_NAME);
+		if (file.isFile())
+			return file;
+
+		try {
+			URL url = ResourceArchive.class.getResource("/" + DEFAULT_NAME);
+			if ((url != null) && ("file".equals(url.getProtocol())))
+				return new File(url.toURI());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Maps an archive file into memory.
+	 *
+	 * @param file
+	 *            the archive file
+	 *
+	 * @return the opened archive
+	 *
+	 * @throws IOException
+	 *             if the file cannot be mapped or is not an archive
+	 *
+	 * @since 3.0
+	 */
+	public static ResourceArchive open(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.load();
+			return new ResourceArchive(buffer);
+		}
+	}
+
+	/**
+	 * Determines if the archive holds an up-to-date copy of a resource.
+	 *
+	 * @param name
+	 *            the resource name (for example "/images/space/sun.bmp")
+	 *
+	 * @return true if the resource is archived, and its source has not changed since
+	 *
+	 * @since 3.0
+	 */
+	public boolean contains(String name) {
+		Entry entry = index.get(name);
+		return (entry != null) && isCurrent(name, entry);
+	}
+
+	/**
+	 * Turns on (or off) checking each entry against its source, for debug mode. This should be called before the
+	 * archive is first used.
+	 *
+	 * @param check
+	 *            true to check entries against their sources
+	 *
+	 * @since 3.1
+	 */
+	public static void setCheckSources(boolean check) {
+		check_sources = check;
+	}
+
+	/**
+	 * Determines if an entry may be used. Outside debug mode every entry may; in debug mode the entry must still match
+	 * its source, which is checked only the first time.
+	 *
+	 * @param name
+	 *            the resource name
+	 * @param entry
+	 *            the resource's index entry
+	 *
+	 * @return true if the entry may be used
+	 *
+	 * @since 3.0
+	 */
+	private static boolean isCurrent(String name, Entry entry) {
+		if (check_sources == false)
+			return true;
+
+		// two threads may both check the source; they reach the same answer
+		if (entry.current == null) {
+			boolean current = matchesSource(name, entry);
+			if (current == false)
+				System.out.println(String.format("Resource archive entry '%s' is out of date; using the loose file", name));
+			entry.current = current;
+		}
+
+		return entry.current;
+	}
+
+	/**
+	 * Compares an entry with the file it was built from. A file with the same size and modification time is taken to be
+	 * unchanged; otherwise (or where the time cannot be read, as inside a jar) the contents' CRC-32 decides.
+	 *
+	 * @param name
+	 *            the resource name
+	 * @param entry
+	 *            the resource's index entry
+	 *
+	 * @return true if the source matches, or is not on the classpath (the archive is then the only copy)
+	 *
+	 * @since 3.0
+	 */
+	private static boolean matchesSource(String name, Entry entry) {
+		URL url = ResourceArchive.class.getResource(name);
+		if (url == null)
+			return true;
+
+		try {
+			if ("file".equals(url.getProtocol())) {
+				File file = new File(url.toURI());
+				if (file.length() != entry.size)
+					return false;
+				if (file.lastModified() == entry.modified)
+					return true;
+			}
+
+			CRC32 crc = new CRC32();
+			long size = 0;
+			byte buffer[] = new byte[8192];
+			try (InputStream in = url.openStream()) {
+				int n;
+				while ((n = in.read(buffer)) > 0) {
+					crc.update(buffer, 0, n);
+					size += n;
+				}
+			}
+
+			return (size == entry.size) && ((int) crc.getValue() == entry.crc);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Returns an archived image.
+	 *
+	 * @param name
+	 *            the image's resource name
+	 *
+	 * @return a new image holding the archived pixels, or null if the image is not archived (or is out of date)
+	 *
+	 * @since 3.0
+	 */
+	public BufferedImage getImage(String name) {
+		Entry entry = index.get(name);
+		if ((entry == null) || (entry.type != TYPE_IMAGE) || (isCurrent(name, entry) == false))
+			return null;
+
+		ByteBuffer buffer = slice(entry);
+		int type = buffer.getInt();
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+
+		BufferedImage image = new BufferedImage(width, height, type);
+		int pixels[] = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		buffer.asIntBuffer().get(pixels);
+
+		return image;
+	}
+
+	/**
+	 * Returns an archived table.
+	 *
+	 * @param name
+	 *            the data file's resource name
+	 *
+	 * @return an unmodifiable list of the file's lines, or null if the file is not archived (or is out of date)
+	 *
+	 * @since 3.0
+	 */
+	public List<String> getLines(String name) {
+		Entry entry = index.get(name);
+		if ((entry == null) || (isCurrent(name, entry) == false))
+			return null;
+
+		// a CSV file's lines are put back together from its rows
+		if (entry.type == TYPE_ROWS) {
+			List<String> lines = new ArrayList<>();
+			for (String row[] : getRows(name))
+				lines.add(String.join(",", row));
+			return Collections.unmodifiableList(lines);
+		}
+		if (entry.type != TYPE_TABLE)
+			return null;
+
+		ByteBuffer buffer = slice(entry);
+		int count = buffer.getInt();
+		List<String> lines = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+			lines.add(readString(buffer));
+
+		return Collections.unmodifiableList(lines);
+	}
+
+	/**
+	 * Returns an archived CSV file's rows.
+	 *
+	 * @param name
+	 *            the data file's resource name
+	 *
+	 * @return an unmodifiable list of the file's rows, each split at its commas as by String.split (","), or null if
+	 *         the file is not archived as rows (or is out of date); the arrays must not be changed
+	 *
+	 * @since 3.1
+	 */
+	public List<String[]> getRows(String name) {
+		Entry entry = index.get(name);
+		if ((entry == null) || (entry.type != TYPE_ROWS) || (isCurrent(name, entry) == false))
+			return null;
+
+		ByteBuffer buffer = slice(entry);
+		int count = buffer.getInt();
+		List<String[]> rows = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String row[] = new String[buffer.getInt()];
+			for (int f = 0; f < row.length; f++)
+				row[f] = readString(buffer);
+			rows.add(row);
+		}
+
+		return Collections.unmodifiableList(rows);
+	}
+
+	/**
+	 * Returns a view of an entry's payload.
+	 *
+	 * @param entry
+	 *            the index entry
+	 *
+	 * @return a buffer positioned at the start of the payload
+	 *
+	 * @since 3.0
+	 */
+	private ByteBuffer slice(Entry entry) {
+		ByteBuffer buffer = data.duplicate();
+		buffer.position(entry.offset);
+		buffer.limit(entry.offset + entry.length);
+		return buffer.slice();
+	}
+
+	/**
+	 * Reads a string written by DataOutputStream.writeUTF ().
+	 *
+	 * @param buffer
+	 *            the buffer to read from
+	 *
+	 * @return the string
+	 *
+	 * @since 3.0
+	 */
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getShort() & 0xFFFF;
+		byte bytes[] = new byte[length + 2];
+		bytes[0] = (byte) (length >> 8);
+		bytes[1] = (byte) length;
+		buffer.get(bytes, 2, length);
+
+		try {
+			return DataInputStream.readUTF(new DataInputStream(new ByteArrayInputStream(bytes)));
+		} catch (IOException e) {
+			throw new IllegalStateException("Corrupt string in resource archive", e);
+		}
+	}
+
+	/**
+	 * Builds an archive from the source tree.
+	 *
+	 * @param args
+	 *            the source directory (default "src") and the archive file (default "javatrek.pak")
+	 *
+	 * @throws IOException
+	 *             if the archive cannot be written
+	 *
+	 * @since 3.0
+	 */
+	public static void main(String args[]) throws IOException {
+		Path source = Paths.get(args.length > 0 ? args[0] : "src");
+		File output = new File(args.length > 1 ? args[1] : DEFAULT_NAME);
+
+		// encode every payload first, so that the index's offsets are known
+		Map<String, byte[]> payloads = new TreeMap<>();
+		Map<String, Byte> types = new HashMap<>();
+		Map<String, Path> sources = new HashMap<>();
+		for (Path file : list(source.resolve("images"))) {
+			String name = file.getFileName().toString().toLowerCase();
+			if (name.endsWith(".bmp") || name.endsWith(".gif") || name.endsWith(".jpg") || name.endsWith(".png")) {
+				String key = resourceName(source, file);
+				payloads.put(key, encodeImage(file));
+				types.put(key, TYPE_IMAGE);
+				sources.put(key, file);
+			}
+		}
+		for (Path file : list(source.resolve("data"))) {
+			String name = file.getFileName().toString().toLowerCase();
+			if (name.endsWith(".csv")) {
+				String key = resourceName(source, file);
+				payloads.put(key, encodeRows(file));
+				types.put(key, TYPE_ROWS);
+				sources.put(key, file);
+			} else if (name.endsWith(".txt")) {
+				String key = resourceName(source, file);
+				payloads.put(key, encodeTable(file));
+				types.put(key, TYPE_TABLE);
+				sources.put(key, file);
+			}
+		}
+
+		// the index's size determines where the payloads begin
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(header);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(payloads.size());
+		int offset = 12;
+		for (String name : payloads.keySet())
+			offset += 2 + name.getBytes(StandardCharsets.UTF_8).length + 1 + 4 + 4 + 8 + 8 + 4;
+
+		for (Map.Entry<String, byte[]> e : payloads.entrySet()) {
+			out.writeUTF(e.getKey());
+			out.writeByte(types.get(e.getKey()));
+			out.writeInt(offset);
+			out.writeInt(e.getValue().length);
+			offset += e.getValue().length;
+
+			// the source's details, so that the game can tell when the entry is out of date
+			Path file = sources.get(e.getKey());
+			byte bytes[] = Files.readAllBytes(file);
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			out.writeLong(bytes.length);
+			out.writeLong(Files.getLastModifiedTime(file).toMillis());
+			out.writeInt((int) crc.getValue());
+		}
+		out.flush();
+
+		try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+			header.writeTo(file);
+			for (byte payload[] : payloads.values())
+				file.write(payload);
+		}
+
+		System.out.println(String.format("Wrote %d resources (%d bytes) to %s", payloads.size(), output.length(), output));
+	}
+
+	/**
+	 * Decodes an image file and encodes its pixels as an image payload.
+	 *
+	 * @param file
+	 *            the image file
+	 *
+	 * @return the payload
+	 *
+	 * @throws IOException
+	 *             if the image cannot be decoded
+	 *
+	 * @since 3.0
+	 */
+	private static byte[] encodeImage(Path file) throws IOException {
+		BufferedImage source = ImageIO.read(file.toFile());
+		if (source == null)
+			throw new IOException("Could not decode " + file);
+
+		// convert to a packed int format, keeping alpha only where the source has it
+		int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		int width = source.getWidth();
+		int height = source.getHeight();
+		int pixels[] = source.getRGB(0, 0, width, height, null, 0, width);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(12 + (pixels.length * 4));
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(type);
+		out.writeInt(width);
+		out.writeInt(height);
+		for (int pixel : pixels)
+			out.writeInt(pixel);
+		out.flush();
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Splits a data file into lines and encodes them as a table payload.
+	 *
+	 * @param file
+	 *            the data file
+	 *
+	 * @return the payload
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read
+	 *
+	 * @since 3.0
+	 */
+	private static byte[] encodeTable(Path file) throws IOException {
+		List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(lines.size());
+		for (String line : lines)
+			out.writeUTF(line);
+		out.flush();
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Splits a CSV file into rows of fields and encodes them as a rows payload.
+	 *
+	 * @param file
+	 *            the CSV file
+	 *
+	 * @return the payload
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read
+	 *
+	 * @since 3.1
+	 */
+	private static byte[] encodeRows(Path file) throws IOException {
+		List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(lines.size());
+		for (String line : lines) {
+			String row[] = line.split(",");
+			out.writeInt(row.length);
+			for (String field : row)
+				out.writeUTF(field);
+		}
+		out.flush();
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Lists the regular files below a directory.
+	 *
+	 * @param directory
+	 *            the directory to walk
+	 *
+	 * @return the files, or an empty list if the directory does not exist
+	 *
+	 * @throws IOException
+	 *             if the directory cannot be walked
+	 *
+	 * @since 3.0
+	 */
+	private static List<Path> list(Path directory) throws IOException {
+		if (Files.isDirectory(directory) == false)
+			return Collections.emptyList();
+
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Converts a file's path into its classpath resource name.
+	 *
+	 * @param source
+	 *            the source directory
+	 * @param file
+	 *            the file
+	 *
+	 * @return the resource name (for example "/images/space/sun.bmp")
+	 *
+	 * @since 3.0
+	 */
+	private static String resourceName(Path source, Path file) {
+		return "/" + source.relativize(file).toString().replace(File.separatorChar, '/');
+	}
+
+	/**
+	 * An archive index entry.
+	 */
+	private static class Entry {
+
+		/** the source's CRC-32 */
+		final int crc;
+
+		/** whether the entry matches its source (null until checked) */
+		volatile Boolean current = null;
+
+		/** the entry's payload length */
+		final int length;
+
+		/** the source's modification time, in milliseconds */
+		final long modified;
+
+		/** the entry's payload offset */
+		final int offset;
+
+		/** the source's size, in bytes */
+		final long size;
+
+		/** the entry's type */
+		final byte type;
+
+		Entry(byte type, int offset, int length, long size, long modified, int crc) {
+			this.type = type;
+			this.offset = offset;
+			this.length = length;
+			this.size = size;
+			this.modified = modified;
+			this.crc = crc;
+		}
+	}
+
+}
@@ -0,0 +1,281 @@
+package javatrek;
+
+import javatrek.spaceobjects.SpaceObject;
+
+/**
+ * Counts, for each team and each region, the long-range scanners that can see the region. Each machine in space adds
+ * one to every region in its scanner's square, and moves its count whenever it moves or its scanner's radius changes,
+ * so asking whether a team can see a region is a single lookup rather than a search of every ship.
+ *
+ * <P>
+ * The counts are derived entirely from the machines in space, so they are not saved with a game; Space rebuilds them
+ * on first use after a game is loaded.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class SensorCoverage {
+
+	/** the number of regions in a quadrant */
+	private static final int REGIONS = Space.QUADRANT_WIDTH * Space.QUADRANT_HEIGHT;
+
+	/** the number of teams (their ids run from FEDERATION to RAIDERS) */
+	private static final int TEAMS = SpaceObject.RAIDERS - SpaceObject.FEDERATION + 1;
+
+	/** the scanners covering each region, by team, then by quadrant and region (see index ()) */
+	private final int counts[][] = new int[TEAMS][Space.QUADRANTS * REGIONS];
+
+	/**
+	 * Adds a scanner's square to a team's coverage.
+	 *
+	 * @param team
+	 *            the scanner's team
+	 * @param quad
+	 *            the quadrant the scanner is in
+	 * @param x
+	 *            the x-co-ordinate of the region the square is centred on
+	 * @param y
+	 *            the y-co-ordinate of the region the square is centred on
+	 * @param radius
+	 *            the scanner's radius (a negative radius covers nothing)
+	 *
+	 * @since 3.0
+	 */
+
+	public void add(int team, int quad, int x, int y, int radius) {
+		apply(team, quad, x, y, radius, 1);
+	}
+
+	/**
+	 * Adds up the scanners that can see a region.
+	 *
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return the number of scanners, of every team
+	 *
+	 * @since 3.0
+	 */
+
+	public int getCount(int quad, int x, int y) {
+		int i = index(quad, x, y);
+		if (i < 0)
+			return 0;
+
+		int count = 0;
+		for (int t = 0; t < TEAMS; t++)
+			count += counts[t][i];
+		return count;
+	}
+
+	/**
+	 * Returns the number of a team's scanners that can see a region.
+	 *
+	 * @param team
+	 *            the team
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return the number of scanners (0 for an invalid team or region)
+	 *
+	 * @since 3.0
+	 */
+
+	public int getCount(int team, int quad, int x, int y) {
+		int i = index(quad, x, y);
+		if ((i < 0) || (valid(team) == false))
+			return 0;
+
+		return counts[team - SpaceObject.FEDERATION][i];
+	}
+
+	/**
+	 * Returns the number of scanners hostile to a team that can see a region. Every team other than the team itself
+	 * is hostile to it, except the neutral team, which is hostile to no one.
+	 *
+	 * @param team
+	 *            the team
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return the number of hostile scanners
+	 *
+	 * @since 3.0
+	 */
+
+	public int getHostileCount(int team, int quad, int x, int y) {
+		int i = index(quad, x, y);
+		if (i < 0)
+			return 0;
+
+		int count = 0;
+		for (int t = 0; t < TEAMS; t++) {
+			int id = t + SpaceObject.FEDERATION;
+			if ((id != team) && (id != SpaceObject.NEUTRAL))
+				count += counts[t][i];
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true if any of a team's scanners can see a region.
+	 *
+	 * @param team
+	 *            the team
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return true if the team can see the region
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isCovered(int team, int quad, int x, int y) {
+		return getCount(team, quad, x, y) > 0;
+	}
+
+	/**
+	 * Returns true if any scanner hostile to a team can see a region; that is, whether the team's ships in the region
+	 * have been detected.
+	 *
+	 * @param team
+	 *            the team
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return true if the region is seen by a hostile team
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean isDetected(int team, int quad, int x, int y) {
+		return getHostileCount(team, quad, x, y) > 0;
+	}
+
+	/**
+	 * Moves a scanner's square, after the scanner moved or its radius changed.
+	 *
+	 * @param team
+	 *            the scanner's team
+	 * @param quad
+	 *            the quadrant the square was in
+	 * @param x
+	 *            the x-co-ordinate the square was centred on
+	 * @param y
+	 *            the y-co-ordinate the square was centred on
+	 * @param radius
+	 *            the square's radius
+	 * @param new_quad
+	 *            the quadrant the square is now in
+	 * @param new_x
+	 *            the x-co-ordinate the square is now centred on
+	 * @param new_y
+	 *            the y-co-ordinate the square is now centred on
+	 * @param new_radius
+	 *            the square's new radius
+	 *
+	 * @since 3.0
+	 */
+
+	public void move(int team, int quad, int x, int y, int radius, int new_quad, int new_x, int new_y,
+			int new_radius) {
+		apply(team, quad, x, y, radius, -1);
+		apply(team, new_quad, new_x, new_y, new_radius, 1);
+	}
+
+	/**
+	 * Removes a scanner's square from a team's coverage.
+	 *
+	 * @param team
+	 *            the scanner's team
+	 * @param quad
+	 *            the quadrant the scanner was in
+	 * @param x
+	 *            the x-co-ordinate the square was centred on
+	 * @param y
+	 *            the y-co-ordinate the square was centred on
+	 * @param radius
+	 *            the square's radius, as it was added
+	 *
+	 * @since 3.0
+	 */
+
+	public void remove(int team, int quad, int x, int y, int radius) {
+		apply(team, quad, x, y, radius, -1);
+	}
+
+	/**
+	 * Adds a number to a team's count in every region of a square, clipped to the quadrant.
+	 *
+	 * @since 3.0
+	 */
+
+	private void apply(int team, int quad, int x, int y, int radius, int delta) {
+		if ((radius < 0) || (valid(team) == false) || (quad < 0) || (quad >= Space.QUADRANTS))
+			return;
+
+		int row[] = counts[team - SpaceObject.FEDERATION];
+		int x1 = Math.max(x - radius, 0);
+		int x2 = Math.min(x + radius, Space.QUADRANT_WIDTH - 1);
+		int y1 = Math.max(y - radius, 0);
+		int y2 = Math.min(y + radius, Space.QUADRANT_HEIGHT - 1);
+
+		for (int j = y1; j <= y2; j++) {
+			int base = quad * REGIONS + j * Space.QUADRANT_WIDTH;
+			for (int i = x1; i <= x2; i++)
+				row[base + i] += delta;
+		}
+	}
+
+	/**
+	 * Returns a region's index in a team's counts.
+	 *
+	 * @return the index, or -1 if the region is outside space
+	 *
+	 * @since 3.0
+	 */
+
+	private static int index(int quad, int x, int y) {
+		if ((quad < 0) || (quad >= Space.QUADRANTS) || (x < 0) || (x >= Space.QUADRANT_WIDTH) || (y < 0)
+				|| (y >= Space.QUADRANT_HEIGHT))
+			return -1;
+
+		return quad * REGIONS + y * Space.QUADRANT_WIDTH + x;
+	}
+
+	/**
+	 * Returns true if a team id is one the counts are kept for.
+	 *
+	 * @since 3.0
+	 */
+
+	private static boolean valid(int team) {
+		return (team >= SpaceObject.FEDERATION) && (team <= SpaceObject.RAIDERS);
+	}
+
+}
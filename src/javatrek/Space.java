@@ -3,10 +3,17 @@ package javatrek;
 import java.awt.Point;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 
+import javatrek.ChangeBus.Change;
+import javatrek.metrics.Counter;
+import javatrek.metrics.Histogram;
+import javatrek.metrics.Metrics;
 import javatrek.spaceobjects.Asteroid;
 import javatrek.spaceobjects.Base;
+import javatrek.spaceobjects.Machine;
 import javatrek.spaceobjects.Ship;
 import javatrek.spaceobjects.SpaceObject;
 import javatrek.spaceobjects.Star;
@@ -16,10 +23,18 @@ import javatrek.spaceobjects.Star;
  * 
  * <UL>
  * <LI>Version 2.0 - 10/22/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - additions and removals are posted to the change bus
+ * <LI>Version 2.2 - 10/19/2026 - passing time is timed for the performance overlay
+ * <LI>Version 2.3 - 10/19/2026 - queries, objects ticked and placement retries are recorded in the game's metrics
+ * <LI>Version 2.4 - 10/19/2026 - added getObjectCount ()
+ * <LI>Version 2.5 - 10/19/2026 - added addSpaceObjects () and getOccupied (), for placing waves of ships in one pass
+ * <LI>Version 2.6 - 10/19/2026 - added getShips ()
+ * <LI>Version 2.7 - 10/19/2026 - added getCoverage (); machines are counted in the sensor coverage as they are added and removed
+ * <LI>Version 2.8 - 10/19/2026 - added getSpaceObjects ()
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 10/22/2004
+ * @version	2.8 - 10/19/2026
  */
 
 public class Space implements Serializable
@@ -44,6 +59,9 @@ public static final int REGION_HEIGHT = 10;
 /** the width of a region (in locations) */
 public static final int REGION_WIDTH = 10;
 
+/** the number of locations in a quadrant */
+public static final int LOCATIONS_PER_QUADRANT = QUADRANT_WIDTH * QUADRANT_HEIGHT * REGION_WIDTH * REGION_HEIGHT;
+
 //////////////////////////////////////////////////////////////////////////////
 //  private constants
 //////////////////////////////////////////////////////////////////////////////
@@ -54,12 +72,30 @@ private static int BASES_PER_QUADRANT = 7;
 /** the initial size of the objects array */
 private static int MAX_OBJECTS = 5000;
 
+/** counts the searches for the objects in a region */
+private static final Counter REGION_QUERIES = Metrics.counter ("space.region_queries");
+
+/** the number of objects each region search found */
+private static final Histogram REGION_RESULTS = Metrics.histogram ("space.region_results");
+
+/** counts the searches for an object at a location */
+private static final Counter LOCATION_QUERIES = Metrics.counter ("space.location_queries");
+
+/** the number of objects given time by each call to passTime () */
+private static final Histogram OBJECTS_TICKED = Metrics.histogram ("space.objects_ticked");
+
+/** the number of occupied locations tried before each neutral body or base was placed */
+private static final Histogram SPAWN_RETRIES = Metrics.histogram ("spawn.retries");
+
 //////////////////////////////////////////////////////////////////////////////
 //  private fields
 //////////////////////////////////////////////////////////////////////////////
 
 /** stores the game's space objects */
-private ArrayList objects;
+private ArrayList<SpaceObject> objects;
+
+/** the regions each team's scanners can see (built on first use, and again after a game is loaded) */
+private transient SensorCoverage coverage;
 
 //////////////////////////////////////////////////////////////////////////////
 //  constructor
@@ -75,7 +111,7 @@ private ArrayList objects;
 public Space (Ship ship)
 {
 	// create the array for space objects
-	objects = new ArrayList (MAX_OBJECTS);
+	objects = new ArrayList<SpaceObject> (MAX_OBJECTS);
 	
 	// add the player's ship
 	objects.add (ship); // necessary so that the array won't be size 0
@@ -101,6 +137,40 @@ public Space (Ship ship)
 public void addSpaceObject (SpaceObject obj)
 {
 	objects.add (obj);
+	if ((coverage != null) && (obj instanceof Machine)) ((Machine) obj).setCoverage (coverage);
+	JavaTrek.changes.post (Change.REGION_CONTENTS_CHANGED);
+	
+	// check to see if the number of space objects has exceded
+	// the estimated maximum
+	if (objects.size () > MAX_OBJECTS)
+	{
+		System.out.println ("Warning - there are now " + objects.size () + " space objects in the game; the estimated maximum is " + MAX_OBJECTS + ".");
+	}
+}
+
+/**		Adds a batch of space objects to the array of space objects, with a
+ * 		single change notification.
+ * 
+ * 		@param		objs		the objects to add
+ * 		@param		count		the number of objects to add, from the start of objs
+ * 
+ * 		@since		2.5
+ */
+
+public void addSpaceObjects (SpaceObject objs[], int count)
+{
+	if (count < 1) return;
+	
+	objects.ensureCapacity (objects.size () + count);
+	objects.addAll (Arrays.asList (objs).subList (0, count));
+	if (coverage != null)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			if (objs[i] instanceof Machine) ((Machine) objs[i]).setCoverage (coverage);
+		}
+	}
+	JavaTrek.changes.post (Change.REGION_CONTENTS_CHANGED);
 	
 	// check to see if the number of space objects has exceded
 	// the estimated maximum
@@ -110,6 +180,24 @@ public void addSpaceObject (SpaceObject obj)
 	}
 }
 
+/**		Converts a fully-qualified location into its index within a quadrant,
+ * 		as used by getOccupied ().
+ * 
+ * 		@param		qx			the region's x-location
+ * 		@param		qy			the region's y-location
+ * 		@param		rx			the x-location within the region
+ * 		@param		ry			the y-location within the region
+ * 
+ * 		@return		the location's index (0 to LOCATIONS_PER_QUADRANT - 1)
+ * 
+ * 		@since		2.5
+ */
+
+public static int getLocationIndex (int qx, int qy, int rx, int ry)
+{
+	return (((qy * QUADRANT_WIDTH) + qx) * REGION_HEIGHT + ry) * REGION_WIDTH + rx;
+}
+
 /**		Creates randomly located asteroids.
  * 
  * 		@since		2.0
@@ -132,10 +220,13 @@ public void createAsteroids ()
 					Asteroid asteroid = new Asteroid (quad, qx, qy, ((int)(Math.random () * 100)) % Space.REGION_WIDTH, ((int)(Math.random () * 100)) % Space.REGION_HEIGHT);
 					
 					// make sure it is not being placed in an occupied location
+					int retries = 0;
 					while (getSpaceObject (quad, asteroid.getQuadrantLocation (), asteroid.getRegionLocation ()) != null)
 					{
 						asteroid = new Asteroid (quad, qx, qy, ((int)(Math.random () * 100)) % Space.REGION_WIDTH, ((int)(Math.random () * 100)) % Space.REGION_HEIGHT);
+						retries++;
 					}
+					SPAWN_RETRIES.record (retries);
 					
 					// place the star
 					addSpaceObject (asteroid);
@@ -162,13 +253,16 @@ public void createBases ()
 			int qy = ((int)(Math.random () * 100)) % Space.QUADRANT_HEIGHT;
 			int rx = ((int)(Math.random () * 100)) % Space.REGION_WIDTH;
 			int ry = ((int)(Math.random () * 100)) % Space.REGION_HEIGHT;
+			int retries = 0;
 			while (getSpaceObject (quad, new Point (qx, qy), new Point (rx, ry)) != null)
 			{
 				qx = ((int)(Math.random () * 100)) % Space.QUADRANT_WIDTH;
 				qy = ((int)(Math.random () * 100)) % Space.QUADRANT_HEIGHT;
 				rx = ((int)(Math.random () * 100)) % Space.REGION_WIDTH;
 				ry = ((int)(Math.random () * 100)) % Space.REGION_HEIGHT;
+				retries++;
 			}
+			SPAWN_RETRIES.record (retries);
 			
 			// insert the base
 			Base base = new Base (quad, qx, qy, rx, ry);
@@ -200,10 +294,13 @@ public void createStars ()
 					Star star = new Star (quad, qx, qy, ((int)(Math.random () * 100)) % Space.REGION_WIDTH, ((int)(Math.random () * 100)) % Space.REGION_HEIGHT);
 					
 					// make sure it is not being placed in an occupied location
+					int retries = 0;
 					while (getSpaceObject (quad, star.getQuadrantLocation (), star.getRegionLocation ()) != null)
 					{
 						star = new Star (quad, qx, qy, ((int)(Math.random () * 100)) % Space.REGION_WIDTH, ((int)(Math.random () * 100)) % Space.REGION_HEIGHT);
+						retries++;
 					}
+					SPAWN_RETRIES.record (retries);
 					
 					// place the star
 					addSpaceObject (star);
@@ -213,6 +310,32 @@ public void createStars ()
 	}
 }
 
+/**		Returns the regions each team's scanners can see.  The coverage is
+ * 		built from the machines in space on first use, and kept up to date
+ * 		from then on as machines are added, removed, moved, damaged and
+ * 		repaired, so each query is a single lookup.
+ * 
+ *		@return		the sensor coverage
+ * 
+ *		@since		2.7
+ */
+
+public SensorCoverage getCoverage ()
+{
+	if (coverage == null)
+	{
+		coverage = new SensorCoverage ();
+		Iterator<SpaceObject> i = objects.iterator ();
+		while (i.hasNext () == true)
+		{
+			SpaceObject obj = i.next ();
+			if (obj instanceof Machine) ((Machine) obj).setCoverage (coverage);
+		}
+	}
+	
+	return coverage;
+}
+
 /**		Gets an array of space objects located in a specific region.
  * 
  * 		@param		quad		the quadrant to check in
@@ -227,14 +350,16 @@ public void createStars ()
 
 public SpaceObject[] getInRegion (int quad, Point qloc, int team, String classname)
 {
+	REGION_QUERIES.increment ();
+	
 	// array for the ships found
-	ArrayList temp = new ArrayList (Space.REGION_WIDTH * Space.REGION_HEIGHT);
+	ArrayList<SpaceObject> temp = new ArrayList<SpaceObject> (Space.REGION_WIDTH * Space.REGION_HEIGHT);
 	
 	// find space objects located in the specified region
-	Iterator i = objects.iterator ();
+	Iterator<SpaceObject> i = objects.iterator ();
 	while (i.hasNext () == true)
 	{
-		SpaceObject obj = (SpaceObject) i.next ();
+		SpaceObject obj = i.next ();
 		if (obj.locatedIn (quad, qloc) == true)
 		{
 			// filter for team
@@ -250,12 +375,13 @@ public SpaceObject[] getInRegion (int quad, Point qloc, int team, String classna
 		
 	// convert the array to a proper one
 	int size = temp.size ();
+	REGION_RESULTS.record (size);
 	if (size > 0) 
 	{
 		SpaceObject ret[] = new SpaceObject[size];
 		for (int x = 0; x < size; x++)
 		{
-			ret[x] = (SpaceObject) temp.get (x);
+			ret[x] = temp.get (x);
 		}
 	
 		// return the array
@@ -267,6 +393,19 @@ public SpaceObject[] getInRegion (int quad, Point qloc, int team, String classna
 	}
 }
 
+/**		Returns the number of space objects in the game, including the
+ * 		player's ship.
+ * 
+ *		@return		the number of space objects
+ * 
+ *		@since		2.4
+ */
+
+public int getObjectCount ()
+{
+	return objects.size ();
+}
+
 /**		Retrieves the player's ship.
  * 
  *		@return		the player's ship
@@ -280,6 +419,53 @@ public Ship getPlayersShip ()
 	return ((Ship) objects.get (0));
 }
 
+/**		Retrieves every ship in space, the player's first.
+ * 
+ *		@return		the ships
+ * 
+ *		@since		2.6
+ */
+
+public Ship[] getShips ()
+{
+	ArrayList<Ship> ships = new ArrayList<Ship> (objects.size ());
+	for (int i = 0; i < objects.size (); i++)
+	{
+		if (objects.get (i) instanceof Ship) ships.add ((Ship) objects.get (i));
+	}
+	
+	return ships.toArray (new Ship [ships.size ()]);
+}
+
+/**		Finds every occupied location, in a single pass over the space
+ * 		objects.  Each quadrant's set is indexed by getLocationIndex (), and
+ * 		belongs to the caller, who may mark locations as they are filled.
+ * 
+ * 		@return		the occupied locations, by quadrant
+ * 
+ * 		@since		2.5
+ */
+
+public BitSet[] getOccupied ()
+{
+	BitSet occupied[] = new BitSet [QUADRANTS];
+	for (int quad = 0; quad < QUADRANTS; quad++)
+	{
+		occupied[quad] = new BitSet (LOCATIONS_PER_QUADRANT);
+	}
+	
+	Iterator<SpaceObject> i = objects.iterator ();
+	while (i.hasNext () == true)
+	{
+		SpaceObject obj = i.next ();
+		Point q = obj.getQuadrantLocation ();
+		Point r = obj.getRegionLocation ();
+		occupied[obj.getQuadrant ()].set (getLocationIndex (q.x, q.y, r.x, r.y));
+	}
+	
+	return occupied;
+}
+
 /**		Returns a space object at a fully-qualified location.
  * 
  * 		@param		quad		the quadrant
@@ -293,11 +479,13 @@ public Ship getPlayersShip ()
 
 public SpaceObject getSpaceObject (int quad, Point q, Point r)
 {
+	LOCATION_QUERIES.increment ();
+	
 	// find space objects located in the specified region
-	Iterator i = objects.iterator ();
+	Iterator<SpaceObject> i = objects.iterator ();
 	while (i.hasNext () == true)
 	{
-		SpaceObject obj = (SpaceObject) i.next ();
+		SpaceObject obj = i.next ();
 		if (obj.locatedIn (quad, q, r) == true)
 		{
 			return obj;
@@ -308,6 +496,18 @@ public SpaceObject getSpaceObject (int quad, Point q, Point r)
 	return null;
 }
 
+/**		Retrieves every object in space, the player's ship first.
+ * 
+ *		@return		the objects
+ * 
+ *		@since		2.8
+ */
+
+public SpaceObject[] getSpaceObjects ()
+{
+	return objects.toArray (new SpaceObject [objects.size ()]);
+}
+
 /**		Passes time in the game for the game's space objects.
  * 
  *		@param		h		the number of hours to pass
@@ -320,15 +520,21 @@ public void passTime (int h)
 	// bounds checking
 	if (h < 0) h = 0;
 	
+	long t = JavaTrek.perf.start ();
+	
 	// iterate over a copy of the objects array list, rather than the array itself
-	ArrayList copy = (ArrayList) objects.clone ();
+	ArrayList<SpaceObject> copy = new ArrayList<SpaceObject> (objects);
 
 	// pass time for the objects
-	Iterator i = copy.iterator ();
+	Iterator<SpaceObject> i = copy.iterator ();
 	while (i.hasNext () == true)
 	{
-		((SpaceObject) i.next ()).passTime (h);
+		i.next ().passTime (h);
 	}
+	
+	JavaTrek.perf.stop ("Space.passTime", t);
+	JavaTrek.perf.set ("objects ticked", copy.size ());
+	OBJECTS_TICKED.record (copy.size ());
 }
 
 /**		Removes all the space objects, except for the player's ship.
@@ -338,10 +544,16 @@ public void passTime (int h)
 
 public void removeAll ()
 {
-	SpaceObject ship = (SpaceObject) objects.get (0);
-	objects = new ArrayList (MAX_OBJECTS);
+	SpaceObject ship = objects.get (0);
+	for (int i = 1; i < objects.size (); i++)
+	{
+		if (objects.get (i) instanceof Machine) ((Machine) objects.get (i)).setCoverage (null);
+	}
+	
+	objects = new ArrayList<SpaceObject> (MAX_OBJECTS);
 	objects.add (ship);
 	objects.set (0, ship);
+	JavaTrek.changes.post (Change.REGION_CONTENTS_CHANGED);
 }
 
 /**		Removes a space object from the array of space objects.  If the object
@@ -363,6 +575,8 @@ public void removeSpaceObject (SpaceObject obj)
 		else
 		{
 			objects.remove (obj);
+			if (obj instanceof Machine) ((Machine) obj).setCoverage (null);
+			JavaTrek.changes.post (Change.REGION_CONTENTS_CHANGED);
 		}
 	}
 	else
@@ -383,7 +597,12 @@ public void removeSpaceObject (SpaceObject obj)
 
 public void setPlayersShip (Ship ship)
 {
-	objects.set (0, ship);
+	Ship old = (Ship) objects.set (0, ship);
+	if ((coverage != null) && (old != ship))
+	{
+		old.setCoverage (null);
+		ship.setCoverage (coverage);
+	}
 }
 
 }
\ No newline at end of file
@@ -1,69 +1,218 @@
 package javatrek;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
- * <P>This object keeps track of various actions the player has taken, 
- * 
+ * <P>This object keeps track of various actions the player has taken, and of
+ * how the game evolves over time.
+ *
+ * <P>Counters are named by strings, which are interned once into int slots;
+ * frequently counted statistics keep their slot in a constant and count
+ * through it, without looking the name up each time.  Kills are counted by
+ * the type of object destroyed, other statistics by name.
+ *
+ * <P>A handful of trends (kills, damage taken, energy used and ships spawned)
+ * are also recorded per game hour, in rings holding the last HISTORY hours.
+ *
  * <UL>
  * <LI>Version 1.0 - 04/04/2002 - the original class
  * <LI>Version 1.1 - 11/24/2002 - added serializable interface
  * <LI>Version 2.0 - 11/09/2004 - changed the class name from Stats to Statistics, removed the HTML output functions and changed the storage method from specific int counters to a hash table which uses string-named fields provided by this class (kills use machine class names to specify which type was killed)
+ * <LI>Version 3.0 - 10/19/2026 - counters are held in int arrays indexed by interned slots, hourly trends are recorded, and null names are reported rather than ending the game
+ * <LI>Version 3.1 - 10/19/2026 - added the copy constructor
  * </UL>
- * 
+ *
  * @author	Andrew Killam
- * @version	2.0 - 11/09/2004
+ * @version	3.1 - 10/19/2026
  */
 
 public class Statistics implements Serializable
 {
-	
+
 //////////////////////////////////////////////////////////////////////////////
 //  public constants
 //////////////////////////////////////////////////////////////////////////////
 
 /** id for points scored for kills*/
 public static final String KILL_POINTS = "Points earned for Kills";
-	
+
+/** id for the hull and shield damage taken by the player's ship */
+public static final String DAMAGE_TAKEN = "Damage Taken";
+
+/** id for the energy spent moving the player's ship */
+public static final String ENERGY_USED = "Energy Used";
+
+/** id for the ships added to the game after it began */
+public static final String SHIPS_SPAWNED = "Ships Spawned";
+
+/** the number of game hours kept by each trend */
+public static final int HISTORY = 24 * 30;
+
+/** the trend of objects destroyed */
+public static final int TREND_KILLS = 0;
+
+/** the trend of damage taken by the player's ship */
+public static final int TREND_DAMAGE_TAKEN = 1;
+
+/** the trend of energy used by the player's ship */
+public static final int TREND_ENERGY_USED = 2;
+
+/** the trend of ships spawned */
+public static final int TREND_SHIPS_SPAWNED = 3;
+
+/** the number of trends recorded */
+public static final int HOWMANY_TRENDS = 4;
+
+//////////////////////////////////////////////////////////////////////////////
+//  private constants
+//////////////////////////////////////////////////////////////////////////////
+
+/** the slots of every statistic name seen, shared by all games */
+private static final HashMap<String, Integer> SLOTS = new HashMap<String, Integer> ();
+
+/** the names of the slots, in slot order */
+private static final ArrayList<String> NAMES = new ArrayList<String> ();
+
+/** the slot of the kill points statistic */
+private static final int KILL_POINTS_SLOT = intern (KILL_POINTS);
+
+/** the slot of the damage taken statistic */
+private static final int DAMAGE_TAKEN_SLOT = intern (DAMAGE_TAKEN);
+
+/** the slot of the energy used statistic */
+private static final int ENERGY_USED_SLOT = intern (ENERGY_USED);
+
+/** the slot of the ships spawned statistic */
+private static final int SHIPS_SPAWNED_SLOT = intern (SHIPS_SPAWNED);
+
+/** the names of the trends */
+private static final String TRENDS[] = {"Kills", DAMAGE_TAKEN, ENERGY_USED, SHIPS_SPAWNED};
+
 //////////////////////////////////////////////////////////////////////////////
 //  private fields
 //////////////////////////////////////////////////////////////////////////////
 
-/** stores kill data by ship type */
-private HashMap kills;
+/** the game hours passed since the game began */
+private int hour;
+
+/** stores kill data by slot (saved by name) */
+private transient int kills[];
+
+/** stores other data (shots fired, shots hit etc) by slot (saved by name) */
+private transient int other[];
 
-/** stores other data (shots fired, shots hit etc) */
-private HashMap other;
+/** the trends' hourly totals; hour h is kept at h % HISTORY (saved oldest first) */
+private transient int trends[][];
 
 //////////////////////////////////////////////////////////////////////////////
 //  constructor
 //////////////////////////////////////////////////////////////////////////////
 
 /**  Creates a statistics object.
- * 
+ *
  *		@since	1.0
  */
 
 public Statistics ()
 {
-	// create the hash maps
-	kills = new HashMap ();
-	other = new HashMap ();
+	// create the counters and trends
+	hour = 0;
+	kills = new int [NAMES.size ()];
+	other = new int [NAMES.size ()];
+	trends = new int [HOWMANY_TRENDS][HISTORY];
+}
+
+/**  Creates a copy of a statistics object, which the window may read while
+ * 		the game loop goes on changing the original.
+ *
+ *		@param	stats	the statistics to copy
+ *
+ *		@since	3.1
+ */
+
+public Statistics (Statistics stats)
+{
+	hour = stats.hour;
+	kills = stats.kills.clone ();
+	other = stats.other.clone ();
+	trends = new int [HOWMANY_TRENDS][];
+	for (int t = 0; t < HOWMANY_TRENDS; t++)
+	{
+		trends[t] = stats.trends[t].clone ();
+	}
 }
 
 //////////////////////////////////////////////////////////////////////////////
 //  functions
 //////////////////////////////////////////////////////////////////////////////
 
-/**		Adds an object to the kills hash map.
- * 
+/**		Adds to a statistic, by slot.
+ *
+ * 		@param		slot		the statistic's slot, as returned by intern ()
+ * 		@param		amount		the amount to add
+ *
+ * 		@since		3.0
+ */
+
+public void add (int slot, int amount)
+{
+	other = fit (other, slot);
+	other[slot] += amount;
+}
+
+/**		Records damage taken by the player's ship.
+ *
+ * 		@param		points		the points of damage taken
+ *
+ * 		@since		3.0
+ */
+
+public void addDamageTaken (int points)
+{
+	add (DAMAGE_TAKEN_SLOT, points);
+	trends[TREND_DAMAGE_TAKEN][hour % HISTORY] += points;
+}
+
+/**		Records energy used by the player's ship.
+ *
+ * 		@param		energy		the energy used
+ *
+ * 		@since		3.0
+ */
+
+public void addEnergyUsed (int energy)
+{
+	add (ENERGY_USED_SLOT, energy);
+	trends[TREND_ENERGY_USED][hour % HISTORY] += energy;
+}
+
+/**		Adds an object to the kills.
+ *
  * 		@param		object		the type of object killed
- * 
+ *
  * 		@since		1.0
  */
 
 public void addKill (String object)
+{
+	addKill (object, 0);
+}
+
+/**		Adds an object to the kills, along with the points earned for it.
+ *
+ * 		@param		object		the type of object killed
+ * 		@param		points		the points earned for the kill
+ *
+ * 		@since		3.0
+ */
+
+public void addKill (String object, int points)
 {
 	// input check
 	if (object == null)
@@ -71,33 +220,35 @@ public void addKill (String object)
 		Exception e = new Exception ();
 		System.out.println ("Statistics.addKill () called with a null argument.");
 		e.printStackTrace ();
-		System.exit (1);
-	}
-	
-	// entries exist for this type, so increment the number of kills
-	if (kills.containsKey (object) == true)
-	{
-		// get the count
-		int count = ((Integer) kills.get (object)).intValue ();
-		
-		// increment it
-		count += 1;
-		
-		// put the count back
-		kills.put (object, new Integer (count));		
-	}
-	// no entries for this type, so create an initial one
-	else
-	{
-		// add the object type to the hash table, with an initial kill tallied
-		kills.put (object, new Integer (1));
+		return;
 	}
+
+	addKill (intern (object), points);
 }
 
-/**		Adds an object to the other hash map.
- * 
- * 		@param		object		the type of object killed
- * 
+/**		Adds an object to the kills by slot, along with the points earned for
+ * 		it.  Callers that count the same type often intern its name once and
+ * 		keep the slot.
+ *
+ * 		@param		slot		the killed object type's slot, as returned by intern ()
+ * 		@param		points		the points earned for the kill
+ *
+ * 		@since		3.0
+ */
+
+public void addKill (int slot, int points)
+{
+	kills = fit (kills, slot);
+	kills[slot]++;
+	trends[TREND_KILLS][hour % HISTORY]++;
+
+	if (points > 0) add (KILL_POINTS_SLOT, points);
+}
+
+/**		Adds one to a statistic.
+ *
+ * 		@param		object		the statistic's name
+ *
  * 		@since		2.0
  */
 
@@ -109,26 +260,328 @@ public void addOther (String object)
 		Exception e = new Exception ();
 		System.out.println ("Statistics.addOther () called with a null argument.");
 		e.printStackTrace ();
-		System.exit (1);
+		return;
+	}
+
+	add (intern (object), 1);
+}
+
+/**		Records ships added to the game after it began.
+ *
+ * 		@param		count		the number of ships added
+ *
+ * 		@since		3.0
+ */
+
+public void addShipsSpawned (int count)
+{
+	add (SHIPS_SPAWNED_SLOT, count);
+	trends[TREND_SHIPS_SPAWNED][hour % HISTORY] += count;
+}
+
+/**		Returns the number of game hours passed since the game began.
+ *
+ * 		@return		the current game hour
+ *
+ * 		@since		3.0
+ */
+
+public int getHour ()
+{
+	return hour;
+}
+
+/**		Returns the number of objects of a type that were killed.
+ *
+ * 		@param		object		the type of object
+ *
+ * 		@return		the number of kills
+ *
+ * 		@since		3.0
+ */
+
+public int getKills (String object)
+{
+	int slot = find (object);
+	return ((slot >= 0) && (slot < kills.length)) ? kills[slot] : 0;
+}
+
+/**		Returns the types of object killed, in the order they were first
+ * 		counted in any game.
+ *
+ * 		@return		the types of object killed at least once
+ *
+ * 		@since		3.0
+ */
+
+public String[] getKillTypes ()
+{
+	return names (kills);
+}
+
+/**		Returns the names of the other statistics that have been counted.
+ *
+ * 		@return		the names of the non-zero statistics
+ *
+ * 		@since		3.0
+ */
+
+public String[] getOtherNames ()
+{
+	return names (other);
+}
+
+/**		Returns the value of a statistic.
+ *
+ * 		@param		object		the statistic's name
+ *
+ * 		@return		the statistic's value
+ *
+ * 		@since		3.0
+ */
+
+public int getOther (String object)
+{
+	int slot = find (object);
+	return ((slot >= 0) && (slot < other.length)) ? other[slot] : 0;
+}
+
+/**		Returns a trend's hourly totals, oldest first.  The last entry is the
+ * 		current (unfinished) hour; at most HISTORY hours are returned.
+ *
+ * 		@param		trend		the trend (TREND_KILLS etc)
+ *
+ * 		@return		the trend's hourly totals
+ *
+ * 		@since		3.0
+ */
+
+public int[] getTrend (int trend)
+{
+	int length = Math.min (hour + 1, HISTORY);
+	int values[] = new int [length];
+
+	int first = hour + 1 - length;
+	for (int i = 0; i < length; i++)
+	{
+		values[i] = trends[trend][(first + i) % HISTORY];
+	}
+
+	return values;
+}
+
+/**		Returns the name of a trend.
+ *
+ * 		@param		trend		the trend (TREND_KILLS etc)
+ *
+ * 		@return		the trend's name
+ *
+ * 		@since		3.0
+ */
+
+public static String getTrendName (int trend)
+{
+	return TRENDS[trend];
+}
+
+/**		Returns the slot of a statistic's name, assigning it one if it is new.
+ * 		Slots are shared by all games, and are not saved.
+ *
+ * 		@param		name		the statistic's (or killed object type's) name
+ *
+ * 		@return		the name's slot
+ *
+ * 		@since		3.0
+ */
+
+public static int intern (String name)
+{
+	synchronized (SLOTS)
+	{
+		Integer slot = SLOTS.get (name);
+		if (slot == null)
+		{
+			slot = Integer.valueOf (NAMES.size ());
+			SLOTS.put (name, slot);
+			NAMES.add (name);
+		}
+
+		return slot.intValue ();
+	}
+}
+
+/**		Starts the next game hour, clearing the oldest hour from the trends.
+ *
+ * 		@since		3.0
+ */
+
+public void passHour ()
+{
+	hour++;
+
+	for (int i = 0; i < HOWMANY_TRENDS; i++)
+	{
+		trends[i][hour % HISTORY] = 0;
+	}
+}
+
+/**		Returns the slot of a statistic's name, without assigning one.
+ *
+ * 		@param		name		the statistic's name
+ *
+ * 		@return		the name's slot, or -1 if it has never been counted
+ *
+ * 		@since		3.0
+ */
+
+private static int find (String name)
+{
+	synchronized (SLOTS)
+	{
+		Integer slot = SLOTS.get (name);
+		return (slot == null) ? -1 : slot.intValue ();
+	}
+}
+
+/**		Grows a counter array to hold a slot, if necessary.
+ *
+ * 		@param		counts		the counter array
+ * 		@param		slot		the slot to be counted
+ *
+ * 		@return		the counter array, or a larger copy of it
+ *
+ * 		@since		3.0
+ */
+
+private static int[] fit (int counts[], int slot)
+{
+	if (slot < counts.length) return counts;
+
+	return Arrays.copyOf (counts, Math.max (slot + 1, counts.length * 2));
+}
+
+/**		Returns the names of a counter array's non-zero slots.
+ *
+ * 		@param		counts		the counter array
+ *
+ * 		@return		the names, in slot order
+ *
+ * 		@since		3.0
+ */
+
+private static String[] names (int counts[])
+{
+	ArrayList<String> list = new ArrayList<String> ();
+
+	synchronized (SLOTS)
+	{
+		for (int i = 0; i < counts.length; i++)
+		{
+			if (counts[i] != 0) list.add (NAMES.get (i));
+		}
 	}
-	
-	// entries exist for this type, so increment the number of kills
-	if (other.containsKey (object) == true)
+
+	return list.toArray (new String [list.size ()]);
+}
+
+//////////////////////////////////////////////////////////////////////////////
+//  serialization
+//////////////////////////////////////////////////////////////////////////////
+
+/**		Reads the counters by name (interning them into this run's slots) and
+ * 		the recorded hours of each trend.
+ *
+ * 		@param		in		the stream to read from
+ *
+ * 		@since		3.0
+ */
+
+private void readObject (ObjectInputStream in) throws IOException, ClassNotFoundException
+{
+	in.defaultReadObject ();
+
+	kills = readCounters (in);
+	other = readCounters (in);
+
+	trends = new int [HOWMANY_TRENDS][HISTORY];
+	int length = in.readInt ();
+	int first = hour + 1 - length;
+	for (int t = 0; t < HOWMANY_TRENDS; t++)
 	{
-		// get the count
-		int count = ((Integer) other.get (object)).intValue ();
-		
-		// increment it
-		count += 1;
-		
-		// put the count back
-		other.put (object, new Integer (count));		
+		for (int i = 0; i < length; i++)
+		{
+			trends[t][(first + i) % HISTORY] = in.readInt ();
+		}
 	}
-	// no entries for this type, so create an initial one
-	else
+}
+
+/**		Reads a counter array written by writeCounters ().
+ *
+ * 		@param		in		the stream to read from
+ *
+ * 		@return		the counters, by slot
+ *
+ * 		@since		3.0
+ */
+
+private static int[] readCounters (ObjectInputStream in) throws IOException
+{
+	int counts[] = new int [NAMES.size ()];
+
+	int howmany = in.readInt ();
+	for (int i = 0; i < howmany; i++)
+	{
+		int slot = intern (in.readUTF ());
+		counts = fit (counts, slot);
+		counts[slot] = in.readInt ();
+	}
+
+	return counts;
+}
+
+/**		Writes the non-zero counters by name, since slots differ from run to
+ * 		run, and only the hours each trend has recorded.
+ *
+ * 		@param		out		the stream to write to
+ *
+ * 		@since		3.0
+ */
+
+private void writeObject (ObjectOutputStream out) throws IOException
+{
+	out.defaultWriteObject ();
+
+	writeCounters (out, kills);
+	writeCounters (out, other);
+
+	out.writeInt (Math.min (hour + 1, HISTORY));
+	for (int t = 0; t < HOWMANY_TRENDS; t++)
+	{
+		int values[] = getTrend (t);
+		for (int i = 0; i < values.length; i++)
+		{
+			out.writeInt (values[i]);
+		}
+	}
+}
+
+/**		Writes a counter array's non-zero slots as name and count pairs.
+ *
+ * 		@param		out			the stream to write to
+ * 		@param		counts		the counters, by slot
+ *
+ * 		@since		3.0
+ */
+
+private static void writeCounters (ObjectOutputStream out, int counts[]) throws IOException
+{
+	String names[] = names (counts);
+
+	out.writeInt (names.length);
+	for (int i = 0; i < names.length; i++)
 	{
-		// add the object type to the hash table, with an initial kill tallied
-		other.put (object, new Integer (1));
+		out.writeUTF (names[i]);
+		out.writeInt (counts[intern (names[i])]);
 	}
 }
 
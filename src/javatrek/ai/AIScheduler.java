@@ -0,0 +1,256 @@
+package javatrek.ai;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javatrek.JavaTrek;
+import javatrek.Space;
+import javatrek.metrics.Counter;
+import javatrek.metrics.Histogram;
+import javatrek.metrics.Metrics;
+import javatrek.spaceobjects.Ship;
+
+/**
+ * Runs the computer-controlled ships. Each tick, the game thread takes a snapshot of space, the ships' decisions are
+ * made from it in parallel (by a pool of worker threads, with the game thread lending a hand), and the resulting
+ * commands are carried out on the game thread in order of the ships' USIs.
+ *
+ * <P>
+ * Decisions are limited to a time budget per tick, so that thousands of ships never lengthen a turn. The ships are
+ * decided in chunks; a chunk not finished within the budget is dropped, and its ships do nothing that tick. The next
+ * tick starts with the first chunk that was dropped, so every ship gets its turn. The javatrek.ai.budget system property
+ * sets the budget, in milliseconds.
+ *
+ * <P>
+ * Given the same game, and a budget the decisions fit within, the ships always act the same way: decisions depend only
+ * on the snapshot, and the commands are applied in a fixed order.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - the game lock is no longer released while the decisions are made
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class AIScheduler {
+
+	/** the system property that sets the time budget per tick, in milliseconds */
+	public static final String PROPERTY = "javatrek.ai.budget";
+
+	/** the number of ships decided together, by one thread */
+	private static final int CHUNK = 64;
+
+	/** the default time budget per tick, in milliseconds */
+	private static final int DEFAULT_BUDGET = 20;
+
+	/** counts the decisions made */
+	private static final Counter DECISIONS = Metrics.counter("ai.decisions");
+
+	/** counts the ships left without a decision because the budget ran out */
+	private static final Counter LATE = Metrics.counter("ai.late");
+
+	/** the time each tick took, from snapshot to the last command */
+	private static final Histogram TICK_NANOS = Metrics.histogram("ai.tick_nanos");
+
+	/** the time budget per tick, in nanoseconds */
+	private final long budget;
+
+	/** the worker threads (created on the first tick) */
+	private ExecutorService pool = null;
+
+	/** the chunk the next tick starts with */
+	private int rotation = 0;
+
+	/** the number of ticks run */
+	private long ticks = 0;
+
+	/** the number of worker threads */
+	private final int workers;
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @since 3.0
+	 */
+
+	public AIScheduler() {
+		budget = TimeUnit.MILLISECONDS.toNanos(Long.getLong(PROPERTY, DEFAULT_BUDGET));
+		workers = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() - 1));
+	}
+
+	/**
+	 * Starts the worker threads, if they have not been started.
+	 *
+	 * @since 3.0
+	 */
+
+	private synchronized void start() {
+		if (pool != null)
+			return;
+
+		// daemon threads, so that the workers never keep the game alive
+		AtomicInteger count = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(workers, r -> {
+			Thread t = new Thread(r, "ai-worker-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Decides and carries out the computer-controlled ships' actions for a tick (an hour of game time). This must be
+	 * called on the game thread, while holding the game lock, which is kept throughout: the worker threads read only
+	 * the snapshot, so they never need it, and the window draws from the views the game loop publishes, so it never
+	 * waits on the budget.
+	 *
+	 * @param space
+	 *            the game's space
+	 *
+	 * @since 3.0
+	 */
+
+	public void tick(Space space) {
+		long t = JavaTrek.perf.start();
+		long began = System.nanoTime();
+
+		SpaceSnapshot s = new SpaceSnapshot(space, ticks++);
+		int chunks = (s.npcs.length + CHUNK - 1) / CHUNK;
+		if (chunks == 0) {
+			JavaTrek.perf.stop("AIScheduler.tick", t);
+			JavaTrek.perf.set("ai ships late", 0);
+			return;
+		}
+
+		// the workers and this thread claim chunks until none remain or the budget runs out
+		Batch batch = new Batch(s, chunks, rotation % chunks, began + budget);
+		if (chunks > 1) {
+			start();
+			for (int w = Math.min(workers, chunks - 1); w > 0; w--)
+				pool.execute(batch);
+		}
+
+		batch.run();
+		Command results[][] = batch.await();
+
+		// carry out the commands in order of the ships' USIs, whichever thread decided them
+		int late = 0;
+		int decided = 0;
+		for (int c = 0; c < chunks; c++) {
+			Command commands[] = results[c];
+			if (commands == null) {
+				late += Math.min(CHUNK, s.npcs.length - c * CHUNK);
+				continue;
+			}
+
+			decided += commands.length;
+			for (Command command : commands) {
+				if (command != null)
+					command.apply((Ship) s.objects[command.index]);
+			}
+		}
+
+		// start the next tick with the first chunk this one dropped
+		for (int k = 0; k < chunks; k++) {
+			int c = (batch.start + k) % chunks;
+			if (results[c] == null) {
+				rotation = c;
+				break;
+			}
+		}
+
+		DECISIONS.add(decided);
+		LATE.add(late);
+		TICK_NANOS.record(System.nanoTime() - began);
+		JavaTrek.perf.stop("AIScheduler.tick", t);
+		JavaTrek.perf.set("ai ships late", late);
+	}
+
+	/**
+	 * The chunks of one tick's decisions, shared by the threads making them.
+	 */
+	private static class Batch implements Runnable {
+
+		/** the time the budget runs out (System.nanoTime ()) */
+		final long deadline;
+
+		/** each chunk's commands, once every decision in it has been made */
+		final AtomicReferenceArray<Command[]> done;
+
+		/** counts down as chunks are finished or given up */
+		final CountDownLatch finished;
+
+		/** the number of chunks claimed so far */
+		final AtomicInteger next = new AtomicInteger();
+
+		/** the snapshot the decisions are made from */
+		final SpaceSnapshot snapshot;
+
+		/** the chunk claimed first */
+		final int start;
+
+		Batch(SpaceSnapshot snapshot, int chunks, int start, long deadline) {
+			this.deadline = deadline;
+			this.done = new AtomicReferenceArray<>(chunks);
+			this.finished = new CountDownLatch(chunks);
+			this.snapshot = snapshot;
+			this.start = start;
+		}
+
+		/**
+		 * Waits for the chunks claimed by the worker threads, until the budget runs out. Chunks finished any later are
+		 * ignored.
+		 *
+		 * @return each chunk's commands, or null for the chunks not finished in time
+		 */
+		Command[][] await() {
+			try {
+				finished.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			Command results[][] = new Command[done.length()][];
+			for (int c = 0; c < results.length; c++)
+				results[c] = done.get(c);
+			return results;
+		}
+
+		@Override
+		public void run() {
+			int chunks = done.length();
+			int k;
+
+			while ((k = next.getAndIncrement()) < chunks) {
+				int c = (start + k) % chunks;
+				int from = c * CHUNK;
+				int to = Math.min(from + CHUNK, snapshot.npcs.length);
+				Command commands[] = new Command[to - from];
+
+				try {
+					// a chunk the budget runs out on is given up whole, and so are the ones after it
+					boolean complete = true;
+					for (int j = from; j < to; j++) {
+						if (System.nanoTime() > deadline) {
+							complete = false;
+							break;
+						}
+						commands[j - from] = Tactics.decide(snapshot, snapshot.npcs[j]);
+					}
+					if (complete)
+						done.set(c, commands);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+
+				finished.countDown();
+			}
+		}
+	}
+
+}
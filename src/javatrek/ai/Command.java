@@ -0,0 +1,110 @@
+package javatrek.ai;
+
+import java.awt.Point;
+
+import javatrek.spaceobjects.Ship;
+import javatrek.systems.Shields;
+
+/**
+ * What a computer-controlled ship has decided to do this tick: raise or lower its shields, and make at most one move.
+ * Commands are decided on the worker threads and carried out on the game thread, where each is checked against the
+ * game as it stands (an earlier ship may have taken the location, for instance) exactly as the player's orders are.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+final class Command {
+
+	/** the kinds of move */
+	enum Move {
+		/** stay put */
+		NONE,
+		/** move within the ship's region, using the impulse drive */
+		LOCAL,
+		/** move to another region, using the light drive */
+		LIGHT
+	}
+
+	/** the ship's index in the snapshot */
+	final int index;
+
+	/** the move */
+	final Move move;
+
+	/** the destination region (light drive moves only) */
+	final int qx, qy;
+
+	/** the destination location within the region */
+	final int rx, ry;
+
+	/** the shields' new state, or null to leave them alone */
+	final Boolean shields;
+
+	/**
+	 * Creates a command.
+	 *
+	 * @param index
+	 *            the ship's index in the snapshot
+	 * @param shields
+	 *            the shields' new state, or null to leave them alone
+	 * @param move
+	 *            the move
+	 * @param qx
+	 *            the destination region's x-co-ordinate
+	 * @param qy
+	 *            the destination region's y-co-ordinate
+	 * @param rx
+	 *            the destination's x-co-ordinate within the region
+	 * @param ry
+	 *            the destination's y-co-ordinate within the region
+	 *
+	 * @since 3.0
+	 */
+
+	Command(int index, Boolean shields, Move move, int qx, int qy, int rx, int ry) {
+		this.index = index;
+		this.move = move;
+		this.qx = qx;
+		this.qy = qy;
+		this.rx = rx;
+		this.ry = ry;
+		this.shields = shields;
+	}
+
+	/**
+	 * Carries out the command. This must be called on the game thread, while holding the game lock.
+	 *
+	 * @param ship
+	 *            the ship the command was decided for
+	 *
+	 * @since 3.0
+	 */
+
+	void apply(Ship ship) {
+		if (ship.getHP() <= 0)
+			return;
+
+		if (shields != null) {
+			Shields sh = (Shields) ship.getSystem(Shields.class.getName());
+			if (sh != null)
+				sh.setShieldsOn(shields);
+		}
+
+		switch (move) {
+		case LOCAL:
+			ship.localMove(rx, ry);
+			break;
+		case LIGHT:
+			ship.lightDriveMove(new Point(qx, qy), new Point(rx, ry));
+			break;
+		default:
+			break;
+		}
+	}
+
+}
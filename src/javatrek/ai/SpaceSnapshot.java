@@ -0,0 +1,255 @@
+package javatrek.ai;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+import javatrek.SensorCoverage;
+import javatrek.Space;
+import javatrek.spaceobjects.Machine;
+import javatrek.spaceobjects.Ship;
+import javatrek.spaceobjects.SpaceObject;
+import javatrek.systems.ImpulseDrive;
+import javatrek.systems.LightDrive;
+import javatrek.systems.Shields;
+
+/**
+ * A copy of everything the computer-controlled ships decide from, taken on the game thread at the start of a tick.
+ * Once taken, a snapshot is never changed, so any number of worker threads may read it while the game thread carries
+ * on; none of them touch the game's live objects.
+ *
+ * <P>
+ * The objects are kept in parallel arrays, by their index in space, and are also listed by region so that a region's
+ * contents can be read without a search.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+final class SpaceSnapshot {
+
+	/** the number of regions in a quadrant */
+	static final int REGIONS = Space.QUADRANT_WIDTH * Space.QUADRANT_HEIGHT;
+
+	/** the number of locations in a region */
+	static final int LOCATIONS = Space.REGION_WIDTH * Space.REGION_HEIGHT;
+
+	/** the number of teams (their ids run from FEDERATION to RAIDERS) */
+	static final int TEAMS = SpaceObject.RAIDERS - SpaceObject.FEDERATION + 1;
+
+	/** true for each team whose scanners can see the player's region */
+	final boolean aware[] = new boolean[TEAMS];
+
+	/** the objects' indices, grouped by region (see first) */
+	final int by_region[];
+
+	/** each object's energy (ships only) */
+	final int energy[];
+
+	/** each object's energy capacity (ships only) */
+	final int energy_max[];
+
+	/** the index in by_region of each region's first object; a region's objects end where the next region's begin */
+	final int first[];
+
+	/** true for each object whose impulse drive is working well enough to move (ships only) */
+	final boolean impulse[];
+
+	/** each object's light drive setting, or 0 if it has none (ships only) */
+	final float light[];
+
+	/** true for each object that is a machine (a ship or a base) */
+	final boolean machine[];
+
+	/** the indices of the computer-controlled ships, in order of their USIs */
+	final int npcs[];
+
+	/**
+	 * the objects themselves, for applying commands on the game thread; decisions must use the copied values instead
+	 */
+	final SpaceObject objects[];
+
+	/** the index of the player's ship */
+	final int player;
+
+	/** each object's region (quadrant * REGIONS + y * QUADRANT_WIDTH + x) */
+	final int region[];
+
+	/** each object's location within its region */
+	final int rx[], ry[];
+
+	/** true for each object with shields (ships only) */
+	final boolean shields[];
+
+	/** true for each object whose shields are raised (ships only) */
+	final boolean shields_on[];
+
+	/** each object's shield energy (ships only) */
+	final int shields_remaining[];
+
+	/** each object's team */
+	final int team[];
+
+	/** the tick the snapshot was taken for, which seeds the ships' random choices */
+	final long tick;
+
+	/** each object's USI */
+	final long usi[];
+
+	/**
+	 * Takes a snapshot of space. This must be called on the game thread, while holding the game lock.
+	 *
+	 * @param space
+	 *            the game's space
+	 * @param tick
+	 *            the tick the snapshot is for
+	 *
+	 * @since 3.0
+	 */
+
+	SpaceSnapshot(Space space, long tick) {
+		this.tick = tick;
+
+		objects = space.getSpaceObjects();
+		int n = objects.length;
+
+		by_region = new int[n];
+		energy = new int[n];
+		energy_max = new int[n];
+		first = new int[Space.QUADRANTS * REGIONS + 1];
+		impulse = new boolean[n];
+		light = new float[n];
+		machine = new boolean[n];
+		region = new int[n];
+		rx = new int[n];
+		ry = new int[n];
+		shields = new boolean[n];
+		shields_on = new boolean[n];
+		shields_remaining = new int[n];
+		team = new int[n];
+		usi = new long[n];
+
+		// the player's ship is always first in space
+		player = 0;
+
+		// each computer-controlled ship's USI, with its index in the low 24 bits
+		long keys[] = new long[n];
+		int count = 0;
+
+		for (int i = 0; i < n; i++) {
+			SpaceObject obj = objects[i];
+			Point q = obj.getQuadrantLocation();
+			Point r = obj.getRegionLocation();
+
+			region[i] = regionIndex(obj.getQuadrant(), q.x, q.y);
+			rx[i] = r.x;
+			ry[i] = r.y;
+			team[i] = obj.getTeam();
+			usi[i] = obj.getUSI();
+			machine[i] = obj instanceof Machine;
+			first[region[i] + 1]++;
+
+			if ((obj instanceof Ship) && ((Ship) obj).getAI()) {
+				copyShip(i, (Ship) obj);
+				keys[count++] = (usi[i] << 24) | i;
+			}
+		}
+
+		// list the objects by region (a counting sort)
+		for (int i = 1; i < first.length; i++)
+			first[i] += first[i - 1];
+		int fill[] = first.clone();
+		for (int i = 0; i < n; i++)
+			by_region[fill[region[i]]++] = i;
+
+		// the ships act in order of their USIs, whatever order space holds them in
+		Arrays.sort(keys, 0, count);
+		npcs = new int[count];
+		for (int k = 0; k < count; k++)
+			npcs[k] = (int) (keys[k] & 0xFFFFFF);
+
+		SensorCoverage coverage = space.getCoverage();
+		Point p = objects[player].getQuadrantLocation();
+		for (int t = 0; t < TEAMS; t++)
+			aware[t] = coverage.isCovered(t + SpaceObject.FEDERATION, objects[player].getQuadrant(), p.x, p.y);
+	}
+
+	/**
+	 * Copies the state a computer-controlled ship decides from.
+	 *
+	 * @param i
+	 *            the ship's index
+	 * @param ship
+	 *            the ship
+	 *
+	 * @since 3.0
+	 */
+
+	private void copyShip(int i, Ship ship) {
+		energy[i] = ship.getEnergyRemaining();
+		energy_max[i] = ship.getEnergyMax();
+
+		ImpulseDrive id = (ImpulseDrive) ship.getSystem(ImpulseDrive.class.getName());
+		impulse[i] = (id != null) && (id.getRepair() >= 0.7);
+
+		LightDrive ld = (LightDrive) ship.getSystem(LightDrive.class.getName());
+		light[i] = (ld != null) ? ld.getSetting() : 0.0f;
+
+		Shields sh = (Shields) ship.getSystem(Shields.class.getName());
+		if (sh != null) {
+			shields[i] = true;
+			shields_on[i] = sh.getShieldsOn();
+			shields_remaining[i] = sh.getRemaining();
+		}
+	}
+
+	/**
+	 * Marks the occupied locations of a region.
+	 *
+	 * @param reg
+	 *            the region's index
+	 *
+	 * @return one bit per location (bit y * REGION_WIDTH + x)
+	 *
+	 * @since 3.0
+	 */
+
+	long[] getOccupied(int reg) {
+		long bits[] = new long[(LOCATIONS + 63) >>> 6];
+		for (int k = first[reg]; k < first[reg + 1]; k++) {
+			int i = by_region[k];
+			int loc = ry[i] * Space.REGION_WIDTH + rx[i];
+			bits[loc >>> 6] |= 1L << loc;
+		}
+		return bits;
+	}
+
+	/**
+	 * Returns a region's index.
+	 *
+	 * @param quad
+	 *            the quadrant
+	 * @param x
+	 *            the region's x-co-ordinate
+	 * @param y
+	 *            the region's y-co-ordinate
+	 *
+	 * @return the region's index
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the region is not in space
+	 *
+	 * @since 3.0
+	 */
+
+	static int regionIndex(int quad, int x, int y) {
+		if ((quad < 0) || (quad >= Space.QUADRANTS) || (x < 0) || (x >= Space.QUADRANT_WIDTH) || (y < 0)
+				|| (y >= Space.QUADRANT_HEIGHT))
+			throw new IllegalArgumentException(String.format("No region (%d, %d) in quadrant %d", x, y, quad));
+		return quad * REGIONS + y * Space.QUADRANT_WIDTH + x;
+	}
+
+}
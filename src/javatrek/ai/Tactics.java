@@ -0,0 +1,209 @@
+package javatrek.ai;
+
+import java.util.Random;
+
+import javatrek.Space;
+import javatrek.spaceobjects.SpaceObject;
+
+/**
+ * Decides what a computer-controlled ship does in a tick, from a snapshot alone. A ship with a hostile machine in its
+ * region raises its shields and closes on the nearest one (the same target Machine.findClosestTarget () picks, less
+ * the stars and asteroids); a ship with nothing to fight lowers its shields, and, if its team's scanners can see the
+ * player's region and the player is hostile and within reach, heads one region towards the player.
+ *
+ * <P>
+ * Decisions read nothing but the snapshot and keep no state, so they are safe to make on any thread, and the same
+ * snapshot always gives the same decisions.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+final class Tactics {
+
+	/** the energy an impulse move costs (doubled with the shields raised; see Ship.localMove ()) */
+	private static final int IMPULSE_COST = 50;
+
+	/** the farthest, in regions, a ship will travel to reach the player */
+	private static final int PURSUIT_RANGE = 3;
+
+	/** the share of its energy a ship keeps in reserve rather than spend on the light drive */
+	private static final float RESERVE = 0.5f;
+
+	private Tactics() {
+	}
+
+	/**
+	 * Decides what a ship does this tick.
+	 *
+	 * @param s
+	 *            the snapshot
+	 * @param i
+	 *            the ship's index in the snapshot
+	 *
+	 * @return the ship's command, or null if it does nothing
+	 *
+	 * @since 3.0
+	 */
+
+	static Command decide(SpaceSnapshot s, int i) {
+		int target = findClosestTarget(s, i);
+
+		// shields are raised for a fight and lowered afterwards, as they double the cost of moving
+		Boolean shields = null;
+		boolean raised = s.shields_on[i];
+		if ((target >= 0) && s.shields[i] && (raised == false) && (s.shields_remaining[i] > 0))
+			shields = raised = true;
+		else if ((target < 0) && raised)
+			shields = raised = false;
+
+		if (target >= 0)
+			return approach(s, i, target, shields, raised);
+
+		Command pursuit = pursue(s, i, shields);
+		if (pursuit != null)
+			return pursuit;
+
+		return (shields != null) ? new Command(i, shields, Command.Move.NONE, 0, 0, 0, 0) : null;
+	}
+
+	/**
+	 * Moves a ship one location closer to its target, if it is not already beside it.
+	 *
+	 * @return the command
+	 *
+	 * @since 3.0
+	 */
+
+	private static Command approach(SpaceSnapshot s, int i, int target, Boolean shields, boolean raised) {
+		int dx = Integer.signum(s.rx[target] - s.rx[i]);
+		int dy = Integer.signum(s.ry[target] - s.ry[i]);
+		boolean beside = (Math.abs(s.rx[target] - s.rx[i]) <= 1) && (Math.abs(s.ry[target] - s.ry[i]) <= 1);
+
+		int cost = raised ? IMPULSE_COST << 1 : IMPULSE_COST;
+		if (beside || (s.impulse[i] == false) || (s.energy[i] < cost))
+			return (shields != null) ? new Command(i, shields, Command.Move.NONE, 0, 0, 0, 0) : null;
+
+		// straight at the target, or else along whichever axis is clear
+		long occupied[] = s.getOccupied(s.region[i]);
+		int steps[][] = { { dx, dy }, { dx, 0 }, { 0, dy } };
+		for (int step[] : steps) {
+			int x = s.rx[i] + step[0];
+			int y = s.ry[i] + step[1];
+			if (((step[0] != 0) || (step[1] != 0)) && (isOccupied(occupied, x, y) == false))
+				return new Command(i, shields, Command.Move.LOCAL, 0, 0, x, y);
+		}
+
+		return (shields != null) ? new Command(i, shields, Command.Move.NONE, 0, 0, 0, 0) : null;
+	}
+
+	/**
+	 * Finds the closest hostile machine in a ship's region. Ties go to the lower USI, so the choice never depends on
+	 * the order space holds its objects in.
+	 *
+	 * @return the target's index, or -1 if there is none
+	 *
+	 * @since 3.0
+	 */
+
+	private static int findClosestTarget(SpaceSnapshot s, int i) {
+		int reg = s.region[i];
+		int best = -1;
+		int best_distance = Integer.MAX_VALUE;
+
+		for (int k = s.first[reg]; k < s.first[reg + 1]; k++) {
+			int j = s.by_region[k];
+			if ((s.machine[j] == false) || (isHostile(s.team[i], s.team[j]) == false))
+				continue;
+
+			int ddx = s.rx[j] - s.rx[i];
+			int ddy = s.ry[j] - s.ry[i];
+			int d = ddx * ddx + ddy * ddy;
+			if ((d < best_distance) || ((d == best_distance) && (s.usi[j] < s.usi[best]))) {
+				best = j;
+				best_distance = d;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Determines if one team is hostile to another. The neutral team is hostile to no one, and no one to it.
+	 *
+	 * @return true if the teams are hostile
+	 *
+	 * @since 3.0
+	 */
+
+	private static boolean isHostile(int team, int other) {
+		return (team != other) && (team != SpaceObject.NEUTRAL) && (other != SpaceObject.NEUTRAL);
+	}
+
+	/**
+	 * Determines if a location is marked in a region's occupied locations; locations outside the region count as
+	 * occupied.
+	 *
+	 * @since 3.0
+	 */
+
+	private static boolean isOccupied(long occupied[], int x, int y) {
+		if ((x < 0) || (x >= Space.REGION_WIDTH) || (y < 0) || (y >= Space.REGION_HEIGHT))
+			return true;
+
+		int loc = y * Space.REGION_WIDTH + x;
+		return (occupied[loc >>> 6] & (1L << loc)) != 0;
+	}
+
+	/**
+	 * Moves a ship one region towards the player, if its team can see the player's region, the player is hostile and
+	 * within reach, and the ship can spare the energy.
+	 *
+	 * @return the command, or null if the ship does not give chase
+	 *
+	 * @since 3.0
+	 */
+
+	private static Command pursue(SpaceSnapshot s, int i, Boolean shields) {
+		int p = s.player;
+		if ((isHostile(s.team[i], s.team[p]) == false) || (s.aware[s.team[i] - SpaceObject.FEDERATION] == false))
+			return null;
+		if ((s.light[i] <= 0.0f) || (s.energy[i] < s.energy_max[i] * RESERVE))
+			return null;
+
+		// the player's region, and the ship's, within the same quadrant
+		int quad = s.region[i] / SpaceSnapshot.REGIONS;
+		if (s.region[p] / SpaceSnapshot.REGIONS != quad)
+			return null;
+		int px = (s.region[p] % SpaceSnapshot.REGIONS) % Space.QUADRANT_WIDTH;
+		int py = (s.region[p] % SpaceSnapshot.REGIONS) / Space.QUADRANT_WIDTH;
+		int x = (s.region[i] % SpaceSnapshot.REGIONS) % Space.QUADRANT_WIDTH;
+		int y = (s.region[i] % SpaceSnapshot.REGIONS) / Space.QUADRANT_WIDTH;
+
+		int distance = Math.max(Math.abs(px - x), Math.abs(py - y));
+		if ((distance == 0) || (distance > PURSUIT_RANGE))
+			return null;
+
+		// any free location in the next region, chosen afresh by each ship each tick
+		int qx = x + Integer.signum(px - x);
+		int qy = y + Integer.signum(py - y);
+		long occupied[] = s.getOccupied(SpaceSnapshot.regionIndex(quad, qx, qy));
+		int locations = SpaceSnapshot.LOCATIONS;
+		int start = new Random(s.usi[i] * 31 + s.tick).nextInt(locations);
+
+		for (int k = 0; k < locations; k++) {
+			int loc = (start + k) % locations;
+			int rx = loc % Space.REGION_WIDTH;
+			int ry = loc / Space.REGION_WIDTH;
+			if (isOccupied(occupied, rx, ry) == false)
+				return new Command(i, shields, Command.Move.LIGHT, qx, qy, rx, ry);
+		}
+
+		return null;
+	}
+
+}
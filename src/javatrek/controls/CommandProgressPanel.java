@@ -0,0 +1,127 @@
+package javatrek.controls;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+
+import javatrek.GameLoop;
+import javatrek.JavaTrek;
+
+/**
+ * <P>
+ * Shows the progress of the game loop's long commands (rests and light-drive travel), and lets the player cancel a
+ * rest. The panel keeps its size while idle, so that the maps are not resized each time a command starts or ends.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class CommandProgressPanel extends JPanel implements ActionListener, GameLoop.ProgressListener {
+
+	private static final long serialVersionUID = 1L;
+
+	/** cancels the running command */
+	private JButton b_cancel;
+
+	/** displays the running command's name */
+	private JLabel l_name;
+
+	/** displays the running command's progress */
+	private JProgressBar pb_progress;
+
+	/**
+	 * Creates the panel and registers it with the game loop.
+	 *
+	 * @since 3.0
+	 */
+
+	public CommandProgressPanel() {
+		super(new BorderLayout(4, 0));
+		setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+
+		l_name = new JLabel(" ");
+		l_name.setPreferredSize(new Dimension(160, l_name.getPreferredSize().height));
+		add(l_name, BorderLayout.WEST);
+
+		pb_progress = new JProgressBar();
+		pb_progress.setStringPainted(true);
+		pb_progress.setString("");
+		add(pb_progress, BorderLayout.CENTER);
+
+		b_cancel = new JButton("Cancel");
+		b_cancel.setToolTipText("stops resting at the end of the current hour");
+		b_cancel.setEnabled(false);
+		b_cancel.addActionListener(this);
+		add(b_cancel, BorderLayout.EAST);
+
+		JavaTrek.loop.setProgressListener(this);
+	}
+
+	/**
+	 * Handles the cancel button.
+	 *
+	 * @param e
+	 *            the incoming action event
+	 *
+	 * @since 3.0
+	 */
+
+	public void actionPerformed(ActionEvent e) {
+		JavaTrek.loop.cancel();
+		b_cancel.setEnabled(false);
+	}
+
+	/**
+	 * Returns the panel to its idle state.
+	 *
+	 * @param name
+	 *            the finished command's name
+	 *
+	 * @since 3.0
+	 */
+
+	public void finished(String name) {
+		l_name.setText(" ");
+		pb_progress.setValue(0);
+		pb_progress.setString("");
+		b_cancel.setEnabled(false);
+	}
+
+	/**
+	 * Displays the running command's progress.
+	 *
+	 * @param name
+	 *            the command's name
+	 * @param done
+	 *            the number of hours passed
+	 * @param total
+	 *            the number of hours the command will take
+	 * @param cancellable
+	 *            true if the command can be cancelled
+	 *
+	 * @since 3.0
+	 */
+
+	public void progress(String name, int done, int total, boolean cancellable) {
+		l_name.setText(name);
+		pb_progress.setMaximum(total);
+		pb_progress.setValue(done);
+		pb_progress.setString(done + " of " + total + " hours");
+
+		// once pressed, the button stays disabled until the command ends
+		if (done == 0)
+			b_cancel.setEnabled(cancellable);
+	}
+
+}
@@ -2,13 +2,13 @@ package javatrek.controls;
 
 import java.awt.GridLayout;
 
+import javatrek.ChangeBus.Change;
 import javatrek.ImageManager.ImagesEnum;
 import javatrek.JavaTrek;
+import javatrek.PlayerView;
 import javatrek.handlers.MaxEnergy;
 import javatrek.handlers.MaxShields;
 import javatrek.panels.JavaTrekPanel;
-import javatrek.spaceobjects.Ship;
-import javatrek.systems.Shields;
 
 import javax.swing.JButton;
 import javax.swing.JPanel;
@@ -20,10 +20,11 @@ import ca.thekillams.widgets.panels.panel_dial;
  * 
  * <UL>
  * <LI>Version 2.0 - 10/31/2004 - the original class
+ * <LI>Version 2.1 - 10/19/2026 - displays the PlayerView the game loop publishes, rather than reading the player's ship
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 10/31/2004
+ * @version	2.1 - 10/19/2026
  */
 
 public class EnergyTransferButton extends JPanel implements JavaTrekPanel
@@ -102,6 +103,9 @@ public EnergyTransferButton (int t)
 	{
 		b_work.addActionListener (new MaxShields ());
 	}
+	
+	// the dial shows either main or shield energy
+	JavaTrek.changes.subscribe (this, (energy_type == MAIN_ENERGY) ? Change.ENERGY_CHANGED : Change.SHIELDS_CHANGED);
 }
 
 //////////////////////////////////////////////////////////////////////////////
@@ -115,14 +119,15 @@ public EnergyTransferButton (int t)
 
 public void refresh ()
 {
-	// retrieve the player's ship
-	Ship ship = JavaTrek.game.gamedata.space.getPlayersShip ();
+	// retrieve the latest view of the player's ship
+	PlayerView ship = PlayerView.getCurrent ();
+	if (ship == null) return;
 	
 	if (energy_type == MAIN_ENERGY)
 	{
 		// display the amount of energy remaining
-		int remaining = ship.getEnergyRemaining ();
-		int max = ship.getEnergyMax ();
+		int remaining = ship.energy;
+		int max = ship.energy_max;
 		pd_energy.setPercentage ((float) remaining / (float) max);
 
 		// set the button's tool tip text
@@ -136,15 +141,14 @@ public void refresh ()
 	}
 	else
 	{
-		Shields shields = (Shields) ship.getSystem (Shields.class.getName ());
-		if (shields != null)
+		if (ship.shields == true)
 		{
 			// check that the button is enabled
 			b_work.setEnabled (true);
 			
 			// display the amount of energy remaining
-			int remaining = shields.getRemaining ();
-			int max = shields.getCapacity ();
+			int remaining = ship.shield_energy;
+			int max = ship.shield_capacity;
 			pd_energy.setPercentage ((float) remaining / (float) max);
 			
 			// set the button's tool tip text
@@ -4,8 +4,10 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javatrek.ChangeBus.Change;
 import javatrek.GameData;
 import javatrek.JavaTrek;
+import javatrek.PlayerView;
 import javatrek.panels.JavaTrekPanel;
 import javatrek.spaceobjects.Ship;
 import javatrek.systems.LightDrive;
@@ -18,10 +20,12 @@ import javax.swing.JPanel;
  * 
  * <UL>
  * <LI>Version 2.0 - 11/03/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - the panel follows the drive's setting as the drive is damaged and repaired, and once a new setting has been applied
+ * <LI>Version 2.2 - 10/19/2026 - displays the PlayerView the game loop publishes, rather than reading the drive
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/03/2004
+ * @version	2.2 - 10/19/2026
  */
 
 public class LightDriveSpeedPanel extends JPanel implements ActionListener, JavaTrekPanel
@@ -59,6 +63,9 @@ public LightDriveSpeedPanel ()
 	cb_setting.setToolTipText ("Select a hyperdrive setting from the pull-down menu.");
 	cb_setting.addActionListener (this);
 	add (cb_setting);
+	
+	// damage and repairs change the fastest setting the drive can manage
+	JavaTrek.changes.subscribe (this, Change.SETTINGS_CHANGED, Change.SYSTEMS_DAMAGED);
 }
 
 //////////////////////////////////////////////////////////////////////////////
@@ -72,18 +79,20 @@ public LightDriveSpeedPanel ()
 
 public void refresh ()
 {
-	// handle to gamedata object
-	GameData gamedata = JavaTrek.game.gamedata;	
-	if (gamedata == null) return;
-	
-	// handle to the player's ship
-	Ship ship = gamedata.space.getPlayersShip ();
-	
-	// handle to the player's ship's light drive
-	LightDrive ld = (LightDrive) ship.getSystem (LightDrive.class.getName ());
+	// the latest view of the player's ship, and its light drive
+	PlayerView ld = PlayerView.getCurrent ();
+	if (ld == null) return;
 	
-	if (ld != null)
+	if (ld.drive == true)
 	{
+		// nothing to do if the list and the selection already match the drive
+		// (rebuilding the list would close it while the player is choosing)
+		String current = ID + Float.toString (ld.drive_setting);
+		if ((cb_setting.isEnabled () == true) && (cb_setting.getItemCount () == (int) ld.drive_max) && (current.equals (cb_setting.getSelectedItem ()) == true))
+		{
+			return;
+		}
+
 		// remove the action listener
 		cb_setting.removeActionListener (this);
 		
@@ -91,7 +100,7 @@ public void refresh ()
 				
 		cb_setting.removeAllItems ();
 		
-		while (f <= ld.getMax ())
+		while (f <= ld.drive_max)
 		{
 			cb_setting.addItem (ID + Float.toString (f));	
 			f++;
@@ -100,7 +109,7 @@ public void refresh ()
 		// select current setting
 		// (the temporary editable status is to allow non-list-items to be added for odd settings, e.g. 3.75)
 		cb_setting.setEditable (true);
-		cb_setting.setSelectedItem (ID + Float.toString (ld.getSetting ()));
+		cb_setting.setSelectedItem (current);
 		cb_setting.setEditable (false);
 		
 		// reinstate the listener
@@ -141,21 +150,23 @@ public void actionPerformed (ActionEvent e)
 	// convert the value to a float value
 	float f = Float.valueOf (selected).floatValue ();
 	
-	// handle to gamedata object
-	GameData gamedata = JavaTrek.game.gamedata;	
-	if (gamedata == null) return;
-	
-	// handle to the player's ship
-	Ship ship = gamedata.space.getPlayersShip ();
-	
-	// handle to the player's ship's light drive
-	LightDrive ld = (LightDrive) ship.getSystem (LightDrive.class.getName ());
+	// the setting is changed by the game loop
+	JavaTrek.loop.submit ("Light Drive Setting", () ->
+	{
+		// handle to gamedata object
+		GameData gamedata = JavaTrek.game.gamedata;	
+		if (gamedata == null) return;
 		
-	// set the ship's new hyperdrive setting
-	if (ld != null) ld.setSetting (f);
+		// handle to the player's ship
+		Ship ship = gamedata.space.getPlayersShip ();
 		
-	// refresh the display
-	JavaTrek.game.refresh ();
+		// handle to the player's ship's light drive
+		LightDrive ld = (LightDrive) ship.getSystem (LightDrive.class.getName ());
+			
+		// set the ship's new hyperdrive setting (which may be lowered to what the drive can manage)
+		if (ld != null) ld.setSetting (f);
+		JavaTrek.changes.post (Change.SETTINGS_CHANGED);
+	});
 }
 
 }
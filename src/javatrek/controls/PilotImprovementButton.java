@@ -3,8 +3,10 @@ package javatrek.controls;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.ImageManager.ImagesEnum;
+import javatrek.PlayerView;
 import javatrek.panels.AssignPilotPointsPanel;
 import javatrek.panels.JavaTrekPanel;
 
@@ -16,10 +18,11 @@ import javax.swing.JButton;
  * 
  * <UL>
  * <LI>Version 2.0 - 11/26/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - enabled from the PlayerView the game loop publishes
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 11/26/2004
+ * @version 2.1 - 10/19/2026
  */
 
 public class PilotImprovementButton extends JButton implements ActionListener, JavaTrekPanel {
@@ -38,6 +41,9 @@ public class PilotImprovementButton extends JButton implements ActionListener, J
 		addActionListener(this);
 
 		setToolTipText("opens the pilot improvement panel");
+
+		// the button is enabled by unassigned pilot points
+		JavaTrek.changes.subscribe(this, Change.PILOT_CHANGED);
 	}
 
 	/**
@@ -60,7 +66,8 @@ public class PilotImprovementButton extends JButton implements ActionListener, J
 	 */
 
 	public void refresh() {
-		if (JavaTrek.game.gamedata.player.getUnassigend() > 0) {
+		PlayerView view = PlayerView.getCurrent();
+		if ((view != null) && (view.unassigned > 0)) {
 			setEnabled(true);
 		} else {
 			setEnabled(false);
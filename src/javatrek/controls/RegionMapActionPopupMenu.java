@@ -4,6 +4,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import javatrek.JavaTrek;
+import javatrek.PlayerView;
 import javatrek.spaceobjects.Ship;
 import javatrek.spaceobjects.SpaceObject;
 import javatrek.systems.ShortRangeScanner;
@@ -18,10 +19,11 @@ import javax.swing.JPopupMenu;
  * 
  * <UL>
  * <LI>Version 2.0 - 11/29/2004 - the original class
+ * <LI>Version 2.1 - 10/19/2026 - the scan option follows the PlayerView; the scan command finds the player's ship itself
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/29/2004
+ * @version	2.1 - 10/19/2026
  */
 
 public class RegionMapActionPopupMenu extends JPopupMenu implements ActionListener
@@ -34,9 +36,6 @@ public class RegionMapActionPopupMenu extends JPopupMenu implements ActionListen
 /** scans the space object */
 private JMenuItem mi_scan;
 
-/** a handle to the player's ship */
-private Ship ship;
-
 /** the object that was clicked on */
 private SpaceObject object;
 	
@@ -60,9 +59,6 @@ public RegionMapActionPopupMenu (JComponent comp, int x, int y, SpaceObject obj)
 	// store the passed-in space object
 	object = obj;
 	
-	// get a handle to the player's ship
-	ship = JavaTrek.game.gamedata.space.getPlayersShip ();
-
 	// create the menu's components
 	createComponents ();
 
@@ -84,7 +80,8 @@ private void createComponents ()
 	// scanner menu item
 	mi_scan = new JMenuItem ("Scan");
 	mi_scan.addActionListener (this);
-	if (ship.getSystem (ShortRangeScanner.class.getName ()) == null) mi_scan.setEnabled (false);
+	PlayerView view = PlayerView.getCurrent ();
+	if ((view == null) || (view.scanner == false)) mi_scan.setEnabled (false);
 	add (mi_scan);
 }
 
@@ -103,12 +100,17 @@ public void actionPerformed (ActionEvent e)
 {
 	if (e.getSource () == mi_scan)
 	{
-		ShortRangeScanner sr = (ShortRangeScanner) ship.getSystem (ShortRangeScanner.class.getName ());
-		if (sr != null)
+		// the scan reads the game's data, so it is run by the game loop
+		JavaTrek.loop.submit ("Scan", () ->
 		{
-			String data = sr.scan (object);
-			JavaTrek.game.console.addMessage ("GreenLeft", data);
-		}
+			Ship ship = JavaTrek.game.gamedata.space.getPlayersShip ();
+			ShortRangeScanner sr = (ShortRangeScanner) ship.getSystem (ShortRangeScanner.class.getName ());
+			if (sr != null)
+			{
+				String data = sr.scan (object);
+				JavaTrek.game.console.addMessage ("GreenLeft", data);
+			}
+		});
 	}
 }
 
@@ -1,7 +1,9 @@
 package javatrek.controls;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.ImageManager.ImagesEnum;
+import javatrek.PlayerView;
 import javatrek.panels.JavaTrekPanel;
 import javatrek.systems.Shields;
 
@@ -14,10 +16,12 @@ import javax.swing.event.ChangeListener;
  * 
  * <UL>
  * <LI>Version 2.0 - 10/30/2004 - the original class
+ * <LI>Version 2.1 - 10/19/2026 - follows the PlayerView the game loop publishes; the shields are looked up by the
+ * toggle command itself
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/30/2004
+ * @version 2.1 - 10/19/2026
  */
 
 public class ShieldsToggleButton extends JToggleButton implements ChangeListener, JavaTrekPanel {
@@ -38,6 +42,9 @@ public class ShieldsToggleButton extends JToggleButton implements ChangeListener
 		setBorder(null);
 
 		addChangeListener(this);
+
+		// keep the button in step with the shields
+		JavaTrek.changes.subscribe(this, Change.SHIELDS_CHANGED);
 	}
 
 	/**
@@ -47,11 +54,14 @@ public class ShieldsToggleButton extends JToggleButton implements ChangeListener
 	 */
 
 	public void refresh() {
-		Shields s = (Shields) JavaTrek.game.gamedata.space.getPlayersShip().getSystem(Shields.class.getName());
-		if (s != null) {
+		PlayerView view = PlayerView.getCurrent();
+		if (view == null)
+			return;
+
+		if (view.shields == true) {
 			setEnabled(true);
 
-			if (s.getShieldsOn() == true) {
+			if (view.shields_on == true) {
 				setSelected(true);
 			} else {
 				setSelected(false);
@@ -72,14 +82,22 @@ public class ShieldsToggleButton extends JToggleButton implements ChangeListener
 
 	public void stateChanged(ChangeEvent e) {
 		// if the ship does not have a shield system, this action does matter
-		Shields shields = (Shields) JavaTrek.game.gamedata.space.getPlayersShip().getSystem(Shields.class.getName());
-		if (shields != null) {
-			// toggle the shields
-			shields.setShieldsOn(isSelected());
-
-			// update the display
-			JavaTrek.game.refresh();
-		}
+		PlayerView view = PlayerView.getCurrent();
+
+		// change events also fire for rollovers, which change nothing
+		if ((view == null) || (view.shields == false) || (view.shields_on == isSelected()))
+			return;
+
+		// toggle the shields on the game loop (checking again, as an earlier command may have changed them)
+		boolean on = isSelected();
+		JavaTrek.loop.submit("Shields", () -> {
+			Shields shields = (Shields) JavaTrek.game.gamedata.space.getPlayersShip()
+					.getSystem(Shields.class.getName());
+			if ((shields != null) && (shields.getShieldsOn() != on)) {
+				shields.setShieldsOn(on);
+				JavaTrek.changes.post(Change.SHIELDS_CHANGED);
+			}
+		});
 	}
 
 }
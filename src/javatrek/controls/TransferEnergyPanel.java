@@ -11,6 +11,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 
+import javatrek.ChangeBus.Change;
 import javatrek.ImageManager.ImagesEnum;
 import javatrek.JavaTrek;
 import javatrek.panels.JavaTrekPanel;
@@ -27,11 +28,11 @@ import javatrek.systems.Shields;
  * control panels
  * <LI>Version 2.0 - 10/31/2004 - renamed to TransferEnergyPanel, enlarged the icons, reduced the buttons' sizes and
  * cleaned up the code ever so slightly
+ * <LI>Version 2.1 - 10/19/2026 - transfers are made by the game loop
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/31/2004 - renamed to TransferEnergyPanel, enlarged the icons, reduced the buttons' sizes and
- *          cleaned up the code ever so slightly
+ * @version 2.1 - 10/19/2026
  */
 
 public class TransferEnergyPanel extends JPanel implements ActionListener, JavaTrekPanel {
@@ -97,9 +98,6 @@ public class TransferEnergyPanel extends JPanel implements ActionListener, JavaT
 	 */
 
 	public void actionPerformed(ActionEvent e) {
-		// retrieve the player's ship
-		Ship ship = JavaTrek.game.gamedata.space.getPlayersShip();
-
 		// get the number entered in the text field
 		int amount = 0;
 		try {
@@ -117,8 +115,29 @@ public class TransferEnergyPanel extends JPanel implements ActionListener, JavaT
 		// clear the text field
 		tf_energy.setText("");
 
+		// the transfer itself is made by the game loop
+		Object source = e.getSource();
+		int requested = amount;
+		JavaTrek.loop.submit("Transfer Energy", () -> transfer(source, requested));
+	}
+
+	/**
+	 * Transfers energy between the main supply and the shields; run by the game loop.
+	 * 
+	 * @param source
+	 *            the button pressed
+	 * @param amount
+	 *            the amount of energy to transfer
+	 * 
+	 * @since 2.1
+	 */
+
+	private void transfer(Object source, int amount) {
+		// retrieve the player's ship
+		Ship ship = JavaTrek.game.gamedata.space.getPlayersShip();
+
 		// transfer energy to the main supply
-		if (e.getSource() == b_main) {
+		if (source == b_main) {
 			// is the amount available?
 			Shields shields = (Shields) ship.getSystem(Shields.class.getName());
 			if (shields.removeEnergy(amount) == true) {
@@ -139,7 +158,7 @@ public class TransferEnergyPanel extends JPanel implements ActionListener, JavaT
 		}
 
 		// transfer energy to shields
-		else if (e.getSource() == b_shields) {
+		else if (source == b_shields) {
 			Shields shields = (Shields) ship.getSystem(Shields.class.getName());
 			if (shields == null)
 				return;
@@ -160,8 +179,8 @@ public class TransferEnergyPanel extends JPanel implements ActionListener, JavaT
 			}
 		}
 
-		// update the display
-		JavaTrek.game.refresh();
+		// the shields are changed directly, so that change is posted here
+		JavaTrek.changes.post(Change.SHIELDS_CHANGED);
 	}
 
 	/**
@@ -1,20 +1,30 @@
 package javatrek.factory;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ca.thekillams.widgets.utilities.NumbersUtility;
+import javatrek.JavaTrek;
+import javatrek.spaceobjects.SpaceObject;
 
 /**
  * <P>
- * This class provides a set of names for various objects. The names are stored in array lists, and removed after being
- * given, so no name will be given twice from the same instance of this class.
- * 
+ * This class provides a set of names for various objects. No name will be given twice from the same instance of this
+ * class: once every name in a set has been given, the set is drawn again in a new random order, with a Roman numeral
+ * after each name (the second time through a name becomes "Arrow II", the third "Arrow III", and so on).
+ *
+ * <P>
+ * The name files are read once per run and shared, read-only, by every factory. A factory only keeps the order it
+ * draws each set in, and draws a name by swapping one entry (a Fisher-Yates shuffle done a step at a time), so a name
+ * costs the same no matter how many have been given. People's names are combined from the given names and surnames in
+ * the file, rather than drawn whole.
+ *
  * <UL>
  * <LI>Version 1.0 - 03/18/2002 - the original
  * <LI>Version 1.1 - 11/24/2002 - added the serializable interface
@@ -24,10 +34,14 @@ import ca.thekillams.widgets.utilities.NumbersUtility;
  * <LI>Version 1.4 - 09/30/2004 - moved the Roman numeral suffixes to a function (utility_numbers.convertRoman ()) and
  * improved the code style slightly
  * <LI>Version 2.0 - 10/19/2004 - moved the names into text data files, and changed the name from Names to NameFactory
+ * <LI>Version 3.0 - 10/19/2026 - names are drawn from shuffled, shared sets instead of being removed from copied
+ * lists; person names are combined from given names and surnames (and no longer remove a ship name); the first reuse
+ * of a set is now numbered "II" rather than repeating the names
+ * <LI>Version 3.1 - 10/19/2026 - added getShipName (), which picks the set by team
  * </UL>
- * 
+ *
  * @author Andrew Killam
- * @version 2.0 - 10/19/2004
+ * @version 3.1 - 10/19/2026
  */
 
 public class NameFactory implements Serializable {
@@ -40,222 +54,298 @@ public class NameFactory implements Serializable {
 
 	private static final String RAIDER_SHIP_NAMES = "/data/raider_ship_names.txt";
 
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 
-	/** names for federation people */
-	private List<String> federationPeopleNames;
+	/** the name files already read, by file name (shared by every factory, never modified) */
+	private static final Map<String, String[]> SOURCES = new ConcurrentHashMap<>();
 
-	/** indicates the number of times the full set of Federation ship names has been used */
-	private int federationShipNameRepeats = 0;
+	/** names for federation people */
+	private Combinations federationPeopleNames;
 
 	/** names for federation ships */
-	private List<String> federationShipNames;
-
-	/** indicates the number of times the full set of pirate ship names has been used */
-	private int pirateShipNameRepeats = 0;
+	private Pool federationShipNames;
 
 	/** names for pirate ships */
-	private List<String> pirateShipNames;
+	private Pool pirateShipNames;
 
-	/** indicates the number of times the full set of raider ship names has been used */
-	private int raiderShipNameRepeats = 0;
+	/** chooses the order names are drawn in */
+	private Random random = new Random();
 
 	/** names for raider ships */
-	private List<String> raiderShipNames;
+	private Pool raiderShipNames;
 
 	/**
 	 * The default constructor.
-	 * 
+	 *
 	 * @since 1.0
 	 */
 	public NameFactory() {
-
-		federationPeopleNames = loadNames(FEDERATION_PEOPLE_NAMES);
-		federationShipNames = loadNames(FEDERATION_SHIP_NAMES);
-		pirateShipNames = loadNames(PIRATE_SHIP_NAMES);
-		raiderShipNames = loadNames(RAIDER_SHIP_NAMES);
+		federationPeopleNames = new Combinations(FEDERATION_PEOPLE_NAMES);
+		federationShipNames = new Pool(FEDERATION_SHIP_NAMES);
+		pirateShipNames = new Pool(PIRATE_SHIP_NAMES);
+		raiderShipNames = new Pool(RAIDER_SHIP_NAMES);
 	}
 
 	/**
-	 * Retrieves a random federation person name from the list. The name is removed from the list, so that each person
-	 * in the game will have a unique name.
-	 * 
+	 * Retrieves a random federation person name, made of a given name and a surname from the list. Each person in the
+	 * game will have a unique name.
+	 *
 	 * @return a federation person name
-	 * 
+	 *
 	 * @since 1.2
 	 */
 
 	public String getFederationPersonName() {
-		// get the size of the array
-		int size = federationPeopleNames.size();
-
-		// if the array is not empty, proceed
-		if (size > 0) {
-			// choose an element
-			int index = (int) (Math.random() * 10000) % size;
-
-			// retrieve the element
-			String name = (String) (federationPeopleNames.get(index));
-
-			// remove the element from the array
-			federationShipNames.remove(index);
-
-			// return the element
-			return name;
-		}
-
-		return "Unloved";
+		return federationPeopleNames.draw(random);
 	}
 
 	/**
-	 * Retrieves a random federation ship name from the list. The name is removed from the list, so that each ship in
-	 * the game will have a unique name.
-	 * 
+	 * Retrieves a random federation ship name from the list. Each ship in the game will have a unique name.
+	 *
 	 * @return a federation ship name
-	 * 
+	 *
 	 * @since 1.0
 	 */
 
 	public String getFederationShipName() {
-		// get the size of the array
-		int size = federationShipNames.size();
-
-		// if the array is not empty, proceed
-		if (size > 0) {
-			// choose an element
-			int index = (int) (Math.random() * 1000) % size;
+		return federationShipNames.draw(random);
+	}
 
-			// retrieve the element
-			String name = (String) (federationShipNames.get(index));
+	/**
+	 * Retrieves a random pirate ship name from the list. Each ship in the game will have a unique name.
+	 *
+	 * @return a pirate ship name
+	 *
+	 * @since 1.0
+	 */
 
-			// remove the element from the array
-			federationShipNames.remove(index);
+	public String getPirateShipName() {
+		return pirateShipNames.draw(random);
+	}
 
-			// if necessary, append a version number to the name
-			if (federationShipNameRepeats > 1) {
-				name = name + " " + NumbersUtility.convertRoman(federationShipNameRepeats);
-			}
+	/**
+	 * Retrieves a random ship name for a team.
+	 *
+	 * @param team
+	 *            the ship's team
+	 *
+	 * @return a ship name, or "No Name" for a team without ships of its own
+	 *
+	 * @since 3.1
+	 */
 
-			// return the element
-			return name;
+	public String getShipName(int team) {
+		switch (team) {
+		case SpaceObject.RAIDERS:
+			return getRaiderShipName();
+		case SpaceObject.PIRATES:
+			return getPirateShipName();
+		case SpaceObject.FEDERATION:
+			return getFederationShipName();
+		default:
+			return "No Name";
 		}
+	}
 
-		// re-populate the array
-		federationShipNames = loadNames(FEDERATION_SHIP_NAMES);
-		federationShipNameRepeats++;
+	/**
+	 * Retrieves a random raider ship name from the list. Each ship in the game will have a unique name.
+	 *
+	 * @return a raider ship name
+	 *
+	 * @since 1.0
+	 */
 
-		// get a name and return it
-		return getFederationShipName();
+	public String getRaiderShipName() {
+		return raiderShipNames.draw(random);
 	}
 
 	/**
-	 * Retrieves a random pirate ship name from the list. The name is removed from the list, so that each ship in the
-	 * game will have a unique name.
-	 * 
-	 * @return a pirate ship name
-	 * 
-	 * @since 1.0
+	 * Returns the names in the specified file, reading it on first use.
+	 *
+	 * @param filename
+	 *            the resource name of the file
+	 *
+	 * @return the file's non-blank lines, trimmed (must not be modified)
+	 *
+	 * @since 3.0
 	 */
+	private static String[] loadNames(String filename) {
+		return SOURCES.computeIfAbsent(filename, f -> {
+			List<String> list = new ArrayList<>();
+
+			try {
+				for (String name : JavaTrek.assets.getLines(f)) {
+					if (name.trim().length() > 0)
+						list.add(name.trim());
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+				System.exit(1);
+			}
 
-	public String getPirateShipName() {
-		// get the size of the array
-		int size = pirateShipNames.size();
+			return list.toArray(new String[list.size()]);
+		});
+	}
 
-		// if the array is not empty, proceed
-		if (size > 0) {
-			// choose an element
-			int index = (int) (Math.random() * 1000) % size;
+	/**
+	 * Returns the suffix added to names drawn after a set has been used up.
+	 *
+	 * @param generation
+	 *            the number of times the set has been used up
+	 *
+	 * @return the suffix, such as " II" (empty for the first generation)
+	 *
+	 * @since 3.0
+	 */
+	private static String suffix(int generation) {
+		return (generation == 0) ? "" : " " + NumbersUtility.convertRoman(generation + 1);
+	}
 
-			// retrieve the element
-			String name = (String) (pirateShipNames.get(index));
+	/**
+	 * A set of names read from a file, drawn in a random order that changes each time the set is used up.
+	 */
+	private static class Pool implements Serializable {
 
-			// remove the element from the array
-			pirateShipNames.remove(index);
+		private static final long serialVersionUID = 1L;
 
-			// if necessary, append a version number to the name
-			if (pirateShipNameRepeats > 1) {
-				name = name + " " + NumbersUtility.convertRoman(pirateShipNameRepeats);
-			}
+		/** the number of names drawn in the current generation */
+		private int cursor = 0;
+
+		/** the file the names are read from */
+		private final String filename;
+
+		/** the number of times every name has been drawn */
+		private int generation = 0;
 
-			// return the element
-			return name;
+		/** indices into the names; those before the cursor have been drawn */
+		private final int order[];
+
+		/** the suffix for the current generation (recomputed after loading) */
+		private transient String suffix;
+
+		Pool(String filename) {
+			this.filename = filename;
+
+			order = new int[loadNames(filename).length];
+			for (int i = 0; i < order.length; i++)
+				order[i] = i;
 		}
 
-		// re-populate the array
-		pirateShipNames = loadNames(PIRATE_SHIP_NAMES);
-		pirateShipNameRepeats++;
+		String draw(Random random) {
+			String names[] = loadNames(filename);
+			if (names.length == 0)
+				return "No Name";
+
+			// each drawn index stays behind the cursor, so starting again needs no reset
+			if (cursor == order.length) {
+				cursor = 0;
+				generation++;
+				suffix = null;
+			}
+			if (suffix == null)
+				suffix = suffix(generation);
 
-		// get a name and return it
-		return getPirateShipName();
+			// one step of a Fisher-Yates shuffle: pick from the names not drawn yet
+			int pick = cursor + random.nextInt(order.length - cursor);
+			int index = order[pick];
+			order[pick] = order[cursor];
+			order[cursor++] = index;
+
+			return names[index] + suffix;
+		}
 	}
 
 	/**
-	 * Retrieves a random raider ship name from the list. The name is removed from the list, so that each ship in the
-	 * game will have a unique name.
-	 * 
-	 * @return a raider ship name
-	 * 
-	 * @since 1.0
+	 * Every pairing of the given names and surnames found in a file of full names. The pairings are drawn in a random
+	 * order by stepping through them with a random stride coprime to their number, so no list of them is ever built.
 	 */
+	private static class Combinations implements Serializable {
 
-	public String getRaiderShipName() {
-		// get the size of the array
-		int size = raiderShipNames.size();
+		private static final long serialVersionUID = 1L;
 
-		// if the array is not empty, proceed
-		if (size > 0) {
-			// choose an element
-			int index = (int) (Math.random() * 1000) % size;
+		/** the number of pairings drawn in the current generation */
+		private long cursor = 0;
 
-			// retrieve the element
-			String name = (String) (raiderShipNames.get(index));
+		/** the file the names are read from */
+		private final String filename;
 
-			// remove the element from the array
-			raiderShipNames.remove(index);
+		/** the number of times every pairing has been drawn */
+		private int generation = 0;
 
-			// if necessary, append a version number to the name
-			if (raiderShipNameRepeats > 1) {
-				name = name + " " + NumbersUtility.convertRoman(raiderShipNameRepeats);
-			}
+		/** the given names, derived from the file (recomputed after loading) */
+		private transient String given[];
+
+		/** the first pairing drawn in this generation */
+		private long offset = 0;
+
+		/** the step between pairings in this generation; coprime to the number of pairings */
+		private long stride = 1;
 
-			// return the element
-			return name;
+		/** the suffix for the current generation (recomputed after loading) */
+		private transient String suffix;
+
+		/** the surnames, derived from the file (recomputed after loading) */
+		private transient String surnames[];
+
+		Combinations(String filename) {
+			this.filename = filename;
 		}
 
-		// re-populate the array
-		raiderShipNames = loadNames(RAIDER_SHIP_NAMES);
-		raiderShipNameRepeats++;
+		String draw(Random random) {
+			if (given == null)
+				split(loadNames(filename));
+
+			long total = (long) given.length * surnames.length;
+			if (total == 0)
+				return "Unloved";
+
+			// a new generation visits the pairings in a new order
+			if ((cursor == 0) || (cursor == total)) {
+				if (cursor == total)
+					generation++;
+				cursor = 0;
+				offset = (long) (random.nextDouble() * total);
+				do {
+					stride = 1 + (long) (random.nextDouble() * (total - 1));
+				} while (gcd(stride, total) != 1);
+				suffix = null;
+			}
+			if (suffix == null)
+				suffix = suffix(generation);
 
-		// get a name and return it
-		return getRaiderShipName();
-	}
+			long pairing = (offset + cursor++ * stride) % total;
+			return given[(int) (pairing / surnames.length)] + " " + surnames[(int) (pairing % surnames.length)]
+					+ suffix;
+		}
 
-	/**
-	 * Loads a list of strings from the specified file and returns them in a list.
-	 * 
-	 * @param filename
-	 * 
-	 * @since 3.0
-	 */
-	private List<String> loadNames(String filename) {
-		List<String> list = new ArrayList<>();
-
-		try {
-			InputStream in = getClass().getResourceAsStream(filename);
-			BufferedReader input = new BufferedReader(new InputStreamReader(in));
-			Scanner scanner = new Scanner(input);
-			scanner.useDelimiter("\n");
-			while (scanner.hasNext())
-				list.add(scanner.next().trim());
-			scanner.close();
-			input.close();
-			in.close();
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.exit(1);
+		private static long gcd(long a, long b) {
+			while (b != 0) {
+				long t = a % b;
+				a = b;
+				b = t;
+			}
+			return a;
 		}
 
-		return list;
+		/**
+		 * Splits full names into given names (everything before the last word) and surnames (the last word), dropping
+		 * duplicates.
+		 */
+		private void split(String names[]) {
+			Set<String> g = new LinkedHashSet<>();
+			Set<String> s = new LinkedHashSet<>();
+
+			for (String name : names) {
+				int space = name.lastIndexOf(' ');
+				if (space > 0) {
+					g.add(name.substring(0, space));
+					s.add(name.substring(space + 1));
+				}
+			}
+
+			given = g.toArray(new String[g.size()]);
+			surnames = s.toArray(new String[s.size()]);
+		}
 	}
 
-}
\ No newline at end of file
+}
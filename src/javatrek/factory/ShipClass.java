@@ -0,0 +1,521 @@
+package javatrek.factory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import javatrek.systems.Computer;
+import javatrek.systems.LightDrive;
+import javatrek.systems.LongRangeScanner;
+import javatrek.systems.Shields;
+import javatrek.systems.ShortRangeScanner;
+
+/**
+ * One class of ship, as described by a row of the ship types file. A ship class never changes once it is read. Its
+ * systems are built once, as prototypes, and each ship of the class is given copies of them.
+ *
+ * <P>
+ * Ship classes are numbered in the order they are read, so that a class can be found by its id without looking up its
+ * name.
+ *
+ * <P>
+ * A class is checked when it is read, from the file or from the ship table's cache, so that a mistake in the file is
+ * reported by row instead of being quietly clamped by the ship's systems.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - classes are validated, and can be written to and read from the ship table's cache
+ * <LI>Version 3.2 - 10/19/2026 - added the names of the prototype systems, for describing a class without building a
+ * ship
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.2 - 10/19/2026
+ */
+
+public final class ShipClass implements Serializable {
+
+	/** the number of columns read from a row of the ship types file (any after these are ignored) */
+	public static final int COLUMNS = 20;
+
+	/** the highest level of any ship system */
+	private static final int MAX_LEVEL = 5;
+
+	private static final long serialVersionUID = 1L;
+
+	/** the maximum light drive (blast drive) speed */
+	private final float blastdrive;
+
+	/** the prototype computer */
+	private final Computer computer;
+
+	/** the computer's level */
+	private final int computer_level;
+
+	/** the dodge rating */
+	private final int dodge;
+
+	/** the name of the energy weapon (unused by the game so far) */
+	private final String energy_weapon;
+
+	/** the generator's output per hour */
+	private final int generator;
+
+	/** the hull's hit points */
+	private final int hitpoints;
+
+	/** the class' id: its position in the ship types file */
+	private final int id;
+
+	/** the name of the ship's image file */
+	private final String image;
+
+	/** the number of missiles each launcher tube holds */
+	private final int launcher_load;
+
+	/** the number of launcher tubes */
+	private final int launcher_tubes;
+
+	/** the name of the launcher weapon (unused by the game so far) */
+	private final String launcher_type;
+
+	/** the prototype light drive */
+	private final LightDrive light_drive;
+
+	/** the long-range scanner's level */
+	private final int lr_level;
+
+	/** the prototype long-range scanner */
+	private final LongRangeScanner lr_scanner;
+
+	/** the main energy capacity */
+	private final int max_energy;
+
+	/** the name of the class */
+	private final String name;
+
+	/** the points earned for destroying a ship of this class */
+	private final int points;
+
+	/** the repair points per hour, as a percentage */
+	private final float repair;
+
+	/** the shields' energy capacity */
+	private final int shield_energy;
+
+	/** the shields' level (0 for an unshielded class) */
+	private final int shield_level;
+
+	/** the prototype shields, or null for an unshielded class */
+	private final Shields shields;
+
+	/** the name of the shuttle (unused by the game so far) */
+	private final String shuttle;
+
+	/** the short-range scanner's level */
+	private final int sr_level;
+
+	/** the prototype short-range scanner */
+	private final ShortRangeScanner sr_scanner;
+
+	/** the name of the teleporter (unused by the game so far) */
+	private final String teleporter;
+
+	/**
+	 * Reads a ship class from a row of the ship types file.
+	 *
+	 * @param id
+	 *            the class' id
+	 * @param cols
+	 *            the row's columns
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the row is too short, or a value is malformed or out of range
+	 *
+	 * @since 3.0
+	 */
+
+	ShipClass(int id, String cols[]) {
+		this.id = id;
+
+		if (cols.length < COLUMNS)
+			throw new IllegalArgumentException(
+					String.format("expected %d columns, found %d", COLUMNS, cols.length));
+
+		// for iterating through the columns
+		int c = 0;
+
+		name = cols[c++];
+		image = cols[c++];
+		max_energy = Integer.parseInt(cols[c++]);
+		dodge = Integer.parseInt(cols[c++]);
+		hitpoints = Integer.parseInt(cols[c++]);
+		repair = Float.parseFloat(cols[c++]);
+		computer_level = Integer.parseInt(cols[c++]);
+		generator = Integer.parseInt(cols[c++]);
+		blastdrive = Float.parseFloat(cols[c++]);
+		energy_weapon = cols[c++];
+		launcher_type = cols[c++];
+		launcher_tubes = Integer.parseInt(cols[c++]);
+		launcher_load = Integer.parseInt(cols[c++]);
+		lr_level = Integer.parseInt(cols[c++]);
+		sr_level = Integer.parseInt(cols[c++]);
+		shield_level = Integer.parseInt(cols[c++]);
+		shield_energy = Integer.parseInt(cols[c++]);
+		shuttle = cols[c++];
+		teleporter = cols[c++];
+		points = Integer.parseInt(cols[c++]);
+
+		validate();
+
+		// the prototypes are never given to a ship, only copied
+		computer = new Computer(computer_level);
+		light_drive = new LightDrive(blastdrive);
+		lr_scanner = new LongRangeScanner(lr_level);
+		sr_scanner = new ShortRangeScanner(sr_level);
+		shields = (shield_level > 0) ? new Shields(shield_level, shield_energy) : null;
+	}
+
+	/**
+	 * Reads a ship class from the ship table's cache, in the order written by write ().
+	 *
+	 * @param id
+	 *            the class' id
+	 * @param in
+	 *            the cache
+	 *
+	 * @throws IOException
+	 *             if the cache cannot be read
+	 * @throws IllegalArgumentException
+	 *             if a value is out of range
+	 *
+	 * @since 3.1
+	 */
+
+	ShipClass(int id, DataInput in) throws IOException {
+		this.id = id;
+
+		name = in.readUTF();
+		image = in.readUTF();
+		max_energy = in.readInt();
+		dodge = in.readInt();
+		hitpoints = in.readInt();
+		repair = in.readFloat();
+		computer_level = in.readInt();
+		generator = in.readInt();
+		blastdrive = in.readFloat();
+		energy_weapon = in.readUTF();
+		launcher_type = in.readUTF();
+		launcher_tubes = in.readInt();
+		launcher_load = in.readInt();
+		lr_level = in.readInt();
+		sr_level = in.readInt();
+		shield_level = in.readInt();
+		shield_energy = in.readInt();
+		shuttle = in.readUTF();
+		teleporter = in.readUTF();
+		points = in.readInt();
+
+		validate();
+
+		computer = new Computer(computer_level);
+		light_drive = new LightDrive(blastdrive);
+		lr_scanner = new LongRangeScanner(lr_level);
+		sr_scanner = new ShortRangeScanner(sr_level);
+		shields = (shield_level > 0) ? new Shields(shield_level, shield_energy) : null;
+	}
+
+	/**
+	 * Creates a computer for a new ship of this class.
+	 *
+	 * @return a copy of the prototype computer
+	 *
+	 * @since 3.0
+	 */
+
+	public Computer createComputer() {
+		return (Computer) computer.copy();
+	}
+
+	/**
+	 * Creates a light drive for a new ship of this class.
+	 *
+	 * @return a copy of the prototype light drive
+	 *
+	 * @since 3.0
+	 */
+
+	public LightDrive createLightDrive() {
+		return (LightDrive) light_drive.copy();
+	}
+
+	/**
+	 * Creates a long-range scanner for a new ship of this class.
+	 *
+	 * @return a copy of the prototype long-range scanner
+	 *
+	 * @since 3.0
+	 */
+
+	public LongRangeScanner createLongRangeScanner() {
+		return (LongRangeScanner) lr_scanner.copy();
+	}
+
+	/**
+	 * Creates shields for a new ship of this class.
+	 *
+	 * @return a copy of the prototype shields, or null if the class has none
+	 *
+	 * @since 3.0
+	 */
+
+	public Shields createShields() {
+		return (shields == null) ? null : (Shields) shields.copy();
+	}
+
+	/**
+	 * Creates a short-range scanner for a new ship of this class.
+	 *
+	 * @return a copy of the prototype short-range scanner
+	 *
+	 * @since 3.0
+	 */
+
+	public ShortRangeScanner createShortRangeScanner() {
+		return (ShortRangeScanner) sr_scanner.copy();
+	}
+
+	/** @return the maximum light drive speed */
+	public float getBlastDrive() {
+		return blastdrive;
+	}
+
+	/** @return the computer's level */
+	public int getComputerLevel() {
+		return computer_level;
+	}
+
+	/** @return the dodge rating */
+	public int getDodge() {
+		return dodge;
+	}
+
+	/** @return the name of the energy weapon */
+	public String getEnergyWeapon() {
+		return energy_weapon;
+	}
+
+	/** @return the generator's output per hour */
+	public int getGenerator() {
+		return generator;
+	}
+
+	/** @return the hull's hit points */
+	public int getHitPoints() {
+		return hitpoints;
+	}
+
+	/** @return the class' id */
+	public int getId() {
+		return id;
+	}
+
+	/** @return the name of the ship's image file */
+	public String getImage() {
+		return image;
+	}
+
+	/** @return the number of missiles each launcher tube holds */
+	public int getLauncherLoad() {
+		return launcher_load;
+	}
+
+	/** @return the number of launcher tubes */
+	public int getLauncherTubes() {
+		return launcher_tubes;
+	}
+
+	/** @return the name of the launcher weapon */
+	public String getLauncherType() {
+		return launcher_type;
+	}
+
+	/** @return the long-range scanner's level */
+	public int getLongRangeScannerLevel() {
+		return lr_level;
+	}
+
+	/** @return the long-range scanner's name */
+	public String getLongRangeScannerName() {
+		return lr_scanner.getName();
+	}
+
+	/** @return the long-range scanner's radius when undamaged, in regions */
+	public int getLongRangeScannerRadius() {
+		return lr_scanner.getRadius();
+	}
+
+	/** @return the main energy capacity */
+	public int getMaxEnergy() {
+		return max_energy;
+	}
+
+	/** @return the name of the class */
+	public String getName() {
+		return name;
+	}
+
+	/** @return the points earned for destroying a ship of this class */
+	public int getPointValue() {
+		return points;
+	}
+
+	/** @return the repair points per hour, as a fraction of a system (the file gives a percentage) */
+	public float getRepairPoints() {
+		return repair / 100.0f;
+	}
+
+	/** @return the shields' energy capacity (0 if the class has no shields) */
+	public int getShieldEnergy() {
+		return (shields == null) ? 0 : shield_energy;
+	}
+
+	/** @return the shields' level (0 if the class has no shields) */
+	public int getShieldLevel() {
+		return (shields == null) ? 0 : shield_level;
+	}
+
+	/** @return the shields' name, or null if the class has no shields */
+	public String getShieldsName() {
+		return (shields == null) ? null : shields.getName();
+	}
+
+	/** @return the short-range scanner's level */
+	public int getShortRangeScannerLevel() {
+		return sr_level;
+	}
+
+	/** @return the short-range scanner's name */
+	public String getShortRangeScannerName() {
+		return sr_scanner.getName();
+	}
+
+	/** @return the name of the shuttle */
+	public String getShuttle() {
+		return shuttle;
+	}
+
+	/** @return the name of the teleporter */
+	public String getTeleporter() {
+		return teleporter;
+	}
+
+	/**
+	 * Returns the class' name.
+	 *
+	 * @return the name of the class
+	 *
+	 * @since 3.0
+	 */
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	 * Checks that every value is one the game can use as given.
+	 *
+	 * @throws IllegalArgumentException
+	 *             naming the first value out of range
+	 *
+	 * @since 3.1
+	 */
+
+	private void validate() {
+		if (name.trim().isEmpty())
+			throw new IllegalArgumentException("the ship class has no name");
+		if (image.trim().isEmpty())
+			throw new IllegalArgumentException(name + " has no image");
+
+		check("Max Energy", max_energy, 1, Integer.MAX_VALUE);
+		check("Dodge", dodge, 0, 100);
+		check("Hit Points", hitpoints, 1, Integer.MAX_VALUE);
+		check("Computer", computer_level, 0, MAX_LEVEL);
+		check("Generator", generator, 0, Integer.MAX_VALUE);
+		check("Tubes", launcher_tubes, 0, Integer.MAX_VALUE);
+		check("Load", launcher_load, 0, Integer.MAX_VALUE);
+		check("LR Scanner", lr_level, 1, MAX_LEVEL);
+		check("SR Scanner", sr_level, 1, MAX_LEVEL);
+		check("Shields", shield_level, 0, MAX_LEVEL);
+		check("Max Shields", shield_energy, (shield_level > 0) ? 1 : 0, Integer.MAX_VALUE);
+		check("Point Value", points, 0, Integer.MAX_VALUE);
+
+		// written so that NaN fails too
+		if (!(repair >= 0.0f) || !(repair <= 100.0f))
+			throw new IllegalArgumentException(String.format("%s's Repair Points (%s) must be 0 to 100", name, repair));
+		if (!(blastdrive >= 1.0f) || Float.isInfinite(blastdrive))
+			throw new IllegalArgumentException(String.format("%s's Blast Drive (%s) must be at least 1", name, blastdrive));
+	}
+
+	/**
+	 * Checks that a whole-number column is within its range.
+	 *
+	 * @param column
+	 *            the column's heading
+	 * @param value
+	 *            the column's value
+	 * @param min
+	 *            the lowest value allowed
+	 * @param max
+	 *            the highest value allowed
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the value is out of range
+	 *
+	 * @since 3.1
+	 */
+
+	private void check(String column, int value, int min, int max) {
+		if ((value < min) || (value > max))
+			throw new IllegalArgumentException(String.format("%s's %s (%d) must be %d to %d", name, column, value, min,
+					max));
+	}
+
+	/**
+	 * Writes the class to the ship table's cache.
+	 *
+	 * @param out
+	 *            the cache
+	 *
+	 * @throws IOException
+	 *             if the cache cannot be written
+	 *
+	 * @since 3.1
+	 */
+
+	void write(DataOutput out) throws IOException {
+		out.writeUTF(name);
+		out.writeUTF(image);
+		out.writeInt(max_energy);
+		out.writeInt(dodge);
+		out.writeInt(hitpoints);
+		out.writeFloat(repair);
+		out.writeInt(computer_level);
+		out.writeInt(generator);
+		out.writeFloat(blastdrive);
+		out.writeUTF(energy_weapon);
+		out.writeUTF(launcher_type);
+		out.writeInt(launcher_tubes);
+		out.writeInt(launcher_load);
+		out.writeInt(lr_level);
+		out.writeInt(sr_level);
+		out.writeInt(shield_level);
+		out.writeInt(shield_energy);
+		out.writeUTF(shuttle);
+		out.writeUTF(teleporter);
+		out.writeInt(points);
+	}
+
+}
@@ -1,25 +1,13 @@
 package javatrek.factory;
 
 import java.awt.Point;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
 
 import javatrek.JavaTrek;
 import javatrek.Pilot;
 import javatrek.Space;
 import javatrek.spaceobjects.Ship;
-import javatrek.systems.Computer;
-import javatrek.systems.LightDrive;
-import javatrek.systems.LongRangeScanner;
-import javatrek.systems.Shields;
-import javatrek.systems.ShortRangeScanner;
 
 /**
  * The ship factory provides functions create a ship with a specific name, team and type.
@@ -31,75 +19,24 @@ import javatrek.systems.ShortRangeScanner;
  * <LI>Version 1.3 - 10/07/2004 - ships are no longer created with specific crew sizes
  * <LI>Version 2.0 - 10/19/2004 - updated to be a class, rather than a provider of static functions, and to use a CSV
  * spreadsheet rather than functions to store the values for various classes of ships
+ * <LI>Version 3.0 - 10/19/2026 - each row is read into a ShipClass, whose prototype systems are copied into new ships;
+ * classes can be found by id as well as by name
+ * <LI>Version 3.1 - 10/19/2026 - added createShips (), which builds a whole wave of ships
+ * <LI>Version 3.2 - 10/19/2026 - the classes are held in a ShipTable, read from its binary cache when it is current,
+ * and replaced whole when the ship types file is reloaded
+ * <LI>Version 3.3 - 10/19/2026 - createShip () and createShips () build their ships in one place
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/19/2004
+ * @version 3.3 - 10/19/2026
  */
 
 public class ShipFactory implements Serializable {
 
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 3L;
 
-	/** stores the blast drive values */
-	private Map<String, Float> blastdrive;
-
-	/** stores the names of the classes of ships */
-	private List<String> classes;
-
-	/** stores the computer values */
-	private Map<String, Integer> computer;
-
-	/** stores the dodge values */
-	private Map<String, Integer> dodge;
-
-	/** stores the energy weapon values */
-	private Map<String, String> energy_weapon;
-
-	/** stores the generator values */
-	private Map<String, Integer> generator;
-
-	/** stores the hit point values */
-	private Map<String, Integer> hitpoints;
-
-	/** stores the names of the ships' images */
-	private Map<String, String> images;
-
-	/** stores the launcher load values */
-	private Map<String, Integer> launcher_load;
-
-	/** stores the launcher tubes values */
-	private Map<String, Integer> launcher_tubes;
-
-	/** stores the launcher type values */
-	private Map<String, String> launcher_type;
-
-	/** stores the LR scanner type values */
-	private Map<String, Integer> lr_scanner;
-
-	/** stores the max energy values */
-	private Map<String, Integer> max_energy;
-
-	/** stores the point values */
-	private Map<String, Integer> points;
-
-	/** stores the repair values */
-	private Map<String, Float> repair;
-
-	/** stores the shield energy values */
-	private Map<String, Integer> shield_energy;
-
-	/** stores the shield type values */
-	private Map<String, Integer> shield_level;
-
-	/** stores the shuttle type values */
-	private Map<String, String> shuttle;
-
-	/** stores the SR scanner type values */
-	private Map<String, Integer> sr_scanner;
-
-	/** stores the teleporter type values */
-	private Map<String, String> teleporter;
+	/** the classes of ships (replaced, never changed, when the ship types file is reloaded) */
+	private volatile ShipTable table;
 
 	/**
 	 * Creates the ship factory object.
@@ -108,7 +45,12 @@ public class ShipFactory implements Serializable {
 	 */
 
 	public ShipFactory() {
-		loadShipData();
+		try {
+			table = ShipTable.load();
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
 	}
 
 	/**
@@ -140,6 +82,87 @@ public class ShipFactory implements Serializable {
 
 	public Ship createShip(String class_name, String name, int team, int level, boolean ai, int quad, int qx, int qy,
 			int rx, int ry) {
+		// verify that the class_name value is correct
+		ShipClass sc = table.getShipClass(class_name);
+		if (sc == null) {
+			System.out.println("ShipFactory.createShip () called with invald class_name value " + class_name);
+			System.exit(1);
+		}
+
+		return createShip(sc, name, team, level, ai, quad, qx, qy, rx, ry);
+	}
+
+	/**
+	 * Creates a ship of a class given by its id, copying the class' prototype systems.
+	 * 
+	 * @param class_id
+	 *            the id of the class of ship
+	 * @param name
+	 *            the name of the ship
+	 * @param team
+	 *            the team the ship is on
+	 * @param level
+	 *            the experience level of the pilot
+	 * @param ai
+	 *            is the ship an NPC?
+	 * @param quad
+	 *            the name of the quadrant to place the ship in
+	 * @param qx
+	 *            quadrant x-location
+	 * @param qy
+	 *            quadrant y-location
+	 * @param rx
+	 *            region x-location
+	 * @param ry
+	 *            region y-location
+	 * 
+	 * @since 3.0
+	 */
+
+	public Ship createShip(int class_id, String name, int team, int level, boolean ai, int quad, int qx, int qy,
+			int rx, int ry) {
+		// read the table once, in case it is replaced meanwhile
+		ShipTable t = table;
+
+		if ((class_id < 0) || (class_id >= t.getShipClassCount())) {
+			System.out.println("ShipFactory.createShip () called with invalid class_id value:  " + class_id);
+			Exception e = new Exception();
+			e.printStackTrace();
+			System.exit(1);
+		}
+
+		return createShip(t.getShipClass(class_id), name, team, level, ai, quad, qx, qy, rx, ry);
+	}
+
+	/**
+	 * Creates a ship of a class, copying the class' prototype systems.
+	 * 
+	 * @param sc
+	 *            the class of ship
+	 * @param name
+	 *            the name of the ship
+	 * @param team
+	 *            the team the ship is on
+	 * @param level
+	 *            the experience level of the pilot
+	 * @param ai
+	 *            is the ship an NPC?
+	 * @param quad
+	 *            the name of the quadrant to place the ship in
+	 * @param qx
+	 *            quadrant x-location
+	 * @param qy
+	 *            quadrant y-location
+	 * @param rx
+	 *            region x-location
+	 * @param ry
+	 *            region y-location
+	 * 
+	 * @since 3.2
+	 */
+
+	private Ship createShip(ShipClass sc, String name, int team, int level, boolean ai, int quad, int qx, int qy,
+			int rx, int ry) {
 		// bounds checking
 		if (quad >= Space.QUADRANTS) {
 			System.out.println("Ship.createShip () called with invalid quadrant value:  " + quad);
@@ -161,7 +184,7 @@ public class ShipFactory implements Serializable {
 			Exception e = new Exception();
 			e.printStackTrace();
 			System.exit(1);
-		} else if ((rx < 0) || (rx >= Space.REGION_HEIGHT)) {
+		} else if ((ry < 0) || (ry >= Space.REGION_HEIGHT)) {
 			System.out.println("Ship.createShip () called with invalid ry value:  " + ry);
 			Exception e = new Exception();
 			e.printStackTrace();
@@ -178,153 +201,175 @@ public class ShipFactory implements Serializable {
 			}
 		}
 
-		// verify that the class_name value is correct
-		if (classes.contains(class_name) == false) {
-			System.out.println("ShipFactory.createShip () called with invald class_name value " + class_name);
-			System.exit(1);
-		}
-
-		// retrieve the ship's image
-		String image_name = (String) images.get(class_name);
+		return build(sc, name, team, level, ai, quad, qx, qy, rx, ry);
+	}
 
-		// retrieve the ship's max energy, generator capacity, hit point,
-		// repair point, dodge rating and point value
-		int e = ((Integer) max_energy.get(class_name)).intValue();
-		int gen = ((Integer) generator.get(class_name)).intValue();
-		int hp = ((Integer) hitpoints.get(class_name)).intValue();
-		float rp = ((Float) repair.get(class_name)).floatValue() / 100.0f;
-		int d = ((Integer) dodge.get(class_name)).intValue();
-		int pv = ((Integer) points.get(class_name)).intValue();
+	/**
+	 * Builds a ship of a class at a location already known to be valid and empty, with copies of the class' prototype
+	 * systems.
+	 * 
+	 * @param sc
+	 *            the class of ship
+	 * @param name
+	 *            the name of the ship
+	 * @param team
+	 *            the team the ship is on
+	 * @param level
+	 *            the experience level of the pilot
+	 * @param ai
+	 *            is the ship an NPC?
+	 * @param quad
+	 *            the name of the quadrant to place the ship in
+	 * @param qx
+	 *            quadrant x-location
+	 * @param qy
+	 *            quadrant y-location
+	 * @param rx
+	 *            region x-location
+	 * @param ry
+	 *            region y-location
+	 * 
+	 * @return the ship
+	 * 
+	 * @since 3.3
+	 */
 
-		// create the ship's pilot
+	private Ship build(ShipClass sc, String name, int team, int level, boolean ai, int quad, int qx, int qy, int rx,
+			int ry) {
+		// the pilot is the only part of a ship not taken from its class
 		Pilot p = new Pilot(ai, level);
 
-		// create the ship's computer
-		Computer com = new Computer(((Integer) computer.get(class_name)).intValue());
+		return new Ship(name, sc.getName(), sc.getImage(), team, ai, quad, qx, qy, rx, ry, sc.getMaxEnergy(),
+				sc.getGenerator(), sc.getHitPoints(), sc.getRepairPoints(), sc.getDodge(), sc.getPointValue(),
+				sc.createComputer(), p, sc.createLightDrive(), sc.createLongRangeScanner(),
+				sc.createShortRangeScanner(), sc.createShields());
+	}
 
-		// create the ship's blastdrive
-		LightDrive bd = new LightDrive(((Float) blastdrive.get(class_name)).floatValue());
+	/**
+	 * Builds a wave of NPC ships at locations the caller has already found to be empty, so that no ship searches space
+	 * for its own location.
+	 * 
+	 * @param wave
+	 *            the wave's composition
+	 * @param locations
+	 *            each ship's location within its quadrant (see Space.getLocationIndex ()), in the wave's order
+	 * @param names
+	 *            each ship's name, in the wave's order
+	 * @param level
+	 *            the experience level of the ships' pilots
+	 * @param count
+	 *            the number of ships to build, from the start of the wave (fewer than the whole wave if space ran out)
+	 * 
+	 * @return the ships
+	 * 
+	 * @since 3.1
+	 */
 
-		// create the ship's scanners
-		LongRangeScanner lr = new LongRangeScanner(((Integer) lr_scanner.get(class_name)).intValue());
-		ShortRangeScanner sr = new ShortRangeScanner(((Integer) sr_scanner.get(class_name)).intValue());
+	public Ship[] createShips(Wave wave, int locations[], String names[], int level, int count) {
+		Ship ships[] = new Ship[count];
+
+		int n = 0;
+		for (int e = 0; (e < wave.getEntryCount()) && (n < count); e++) {
+			ShipClass sc = wave.getShipClass(e);
+			int team = wave.getTeam(e);
+			int quad = wave.getQuadrant(e);
+
+			for (int i = 0; (i < wave.getCount(e)) && (n < count); i++, n++) {
+				// decode the location (see Space.getLocationIndex ())
+				int index = locations[n];
+				int rx = index % Space.REGION_WIDTH;
+				index /= Space.REGION_WIDTH;
+				int ry = index % Space.REGION_HEIGHT;
+				index /= Space.REGION_HEIGHT;
+				int qx = index % Space.QUADRANT_WIDTH;
+				int qy = index / Space.QUADRANT_WIDTH;
+
+				ships[n] = build(sc, names[n], team, level, true, quad, qx, qy, rx, ry);
+			}
+		}
 
-		// create the ship's shields
-		int slevel = ((Integer) shield_level.get(class_name)).intValue();
-		int smax = ((Integer) shield_energy.get(class_name)).intValue();
-		;
-		Shields sh = null;
-		if (slevel > 0)
-			sh = new Shields(slevel, smax);
+		return ships;
+	}
 
-		// create the ship
-		Ship ship = new Ship(name, class_name, image_name, team, ai, quad, qx, qy, rx, ry, e, gen, hp, rp, d, pv, com,
-				p, bd, lr, sr, sh);
+	/**
+	 * Returns a class of ship, by id.
+	 * 
+	 * @param class_id
+	 *            the class' id (0 to getShipClassCount () - 1)
+	 * 
+	 * @return the class of ship
+	 * 
+	 * @since 3.0
+	 */
 
-		return ship;
+	public ShipClass getShipClass(int class_id) {
+		return table.getShipClass(class_id);
 	}
 
 	/**
-	 * Retrieves a list of the classes of ships the factory can build.
+	 * Returns a class of ship, by name.
 	 * 
-	 * @return an array containing a list of the classes of ships the factory can build
+	 * @param class_name
+	 *            the class' name
 	 * 
-	 * @since 2.0
+	 * @return the class of ship, or null if there is no such class
+	 * 
+	 * @since 3.0
 	 */
 
-	public List<String> getShipClasses() {
-		return classes;
+	public ShipClass getShipClass(String class_name) {
+		return table.getShipClass(class_name);
+	}
+
+	/**
+	 * Returns the number of classes of ships the factory can build.
+	 * 
+	 * @return the number of classes (ids run from 0 to one less than this)
+	 * 
+	 * @since 3.0
+	 */
+
+	public int getShipClassCount() {
+		return table.getShipClassCount();
 	}
 
 	/**
-	 * Loads in the ship data from the ships.csv file.
+	 * Retrieves a list of the classes of ships the factory can build.
+	 * 
+	 * @return an unmodifiable list of the names of the classes of ships the factory can build, in id order
 	 * 
 	 * @since 2.0
 	 */
 
-	private void loadShipData() {
-		// create the data structures required for ship data
-		classes = new ArrayList<>();
-		blastdrive = new HashMap<>();
-		computer = new HashMap<>();
-		dodge = new HashMap<>();
-		energy_weapon = new HashMap<>();
-		generator = new HashMap<>();
-		hitpoints = new HashMap<>();
-		images = new HashMap<>();
-		launcher_load = new HashMap<>();
-		launcher_tubes = new HashMap<>();
-		launcher_type = new HashMap<>();
-		lr_scanner = new HashMap<>();
-		max_energy = new HashMap<>();
-		points = new HashMap<>();
-		repair = new HashMap<>();
-		shield_energy = new HashMap<>();
-		shield_level = new HashMap<>();
-		shuttle = new HashMap<>();
-		sr_scanner = new HashMap<>();
-		teleporter = new HashMap<>();
+	public List<String> getShipClasses() {
+		return table.getShipClasses();
+	}
 
-		try {
-			InputStream in = getClass().getResourceAsStream("/data/ship_types.csv");
-			BufferedReader input = new BufferedReader(new InputStreamReader(in));
-			Scanner scanner = new Scanner(input);
-			scanner.useDelimiter("\n");
-
-			while (scanner.hasNext()) {
-				String row = scanner.next();
-				if (row.startsWith("Ship Class"))
-					continue;
-				if (row.trim().length() < 1)
-					continue;
-
-				// divide the row into columns
-				String cols[] = row.split(",");
-
-				// for iterating through the columns
-				int c = 0;
-
-				try {
-					// the first entry will be the class name
-					String name = cols[c++];
-					classes.add(name);
-
-					// store the other entries in order
-					images.put(name, cols[c++]);
-					max_energy.put(name, new Integer(cols[c++]));
-					dodge.put(name, new Integer(cols[c++]));
-					hitpoints.put(name, new Integer(cols[c++]));
-					repair.put(name, new Float(cols[c++]));
-					computer.put(name, new Integer(cols[c++]));
-					generator.put(name, new Integer(cols[c++]));
-					blastdrive.put(name, new Float(cols[c++]));
-					energy_weapon.put(name, cols[c++]);
-					launcher_type.put(name, cols[c++]);
-					launcher_tubes.put(name, new Integer(cols[c++]));
-					launcher_load.put(name, new Integer(cols[c++]));
-					lr_scanner.put(name, new Integer(cols[c++]));
-					sr_scanner.put(name, new Integer(cols[c++]));
-					shield_level.put(name, new Integer(cols[c++]));
-					shield_energy.put(name, new Integer(cols[c++]));
-					shuttle.put(name, cols[c++]);
-					teleporter.put(name, cols[c++]);
-					points.put(name, new Integer(cols[c++]));
-				} catch (Exception e) {
-					System.out.println("bad row:  " + row);
-					e.printStackTrace();
-					System.exit(1);
-				}
-			}
+	/**
+	 * Returns the classes of ships the factory builds. Callers that look up several classes should read the table once
+	 * and use it throughout, as it may be replaced at any time by a reload.
+	 * 
+	 * @return the current table
+	 * 
+	 * @since 3.2
+	 */
 
-			scanner.close();
-			input.close();
-			in.close();
+	public ShipTable getShipTable() {
+		return table;
+	}
 
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.exit(1);
-		}
+	/**
+	 * Replaces the classes of ships the factory builds. Ships already built keep their systems; ships built from now
+	 * on use the new table.
+	 * 
+	 * @param table
+	 *            the new table
+	 * 
+	 * @since 3.2
+	 */
 
+	public void setShipTable(ShipTable table) {
+		this.table = table;
 	}
 
-}
\ No newline at end of file
+}
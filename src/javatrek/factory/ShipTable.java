@@ -0,0 +1,437 @@
+package javatrek.factory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javatrek.JavaTrek;
+
+/**
+ * The classes of ships read from the ship types file. A table never changes once it is read; reloading the file
+ * creates a new table, which the ship factory swaps in whole.
+ *
+ * <P>
+ * When the file is a loose file, it is parsed and validated once, and the resulting classes are written to a binary
+ * cache in the temporary directory (javatrek-ship_types.bin), away from the classpath. Later starts read the cache
+ * instead of the file, for as long as the file's path, size and modification time match the ones the cache was built
+ * from. The file's rows are taken from the asset loader, so that it is read only once however many parts of the game
+ * need it; when it is packed into a jar or archive there is no cache, as the rows arrive already split. The
+ * javatrek.ships system property names a ship types file to use in place of the one on the classpath.
+ *
+ * <P>
+ * Cache layout (big-endian): magic, version, the file's absolute path, size and modification time, the table's
+ * checksum, the number of classes, each class (see ShipClass.write ()), and finally the CRC-32 of everything before
+ * it.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - the cache is checked by the file's size and modification time, and kept out of the
+ * classpath; the file's rows come from the asset loader; added reload ()
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public final class ShipTable implements Serializable {
+
+	/** the system property that names the ship types file to use */
+	public static final String PROPERTY = "javatrek.ships";
+
+	/** the ship types file's resource name */
+	public static final String RESOURCE = "/data/ship_types.csv";
+
+	/** the cache's file name */
+	private static final String CACHE_NAME = "ship_types.bin";
+
+	/** identifies a cache file ("JTSC") */
+	private static final int MAGIC = 0x4A545343;
+
+	private static final long serialVersionUID = 1L;
+
+	/** the cache format's version */
+	private static final int VERSION = 2;
+
+	/** the classes of ships, by id */
+	private final ShipClass by_id[];
+
+	/** the classes of ships, by name */
+	private final Map<String, ShipClass> by_name;
+
+	/** the CRC-32 of the rows the table was read from */
+	private final long checksum;
+
+	/** the names of the classes of ships, in id order */
+	private final List<String> classes;
+
+	/**
+	 * Creates a table.
+	 *
+	 * @param list
+	 *            the classes of ships, in id order
+	 * @param checksum
+	 *            the CRC-32 of the rows the classes were read from
+	 *
+	 * @throws IllegalArgumentException
+	 *             if there are no classes, or two share a name
+	 *
+	 * @since 3.0
+	 */
+
+	private ShipTable(List<ShipClass> list, long checksum) {
+		if (list.isEmpty())
+			throw new IllegalArgumentException("the ship types file holds no classes of ships");
+
+		by_id = list.toArray(new ShipClass[list.size()]);
+		by_name = new HashMap<>();
+		this.checksum = checksum;
+
+		String names[] = new String[by_id.length];
+		for (ShipClass sc : by_id) {
+			if (by_name.put(sc.getName(), sc) != null)
+				throw new IllegalArgumentException("there are two classes of ships named " + sc.getName());
+			names[sc.getId()] = sc.getName();
+		}
+		classes = Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	/**
+	 * Returns the table's ship types file, if it is a file that can be read and watched.
+	 *
+	 * @return the file, or null if the ship types are packed into a jar or archive
+	 *
+	 * @since 3.0
+	 */
+
+	public static Path getSourceFile() {
+		String property = System.getProperty(PROPERTY);
+		if (property != null)
+			return Paths.get(property);
+
+		URL url = ShipTable.class.getResource(RESOURCE);
+		if ((url == null) || (url.getProtocol().equals("file") == false))
+			return null;
+
+		try {
+			return Paths.get(url.toURI());
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the table, from the cache if it is current, or else by parsing the ship types file and rebuilding the
+	 * cache. The file's rows are shared with the asset loader.
+	 *
+	 * @return the table
+	 *
+	 * @throws IOException
+	 *             if the ship types file cannot be read
+	 * @throws IllegalArgumentException
+	 *             if the ship types file holds a bad row (the message names the row)
+	 *
+	 * @since 3.0
+	 */
+
+	public static ShipTable load() throws IOException {
+		return load(false);
+	}
+
+	/**
+	 * Loads the table again after the ship types file has changed, reading the file itself rather than the asset
+	 * loader's copy of it.
+	 *
+	 * @return the table
+	 *
+	 * @throws IOException
+	 *             if the ship types file cannot be read
+	 * @throws IllegalArgumentException
+	 *             if the ship types file holds a bad row (the message names the row)
+	 *
+	 * @since 3.1
+	 */
+
+	public static ShipTable reload() throws IOException {
+		return load(true);
+	}
+
+	/**
+	 * Loads the table.
+	 *
+	 * @param reread
+	 *            true to read the ship types file itself, false to take its rows from the asset loader
+	 *
+	 * @return the table
+	 *
+	 * @throws IOException
+	 *             if the ship types file cannot be read
+	 *
+	 * @since 3.1
+	 */
+
+	private static ShipTable load(boolean reread) throws IOException {
+		Path source = getSourceFile();
+		if (source == null)
+			return parse(JavaTrek.assets.getRows(RESOURCE), RESOURCE);
+
+		// the file is checked before it is read, so a later change always leaves it newer than the cache
+		BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+		String path = source.toAbsolutePath().toString();
+		long size = attrs.size();
+		long modified = attrs.lastModifiedTime().toMillis();
+
+		Path cache = Paths.get(System.getProperty("java.io.tmpdir"), "javatrek-" + CACHE_NAME);
+		ShipTable table = readCache(cache, path, size, modified);
+		if (table != null)
+			return table;
+
+		// the asset loader holds only the classpath's file, as it was at startup
+		List<String[]> rows;
+		if (reread || (System.getProperty(PROPERTY) != null)) {
+			rows = new ArrayList<>();
+			for (String line : Files.readAllLines(source, StandardCharsets.UTF_8))
+				rows.add(line.split(","));
+		} else {
+			rows = JavaTrek.assets.getRows(RESOURCE);
+		}
+
+		table = parse(rows, source.toString());
+		writeCache(cache, table, path, size, modified);
+
+		return table;
+	}
+
+	/**
+	 * Parses the rows of a ship types file. The heading and blank rows are skipped.
+	 *
+	 * @param rows
+	 *            the file's rows, split at their commas
+	 * @param filename
+	 *            the file's name, for reporting a bad row
+	 *
+	 * @return the table
+	 *
+	 * @throws IllegalArgumentException
+	 *             if a row is bad, naming the row
+	 *
+	 * @since 3.0
+	 */
+
+	private static ShipTable parse(List<String[]> rows, String filename) {
+		List<ShipClass> list = new ArrayList<>();
+		CRC32 crc = new CRC32();
+
+		for (int r = 0; r < rows.size(); r++) {
+			String cols[] = rows.get(r);
+			String row = String.join(",", cols);
+			crc.update((row + "\n").getBytes(StandardCharsets.UTF_8));
+
+			if (((cols.length > 0) && cols[0].startsWith("Ship Class")) || (row.trim().length() < 1))
+				continue;
+
+			try {
+				list.add(new ShipClass(list.size(), cols));
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException(String.format("bad row %d of %s:  %s (%s)", r + 1, filename,
+						e.getMessage(), row), e);
+			}
+		}
+
+		return new ShipTable(list, crc.getValue());
+	}
+
+	/**
+	 * Reads the cache, if it is intact and was built from the current ship types file.
+	 *
+	 * @param cache
+	 *            the cache file
+	 * @param path
+	 *            the ship types file's absolute path
+	 * @param size
+	 *            the ship types file's size
+	 * @param modified
+	 *            the ship types file's modification time
+	 *
+	 * @return the table, or null if the cache is missing, stale or damaged
+	 *
+	 * @since 3.0
+	 */
+
+	private static ShipTable readCache(Path cache, String path, long size, long modified) {
+		if (Files.isReadable(cache) == false)
+			return null;
+
+		try {
+			byte bytes[] = Files.readAllBytes(cache);
+			if (bytes.length < 8)
+				throw new IOException("truncated");
+
+			// the trailer covers everything else, so a torn or corrupted write is never trusted
+			CRC32 crc = new CRC32();
+			crc.update(bytes, 0, bytes.length - 8);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+			in.skipBytes(bytes.length - 8);
+			if (in.readLong() != crc.getValue())
+				throw new IOException("checksum mismatch");
+
+			in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+			if ((in.readInt() != MAGIC) || (in.readInt() != VERSION))
+				return null;
+			if ((in.readUTF().equals(path) == false) || (in.readLong() != size) || (in.readLong() != modified))
+				return null;
+
+			long checksum = in.readLong();
+			int count = in.readInt();
+			List<ShipClass> list = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				list.add(new ShipClass(i, in));
+
+			return new ShipTable(list, checksum);
+		} catch (Exception e) {
+			System.out.println("Ignoring the damaged ship table cache " + cache + ":  " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the cache, replacing any older one in a single step. A cache that cannot be written is skipped; the next
+	 * start simply parses the file again.
+	 *
+	 * @param cache
+	 *            the cache file
+	 * @param table
+	 *            the table to write
+	 * @param path
+	 *            the ship types file's absolute path
+	 * @param size
+	 *            the ship types file's size
+	 * @param modified
+	 *            the ship types file's modification time
+	 *
+	 * @since 3.0
+	 */
+
+	private static void writeCache(Path cache, ShipTable table, String path, long size, long modified) {
+		Path temp = null;
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(path);
+			out.writeLong(size);
+			out.writeLong(modified);
+			out.writeLong(table.checksum);
+			out.writeInt(table.by_id.length);
+			for (ShipClass sc : table.by_id)
+				sc.write(out);
+
+			CRC32 crc = new CRC32();
+			crc.update(bytes.toByteArray());
+			out.writeLong(crc.getValue());
+			out.flush();
+
+			temp = Files.createTempFile(cache.toAbsolutePath().getParent(), "ship_types", ".tmp");
+			Files.write(temp, bytes.toByteArray());
+			try {
+				Files.move(temp, cache, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not write the ship table cache " + cache + ":  " + e.getMessage());
+			try {
+				if (temp != null)
+					Files.deleteIfExists(temp);
+			} catch (IOException e2) {
+				// nothing more can be done
+			}
+		}
+	}
+
+	/**
+	 * Returns the CRC-32 of the rows the table was read from, which changes only when their contents do.
+	 *
+	 * @return the checksum
+	 *
+	 * @since 3.0
+	 */
+
+	public long getChecksum() {
+		return checksum;
+	}
+
+	/**
+	 * Returns a class of ship, by id.
+	 *
+	 * @param class_id
+	 *            the class' id (0 to getShipClassCount () - 1)
+	 *
+	 * @return the class of ship
+	 *
+	 * @since 3.0
+	 */
+
+	public ShipClass getShipClass(int class_id) {
+		return by_id[class_id];
+	}
+
+	/**
+	 * Returns a class of ship, by name.
+	 *
+	 * @param class_name
+	 *            the class' name
+	 *
+	 * @return the class of ship, or null if there is no such class
+	 *
+	 * @since 3.0
+	 */
+
+	public ShipClass getShipClass(String class_name) {
+		return by_name.get(class_name);
+	}
+
+	/**
+	 * Returns the number of classes of ships in the table.
+	 *
+	 * @return the number of classes
+	 *
+	 * @since 3.0
+	 */
+
+	public int getShipClassCount() {
+		return by_id.length;
+	}
+
+	/**
+	 * Returns the names of the classes of ships in the table.
+	 *
+	 * @return an unmodifiable list of the names, in id order
+	 *
+	 * @since 3.0
+	 */
+
+	public List<String> getShipClasses() {
+		return classes;
+	}
+
+}
@@ -0,0 +1,136 @@
+package javatrek.factory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the ship types file whenever it is saved, for balancing ships without restarting the game (debug mode only).
+ * A reloaded table replaces the factory's whole, so ships spawned afterwards use the new values and ships already in
+ * the game keep theirs. A file with a bad row is reported and the previous table kept, so a half-finished edit never
+ * stops the game.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - reloads read the file itself, not the copy loaded at startup
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class ShipTableWatcher {
+
+	/** the time to wait for an editor to finish writing the file, in milliseconds */
+	private static final int SETTLE_TIME = 250;
+
+	/** the factory whose table is replaced */
+	private final ShipFactory factory;
+
+	/** the watcher thread (null until started) */
+	private Thread thread = null;
+
+	/**
+	 * Creates a watcher.
+	 *
+	 * @param factory
+	 *            the factory whose table is replaced on each reload
+	 *
+	 * @since 3.0
+	 */
+
+	public ShipTableWatcher(ShipFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Starts watching the ship types file. Nothing is watched if the file is packed into a jar or archive.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void start() {
+		if (thread != null)
+			return;
+
+		Path file = ShipTable.getSourceFile();
+		if (file == null) {
+			System.out.println("The ship types file is packed, so it will not be reloaded when changed.");
+			return;
+		}
+
+		WatchService ws;
+		try {
+			ws = file.getFileSystem().newWatchService();
+			file.toAbsolutePath().getParent().register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			System.out.println("Could not watch the ship types file " + file + ":  " + e.getMessage());
+			return;
+		}
+
+		thread = new Thread(() -> run(ws, file.getFileName()), "ship-table-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Reloads the ship types file, keeping the current table if the file has a bad row or has not really changed.
+	 *
+	 * @since 3.0
+	 */
+
+	private void reload() {
+		try {
+			ShipTable table = ShipTable.reload();
+			if (table.getChecksum() == factory.getShipTable().getChecksum())
+				return;
+
+			factory.setShipTable(table);
+			System.out.println("Reloaded " + table.getShipClassCount() + " classes of ships.");
+		} catch (Exception e) {
+			System.out.println("Kept the previous classes of ships:  " + e.getMessage());
+		}
+	}
+
+	/**
+	 * The watcher thread's loop.
+	 *
+	 * @param ws
+	 *            the watch service registered on the file's directory
+	 * @param name
+	 *            the file's name within its directory
+	 *
+	 * @since 3.0
+	 */
+
+	private void run(WatchService ws, Path name) {
+		try {
+			while (true) {
+				WatchKey key = ws.take();
+				boolean changed = false;
+
+				// an editor's save can arrive as several events; they are gathered into one reload
+				while (key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (name.equals(event.context()))
+							changed = true;
+					}
+					key.reset();
+					key = ws.poll(SETTLE_TIME, TimeUnit.MILLISECONDS);
+				}
+
+				if (changed)
+					reload();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// the game is ending
+		}
+	}
+
+}
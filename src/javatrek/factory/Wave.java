@@ -0,0 +1,249 @@
+package javatrek.factory;
+
+import java.util.Arrays;
+
+import javatrek.JavaTrek;
+import javatrek.Space;
+
+/**
+ * The composition of a wave of ships: how many ships of each class, on which team, arrive in which quadrant. A wave is
+ * placed, named and built as a whole by GameData.addShips ().
+ *
+ * <PRE>
+ * Wave wave = new Wave();
+ * wave.add("Raptor Warship", SpaceObject.RAIDERS, 40, 0);
+ * wave.add("Gunboat", SpaceObject.PIRATES, 10, 0);
+ * JavaTrek.game.gamedata.addShips(wave);
+ * </PRE>
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - entries keep their class, so a wave is built as it was composed even if the ship
+ * types file is reloaded meanwhile
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class Wave {
+
+	/** the class of each entry's ships */
+	private ShipClass classes[] = new ShipClass[4];
+
+	/** the number of ships in each entry */
+	private int counts[] = new int[4];
+
+	/** the number of entries */
+	private int entries = 0;
+
+	/** the quadrant each entry's ships arrive in */
+	private int quadrants[] = new int[4];
+
+	/** the team of each entry's ships */
+	private int teams[] = new int[4];
+
+	/** the number of ships in the wave */
+	private int total = 0;
+
+	/**
+	 * Adds ships of a class, given by id, to the wave.
+	 *
+	 * @param class_id
+	 *            the class of ship
+	 * @param team
+	 *            the team the ships are on
+	 * @param count
+	 *            the number of ships
+	 * @param quadrant
+	 *            the quadrant the ships arrive in
+	 *
+	 * @return this wave
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the class or quadrant does not exist, or the count is negative
+	 *
+	 * @since 3.0
+	 */
+
+	public Wave add(int class_id, int team, int count, int quadrant) {
+		ShipTable table = JavaTrek.ship_factory.getShipTable();
+		if ((class_id < 0) || (class_id >= table.getShipClassCount()))
+			throw new IllegalArgumentException("No such class of ship:  " + class_id);
+
+		return add(table.getShipClass(class_id), team, count, quadrant);
+	}
+
+	/**
+	 * Adds ships of a class to the wave.
+	 *
+	 * @param sc
+	 *            the class of ship
+	 * @param team
+	 *            the team the ships are on
+	 * @param count
+	 *            the number of ships
+	 * @param quadrant
+	 *            the quadrant the ships arrive in
+	 *
+	 * @return this wave
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the class is null, the quadrant does not exist, or the count is negative
+	 *
+	 * @since 3.1
+	 */
+
+	public Wave add(ShipClass sc, int team, int count, int quadrant) {
+		if (sc == null)
+			throw new IllegalArgumentException("No class of ship given");
+		if ((quadrant < 0) || (quadrant >= Space.QUADRANTS))
+			throw new IllegalArgumentException("No such quadrant:  " + quadrant);
+		if (count < 0)
+			throw new IllegalArgumentException("Negative ship count:  " + count);
+
+		if (entries == classes.length) {
+			classes = Arrays.copyOf(classes, entries * 2);
+			counts = Arrays.copyOf(counts, entries * 2);
+			quadrants = Arrays.copyOf(quadrants, entries * 2);
+			teams = Arrays.copyOf(teams, entries * 2);
+		}
+
+		classes[entries] = sc;
+		counts[entries] = count;
+		quadrants[entries] = quadrant;
+		teams[entries] = team;
+		entries++;
+		total += count;
+
+		return this;
+	}
+
+	/**
+	 * Adds ships of a class, given by name, to the wave.
+	 *
+	 * @param class_name
+	 *            the class of ship
+	 * @param team
+	 *            the team the ships are on
+	 * @param count
+	 *            the number of ships
+	 * @param quadrant
+	 *            the quadrant the ships arrive in
+	 *
+	 * @return this wave
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the class or quadrant does not exist, or the count is negative
+	 *
+	 * @since 3.0
+	 */
+
+	public Wave add(String class_name, int team, int count, int quadrant) {
+		ShipClass sc = JavaTrek.ship_factory.getShipClass(class_name);
+		if (sc == null)
+			throw new IllegalArgumentException("No such class of ship:  " + class_name);
+
+		return add(sc, team, count, quadrant);
+	}
+
+	/**
+	 * Returns the class of an entry's ships.
+	 *
+	 * @param entry
+	 *            the entry (0 to getEntryCount () - 1)
+	 *
+	 * @return the class' id
+	 *
+	 * @since 3.0
+	 */
+
+	public int getClassId(int entry) {
+		return classes[entry].getId();
+	}
+
+	/**
+	 * Returns the number of ships in the wave.
+	 *
+	 * @return the number of ships
+	 *
+	 * @since 3.0
+	 */
+
+	public int getCount() {
+		return total;
+	}
+
+	/**
+	 * Returns the number of ships in an entry.
+	 *
+	 * @param entry
+	 *            the entry (0 to getEntryCount () - 1)
+	 *
+	 * @return the number of ships
+	 *
+	 * @since 3.0
+	 */
+
+	public int getCount(int entry) {
+		return counts[entry];
+	}
+
+	/**
+	 * Returns the number of entries, each a number of ships of one class and team arriving in one quadrant.
+	 *
+	 * @return the number of entries
+	 *
+	 * @since 3.0
+	 */
+
+	public int getEntryCount() {
+		return entries;
+	}
+
+	/**
+	 * Returns the class of an entry's ships.
+	 *
+	 * @param entry
+	 *            the entry (0 to getEntryCount () - 1)
+	 *
+	 * @return the class of ship
+	 *
+	 * @since 3.1
+	 */
+
+	public ShipClass getShipClass(int entry) {
+		return classes[entry];
+	}
+
+	/**
+	 * Returns the quadrant an entry's ships arrive in.
+	 *
+	 * @param entry
+	 *            the entry (0 to getEntryCount () - 1)
+	 *
+	 * @return the quadrant
+	 *
+	 * @since 3.0
+	 */
+
+	public int getQuadrant(int entry) {
+		return quadrants[entry];
+	}
+
+	/**
+	 * Returns the team of an entry's ships.
+	 *
+	 * @param entry
+	 *            the entry (0 to getEntryCount () - 1)
+	 *
+	 * @return the team
+	 *
+	 * @since 3.0
+	 */
+
+	public int getTeam(int entry) {
+		return teams[entry];
+	}
+
+}
@@ -28,8 +28,7 @@ public class MaxEnergy implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().maxEnergy ();
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Max Energy", () -> JavaTrek.game.gamedata.space.getPlayersShip ().maxEnergy ());
 }
 
 }
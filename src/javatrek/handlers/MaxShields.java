@@ -28,8 +28,7 @@ public class MaxShields implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().maxShields ();
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Max Shields", () -> JavaTrek.game.gamedata.space.getPlayersShip ().maxShields ());
 }
 
 }
@@ -10,10 +10,11 @@ import javatrek.JavaTrek;
  * 
  * <UL>
  * <LI>Version 2.0 - 10/31/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - rests are run by the game loop, and can be cancelled
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 10/31/2004
+ * @version	2.1 - 10/19/2026
  */
 
 public class Rest implements ActionListener
@@ -62,8 +63,8 @@ public Rest (int h)
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.passTime (hours);
-	JavaTrek.game.refresh ();
+	// rests run on the game loop, and may be cancelled between hours
+	JavaTrek.loop.submit ("Resting", true, () -> JavaTrek.game.gamedata.passTime (hours));
 }
 
 }
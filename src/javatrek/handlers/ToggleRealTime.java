@@ -0,0 +1,46 @@
+package javatrek.handlers;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.AbstractButton;
+
+import javatrek.JavaTrek;
+
+/** 
+ * <P>Turns the real-time mode on and off, following the state of the
+ * check box (or toggle button) that sent the event.
+ * 
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ * 
+ * @author	Andrew Killam
+ * @version	3.0 - 10/19/2026
+ */
+
+public class ToggleRealTime implements ActionListener
+{
+	
+/**		Handles the action events.
+ * 
+ * 		@param		e		the incoming action event
+ * 
+ * 		@since		3.0
+ */
+
+public void actionPerformed (ActionEvent e)
+{
+	if (((AbstractButton) e.getSource ()).isSelected () == true)
+	{
+		JavaTrek.clock.start ();
+		JavaTrek.game.console.addMessage ("BlackLeft", "Real-time mode is on.\n");
+	}
+	else
+	{
+		JavaTrek.clock.stop ();
+		JavaTrek.game.console.addMessage ("BlackLeft", "Real-time mode is off.\n");
+	}
+}
+
+}
@@ -30,8 +30,7 @@ public class DebugEnergyDamage implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.ENERGY_DAMAGE);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Energy Damage", () -> JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.ENERGY_DAMAGE));
 }
 
 }
@@ -30,8 +30,7 @@ public class DebugEnergyDamageSystem implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().damageSystems (101, Machine.ENERGY_DAMAGE);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Energy System Damage", () -> JavaTrek.game.gamedata.space.getPlayersShip ().damageSystems (101, Machine.ENERGY_DAMAGE));
 }
 
 }
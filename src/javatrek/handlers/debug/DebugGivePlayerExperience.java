@@ -28,8 +28,7 @@ public class DebugGivePlayerExperience implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.player.addExperience (5000);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Give Experience", () -> JavaTrek.game.gamedata.player.addExperience (5000));
 }
 
 }
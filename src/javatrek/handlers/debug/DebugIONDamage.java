@@ -30,8 +30,7 @@ public class DebugIONDamage implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.ION_DAMAGE);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("ION Damage", () -> JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.ION_DAMAGE));
 }
 
 }
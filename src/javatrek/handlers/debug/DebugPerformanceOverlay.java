@@ -0,0 +1,55 @@
+package javatrek.handlers.debug;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.AbstractButton;
+
+import javatrek.JavaTrek;
+import javatrek.panels.PerformanceOverlay;
+
+/** 
+ * <P>Debugging command:  shows or hides the performance overlay, which
+ * reports paint, refresh and turn times over the game window.
+ * 
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ * 
+ * @author	Andrew Killam
+ * @version	3.0 - 10/19/2026
+ */
+
+public class DebugPerformanceOverlay implements ActionListener
+{
+	
+//////////////////////////////////////////////////////////////////////////////
+//  private fields
+//////////////////////////////////////////////////////////////////////////////
+
+/** the overlay (installed as the window's glass pane on first use) */
+private PerformanceOverlay overlay = null;
+
+//////////////////////////////////////////////////////////////////////////////
+//  action handler
+//////////////////////////////////////////////////////////////////////////////
+
+/**		Handles the action events.
+ * 
+ * 		@param		e		the incoming action event
+ * 
+ * 		@since		3.0
+ */
+
+public void actionPerformed (ActionEvent e)
+{
+	if (overlay == null)
+	{
+		overlay = new PerformanceOverlay ();
+		JavaTrek.game.setGlassPane (overlay);
+	}
+	
+	overlay.setShowing (((AbstractButton) e.getSource ()).isSelected ());
+}
+
+}
@@ -30,8 +30,7 @@ public class DebugProjectileDamage implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.PROJECTILE_DAMAGE);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Projectile Damage", () -> JavaTrek.game.gamedata.space.getPlayersShip ().takeDamage (101, Machine.PROJECTILE_DAMAGE));
 }
 
 }
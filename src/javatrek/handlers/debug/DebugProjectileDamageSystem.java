@@ -30,8 +30,7 @@ public class DebugProjectileDamageSystem implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	JavaTrek.game.gamedata.space.getPlayersShip ().damageSystems (101, Machine.PROJECTILE_DAMAGE);
-	JavaTrek.game.refresh ();
+	JavaTrek.loop.submit ("Projectile System Damage", () -> JavaTrek.game.gamedata.space.getPlayersShip ().damageSystems (101, Machine.PROJECTILE_DAMAGE));
 }
 
 }
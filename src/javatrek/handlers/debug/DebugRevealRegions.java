@@ -3,6 +3,7 @@ package javatrek.handlers.debug;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.systems.Computer;
 
@@ -30,12 +31,15 @@ public class DebugRevealRegions implements ActionListener
 
 public void actionPerformed (ActionEvent e)
 {
-	Computer computer = (Computer) JavaTrek.game.gamedata.space.getPlayersShip ().getSystem (Computer.class.getName ());
-	if (computer != null)
+	JavaTrek.loop.submit ("Reveal Regions", () ->
 	{
-		computer.setAll (true);
-		JavaTrek.game.refresh ();
-	}
+		Computer computer = (Computer) JavaTrek.game.gamedata.space.getPlayersShip ().getSystem (Computer.class.getName ());
+		if (computer != null)
+		{
+			computer.setAll (true);
+			JavaTrek.changes.post (Change.REGION_CONTENTS_CHANGED);
+		}
+	});
 }
 
 }
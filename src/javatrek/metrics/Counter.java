@@ -0,0 +1,76 @@
+package javatrek.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, striped across cells so that threads updating it at the same time do not contend.
+ * Counters are created through Metrics.counter () and are usually held in static fields by the code they count.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class Counter {
+
+	/** the count */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Creates a counter (see Metrics.counter ()).
+	 *
+	 * @since 3.0
+	 */
+
+	Counter() {
+	}
+
+	/**
+	 * Adds to the count.
+	 *
+	 * @param n
+	 *            the amount to add
+	 *
+	 * @since 3.0
+	 */
+
+	public void add(long n) {
+		count.add(n);
+	}
+
+	/**
+	 * Returns the count.
+	 *
+	 * @return the count
+	 *
+	 * @since 3.0
+	 */
+
+	public long get() {
+		return count.sum();
+	}
+
+	/**
+	 * Adds one to the count.
+	 *
+	 * @since 3.0
+	 */
+
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Sets the count back to zero.
+	 *
+	 * @since 3.0
+	 */
+
+	void reset() {
+		count.reset();
+	}
+
+}
@@ -0,0 +1,198 @@
+package javatrek.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Java Flight Recorder event type for the game. The game is built for Java 8, whose class library does not include
+ * the jdk.jfr API, so the event types are defined at run time through jdk.jfr.EventFactory when the running JVM has it
+ * (OpenJDK 8u272 and later, and Java 11 and later). On any other JVM every event is silently skipped.
+ *
+ * <P>
+ * Events have fixed fields and no stack traces. When no recording has enabled an event, begin () returns null after a
+ * single check, and callers skip the rest:
+ *
+ * <PRE>
+ * Object e = FlightEvent.PASS_TIME.begin();
+ * ...
+ * if (e != null)
+ * 	FlightEvent.PASS_TIME.commit(e, hours, objects);
+ * </PRE>
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class FlightEvent {
+
+	/** the category every game event is listed under */
+	private static final String CATEGORY = "JavaTrek";
+
+	/** a call to GameData.passTime () or GameData.advance (): the hours passed and the objects given time */
+	public static final FlightEvent PASS_TIME = new FlightEvent("javatrek.PassTime", "Pass Time",
+			new String[] { "hours", "objects" }, new Class<?>[] { float.class, int.class });
+
+	/** a saved game being written: the file, its size and its format */
+	public static final FlightEvent SAVE = new FlightEvent("javatrek.Save", "Save Game",
+			new String[] { "file", "bytes", "format" }, new Class<?>[] { String.class, long.class, String.class });
+
+	/** a saved game being read: the file, its size and its format */
+	public static final FlightEvent LOAD = new FlightEvent("javatrek.Load", "Load Game",
+			new String[] { "file", "bytes", "format" }, new Class<?>[] { String.class, long.class, String.class });
+
+	/** a map being painted: the map and the area painted */
+	public static final FlightEvent MAP_REPAINT = new FlightEvent("javatrek.MapRepaint", "Map Repaint",
+			new String[] { "map", "width", "height" }, new Class<?>[] { String.class, int.class, int.class });
+
+	/** a hit being resolved against a machine: the target, the damage, its cause and whether the target survived */
+	public static final FlightEvent COMBAT = new FlightEvent("javatrek.Combat", "Combat Resolution",
+			new String[] { "target", "damage", "cause", "survived" },
+			new Class<?>[] { String.class, int.class, int.class, boolean.class });
+
+	/** starts the event's timing: (Object) void */
+	private MethodHandle begin;
+
+	/** commits the event: (Object) void */
+	private MethodHandle commit;
+
+	/** determines if a recording has enabled the event type: () boolean */
+	private MethodHandle enabled;
+
+	/** creates an instance of the event: () Object */
+	private MethodHandle create;
+
+	/** sets a field of the event: (Object, int, Object) void */
+	private MethodHandle set;
+
+	/**
+	 * Defines an event type, if the JVM supports Flight Recorder events.
+	 *
+	 * @param name
+	 *            the event's name
+	 * @param label
+	 *            the event's label, as shown by JDK Mission Control
+	 * @param fields
+	 *            the names of the event's fields
+	 * @param types
+	 *            the types of the event's fields
+	 *
+	 * @since 3.0
+	 */
+
+	private FlightEvent(String name, String label, String fields[], Class<?> types[]) {
+		try {
+			Class<?> factory_class = Class.forName("jdk.jfr.EventFactory");
+			Class<?> event_class = Class.forName("jdk.jfr.Event");
+			Class<?> element_class = Class.forName("jdk.jfr.AnnotationElement");
+			Class<?> descriptor_class = Class.forName("jdk.jfr.ValueDescriptor");
+
+			Constructor<?> element = element_class.getConstructor(Class.class, Object.class);
+			List<Object> annotations = new ArrayList<>();
+			annotations.add(element.newInstance(annotation("jdk.jfr.Name"), name));
+			annotations.add(element.newInstance(annotation("jdk.jfr.Label"), label));
+			annotations.add(element.newInstance(annotation("jdk.jfr.Category"), new String[] { CATEGORY }));
+			annotations.add(element.newInstance(annotation("jdk.jfr.StackTrace"), Boolean.FALSE));
+
+			Constructor<?> descriptor = descriptor_class.getConstructor(Class.class, String.class);
+			List<Object> values = new ArrayList<>();
+			for (int i = 0; i < fields.length; i++)
+				values.add(descriptor.newInstance(types[i], fields[i]));
+
+			Object factory = factory_class.getMethod("create", List.class, List.class).invoke(null, annotations,
+					values);
+			Object type = factory_class.getMethod("getEventType").invoke(factory);
+
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			MethodType as_void = MethodType.methodType(void.class, Object.class);
+			enabled = lookup.findVirtual(type.getClass(), "isEnabled", MethodType.methodType(boolean.class))
+					.bindTo(type);
+			create = lookup.findVirtual(factory_class, "newEvent", MethodType.methodType(event_class)).bindTo(factory)
+					.asType(MethodType.methodType(Object.class));
+			begin = lookup.findVirtual(event_class, "begin", MethodType.methodType(void.class)).asType(as_void);
+			commit = lookup.findVirtual(event_class, "commit", MethodType.methodType(void.class)).asType(as_void);
+			set = lookup.findVirtual(event_class, "set", MethodType.methodType(void.class, int.class, Object.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+		} catch (ClassNotFoundException e) {
+			// no Flight Recorder API: every event is skipped
+			enabled = null;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			System.out.println(String.format("Could not define the Flight Recorder event '%s'", name));
+			e.printStackTrace();
+			enabled = null;
+		}
+	}
+
+	/**
+	 * Starts an event, if a recording has enabled its type.
+	 *
+	 * @return the event, or null if it is not being recorded
+	 *
+	 * @since 3.0
+	 */
+
+	public Object begin() {
+		if (enabled == null)
+			return null;
+
+		try {
+			if ((boolean) enabled.invokeExact() == false)
+				return null;
+
+			Object event = (Object) create.invokeExact();
+			begin.invokeExact(event);
+			return event;
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	/**
+	 * Sets an event's fields, in the order they were defined, and commits it.
+	 *
+	 * @param event
+	 *            the value returned by begin () (must not be null)
+	 * @param values
+	 *            the event's field values
+	 *
+	 * @since 3.0
+	 */
+
+	public void commit(Object event, Object... values) {
+		try {
+			for (int i = 0; i < values.length; i++)
+				set.invokeExact(event, i, values[i]);
+			commit.invokeExact(event);
+		} catch (Throwable t) {
+			// a lost event is never worth disturbing the game for
+		}
+	}
+
+	/**
+	 * Loads a jdk.jfr annotation type.
+	 *
+	 * @param name
+	 *            the annotation's class name
+	 *
+	 * @return the annotation's class
+	 *
+	 * @throws ClassNotFoundException
+	 *             if the annotation does not exist
+	 *
+	 * @since 3.0
+	 */
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Annotation> annotation(String name) throws ClassNotFoundException {
+		return (Class<? extends Annotation>) Class.forName(name);
+	}
+
+}
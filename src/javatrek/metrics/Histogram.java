@@ -0,0 +1,185 @@
+package javatrek.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of non-negative values, in the style of an HDR histogram: each power of two is split into
+ * eight equal buckets, so any recorded value is reported to within 12.5% using a fixed 488 buckets, whatever the range
+ * of the values. Recording is lock-free and allocates nothing.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class Histogram {
+
+	/** the number of bits of a value kept below its leading bit */
+	private static final int SUB_BITS = 3;
+
+	/** the number of buckets per power of two */
+	private static final int SUB = 1 << SUB_BITS;
+
+	/** the number of buckets needed for any non-negative long */
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+	/** the counts of each bucket */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/** the number of values recorded */
+	private final LongAdder count = new LongAdder();
+
+	/** the largest value recorded */
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	/** the smallest value recorded */
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+	/** the sum of the values recorded */
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Creates a histogram (see Metrics.histogram ()).
+	 *
+	 * @since 3.0
+	 */
+
+	Histogram() {
+	}
+
+	/**
+	 * Returns the bucket a value is counted in.
+	 *
+	 * @param value
+	 *            a non-negative value
+	 *
+	 * @return the bucket's index
+	 *
+	 * @since 3.0
+	 */
+
+	static int bucketOf(long value) {
+		if (value < SUB)
+			return (int) value;
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		return ((exponent - SUB_BITS + 1) * SUB) + (int) ((value >>> (exponent - SUB_BITS)) & (SUB - 1));
+	}
+
+	/**
+	 * Returns the largest value counted in a bucket.
+	 *
+	 * @param bucket
+	 *            the bucket's index
+	 *
+	 * @return the bucket's upper bound
+	 *
+	 * @since 3.0
+	 */
+
+	static long highestIn(int bucket) {
+		if (bucket < SUB)
+			return bucket;
+
+		int group = bucket / SUB;
+		int exponent = group + SUB_BITS - 1;
+		long width = 1L << (exponent - SUB_BITS);
+		long low = (long) (SUB + (bucket % SUB)) << (exponent - SUB_BITS);
+		return low + width - 1;
+	}
+
+	/**
+	 * Records a value; negative values are recorded as zero.
+	 *
+	 * @param value
+	 *            the value to record
+	 *
+	 * @since 3.0
+	 */
+
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+
+		buckets.incrementAndGet(bucketOf(value));
+		count.increment();
+		sum.add(value);
+
+		long v = value;
+		min.accumulateAndGet(v, Math::min);
+		max.accumulateAndGet(v, Math::max);
+	}
+
+	/**
+	 * Takes a consistent-enough copy of the histogram's summary (values recorded while the copy is taken may or may
+	 * not be included).
+	 *
+	 * @return the summary
+	 *
+	 * @since 3.0
+	 */
+
+	public HistogramSnapshot snapshot() {
+		long counts[] = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		if (total == 0)
+			return new HistogramSnapshot(0, 0, 0, 0.0, 0, 0, 0, 0);
+
+		return new HistogramSnapshot(total, min.get(), max.get(), (double) sum.sum() / Math.max(1, count.sum()),
+				percentile(counts, total, 50.0), percentile(counts, total, 90.0), percentile(counts, total, 99.0),
+				percentile(counts, total, 99.9));
+	}
+
+	/**
+	 * Returns the value at a percentile of copied bucket counts.
+	 *
+	 * @param counts
+	 *            the bucket counts
+	 * @param total
+	 *            the sum of the counts
+	 * @param p
+	 *            the percentile (0 to 100)
+	 *
+	 * @return the upper bound of the bucket holding the percentile
+	 *
+	 * @since 3.0
+	 */
+
+	private long percentile(long counts[], long total, double p) {
+		long rank = Math.max(1, (long) Math.ceil((p / 100.0) * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(highestIn(i), max.get());
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Discards every recorded value.
+	 *
+	 * @since 3.0
+	 */
+
+	void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			buckets.set(i, 0);
+		count.reset();
+		sum.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(Long.MIN_VALUE);
+	}
+
+}
@@ -0,0 +1,112 @@
+package javatrek.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * An immutable summary of a histogram, as published through JMX (each getter becomes an item of the MBean's
+ * composite data).
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class HistogramSnapshot {
+
+	/** the number of values recorded */
+	private final long count;
+
+	/** the largest value recorded */
+	private final long max;
+
+	/** the mean of the values recorded */
+	private final double mean;
+
+	/** the smallest value recorded */
+	private final long min;
+
+	/** the median */
+	private final long p50;
+
+	/** the 90th percentile */
+	private final long p90;
+
+	/** the 99th percentile */
+	private final long p99;
+
+	/** the 99.9th percentile */
+	private final long p999;
+
+	/**
+	 * Creates a summary (the property names let JMX clients rebuild it from composite data).
+	 *
+	 * @since 3.0
+	 */
+
+	@ConstructorProperties({ "count", "min", "max", "mean", "p50", "p90", "p99", "p999" })
+	public HistogramSnapshot(long count, long min, long max, double mean, long p50, long p90, long p99, long p999) {
+		this.count = count;
+		this.min = min;
+		this.max = max;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+		this.p999 = p999;
+	}
+
+	/** @return the number of values recorded */
+	public long getCount() {
+		return count;
+	}
+
+	/** @return the largest value recorded */
+	public long getMax() {
+		return max;
+	}
+
+	/** @return the mean of the values recorded */
+	public double getMean() {
+		return mean;
+	}
+
+	/** @return the smallest value recorded */
+	public long getMin() {
+		return min;
+	}
+
+	/** @return the median */
+	public long getP50() {
+		return p50;
+	}
+
+	/** @return the 90th percentile */
+	public long getP90() {
+		return p90;
+	}
+
+	/** @return the 99th percentile */
+	public long getP99() {
+		return p99;
+	}
+
+	/** @return the 99.9th percentile */
+	public long getP999() {
+		return p999;
+	}
+
+	/**
+	 * Describes the summary on one line.
+	 *
+	 * @since 3.0
+	 */
+
+	public String toString() {
+		return String.format("count=%d min=%d p50=%d p90=%d p99=%d p99.9=%d max=%d mean=%.1f", count, min, p50, p90,
+				p99, p999, max, mean);
+	}
+
+}
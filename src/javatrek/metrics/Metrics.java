@@ -0,0 +1,160 @@
+package javatrek.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The registry of the game's counters and histograms. Instrumented code asks for its counters and histograms once
+ * (usually in static fields) and updates them directly, so recording costs no map lookups. The registry is exported
+ * through JMX by register (), for JConsole or any other JMX client to read during long games.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class Metrics implements MetricsMXBean {
+
+	/** the name the registry is exported under */
+	public static final String OBJECT_NAME = "javatrek:type=Metrics";
+
+	/** the single registry */
+	private static final Metrics REGISTRY = new Metrics();
+
+	/** the counters, by name */
+	private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+	/** the histograms, by name */
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	/** the time the metrics were last reset */
+	private volatile long start_time = System.currentTimeMillis();
+
+	/**
+	 * The registry is a singleton.
+	 */
+
+	private Metrics() {
+	}
+
+	/**
+	 * Returns a counter, creating it on first use.
+	 *
+	 * @param name
+	 *            the counter's dotted name
+	 *
+	 * @return the counter
+	 *
+	 * @since 3.0
+	 */
+
+	public static Counter counter(String name) {
+		return REGISTRY.counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * Returns the registry, for reading the metrics from within the game.
+	 *
+	 * @return the registry
+	 *
+	 * @since 3.0
+	 */
+
+	public static MetricsMXBean get() {
+		return REGISTRY;
+	}
+
+	/**
+	 * Returns a histogram, creating it on first use.
+	 *
+	 * @param name
+	 *            the histogram's dotted name
+	 *
+	 * @return the histogram
+	 *
+	 * @since 3.0
+	 */
+
+	public static Histogram histogram(String name) {
+		return REGISTRY.histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	/**
+	 * Exports the registry through the platform MBean server. Failures are reported but do not stop the game.
+	 *
+	 * @since 3.0
+	 */
+
+	public static synchronized void register() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name) == false)
+				server.registerMBean(REGISTRY, name);
+		} catch (JMException | SecurityException e) {
+			System.out.println("Could not export the game's metrics through JMX");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Returns every counter's current count.
+	 *
+	 * @since 3.0
+	 */
+
+	public Map<String, Long> getCounters() {
+		Map<String, Long> result = new TreeMap<>();
+		for (Map.Entry<String, Counter> e : counters.entrySet())
+			result.put(e.getKey(), e.getValue().get());
+		return result;
+	}
+
+	/**
+	 * Returns a summary of every histogram.
+	 *
+	 * @since 3.0
+	 */
+
+	public Map<String, HistogramSnapshot> getHistograms() {
+		Map<String, HistogramSnapshot> result = new TreeMap<>();
+		for (Map.Entry<String, Histogram> e : histograms.entrySet())
+			result.put(e.getKey(), e.getValue().snapshot());
+		return result;
+	}
+
+	/**
+	 * Returns the time the metrics were last reset.
+	 *
+	 * @since 3.0
+	 */
+
+	public long getStartTime() {
+		return start_time;
+	}
+
+	/**
+	 * Sets every counter to zero and empties every histogram.
+	 *
+	 * @since 3.0
+	 */
+
+	public void reset() {
+		for (Counter c : counters.values())
+			c.reset();
+		for (Histogram h : histograms.values())
+			h.reset();
+		start_time = System.currentTimeMillis();
+	}
+
+}
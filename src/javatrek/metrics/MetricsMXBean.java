@@ -0,0 +1,53 @@
+package javatrek.metrics;
+
+import java.util.Map;
+
+/**
+ * The game's metrics, as exported through JMX under the name "javatrek:type=Metrics". Counters and histograms are
+ * keyed by their dotted names; durations are in nanoseconds and sizes in bytes.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public interface MetricsMXBean {
+
+	/**
+	 * Returns every counter's current count.
+	 *
+	 * @return the counts, by name
+	 *
+	 * @since 3.0
+	 */
+	Map<String, Long> getCounters();
+
+	/**
+	 * Returns a summary of every histogram.
+	 *
+	 * @return the summaries, by name
+	 *
+	 * @since 3.0
+	 */
+	Map<String, HistogramSnapshot> getHistograms();
+
+	/**
+	 * Returns the time the metrics were last reset.
+	 *
+	 * @return milliseconds since the epoch
+	 *
+	 * @since 3.0
+	 */
+	long getStartTime();
+
+	/**
+	 * Sets every counter to zero and empties every histogram.
+	 *
+	 * @since 3.0
+	 */
+	void reset();
+
+}
@@ -4,8 +4,10 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.Pilot;
+import javatrek.PlayerView;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -17,10 +19,12 @@ import javax.swing.JPanel;
  * 
  * <UL>
  * <LI>Version 2.0 - 11/26/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - points are assigned by the game loop
+ * <LI>Version 2.2 - 10/19/2026 - displays the PlayerView the game loop publishes, rather than reading the pilot
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/26/2004
+ * @version	2.2 - 10/19/2026
  */
 
 public class AssignPilotPointsPanel extends JPanel implements ActionListener, JavaTrekPanel
@@ -104,12 +108,28 @@ public AssignPilotPointsPanel ()
 		
 		add (p_temp);
 	}
+
+	// the unassigned points and skill ratings belong to the player's pilot
+	JavaTrek.changes.subscribe (this, Change.PILOT_CHANGED);
 }
 
 //////////////////////////////////////////////////////////////////////////////
 //  functions
 //////////////////////////////////////////////////////////////////////////////
 
+/**		Has the game loop assign points to one of the pilot's skills.
+ *
+ * 		@param		skill		the skill to improve
+ * 		@param		points		the number of points to assign
+ *
+ * 		@since		2.1
+ */
+
+private void assign (int skill, int points)
+{
+	JavaTrek.loop.submit ("Assign Points", () -> JavaTrek.game.gamedata.player.assignPoints (skill, points));
+}
+
 /**		Refreshes the display.
  * 
  * 		@since		2.0
@@ -117,8 +137,12 @@ public AssignPilotPointsPanel ()
 
 public void refresh ()
 {
+	// retrieve the latest view of the pilot
+	PlayerView pilot = PlayerView.getCurrent ();
+	if (pilot == null) return;
+	
 	// retrieve the number of unassigned points
-	int points = JavaTrek.game.gamedata.player.getUnassigend ();
+	int points = pilot.unassigned;
 	
 	// display the number of unassigned points
 	l_points.setText (String.valueOf (points));
@@ -127,7 +151,7 @@ public void refresh ()
 	for (int i = 0; i < Pilot.HOWMANY_SKILLS; i++)
 	{
 		// display the current levels
-		l_ratings[i].setText (String.valueOf (JavaTrek.game.gamedata.player.getSkill (i) + "%"));
+		l_ratings[i].setText (String.valueOf (pilot.getSkill (i) + "%"));
 		
 		// enable/disable buttons appropriately	
 		if (points >= 10)
@@ -181,10 +205,7 @@ public void actionPerformed (ActionEvent e)
 		if (o == b_increase[i])
 		{
 			// assign points
-			JavaTrek.game.gamedata.player.assignPoints (i, 1);
-			
-			// refresh the various displays
-			JavaTrek.game.refresh ();
+			assign (i, 1);
 			
 			// work complete
 			return;
@@ -192,10 +213,7 @@ public void actionPerformed (ActionEvent e)
 		else if (o == b_increase5[i])
 		{
 			// assign points
-			JavaTrek.game.gamedata.player.assignPoints (i, 5);
-
-			// refresh the various displays
-			JavaTrek.game.refresh ();
+			assign (i, 5);
 			
 			// work complete
 			return;
@@ -203,10 +221,7 @@ public void actionPerformed (ActionEvent e)
 		else if (o == b_increase10[i])
 		{
 			// assign points
-			JavaTrek.game.gamedata.player.assignPoints (i, 10);
-
-			// refresh the various displays
-			JavaTrek.game.refresh ();
+			assign (i, 10);
 			
 			// work complete
 			return;
@@ -0,0 +1,271 @@
+package javatrek.panels;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <P>
+ * The console's model: a bounded ring of styled lines. Appends are collected until the view next drains them, so that
+ * the view can apply any number of appends (and the removal of the lines they evict) in a single update. Lines evicted
+ * from the ring can optionally be written to a log file.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class ConsoleBuffer {
+
+	/** the system property holding the number of lines the console keeps */
+	public static final String CAPACITY_PROPERTY = "javatrek.console.lines";
+
+	/** the number of lines the console keeps by default */
+	public static final int DEFAULT_CAPACITY = 500;
+
+	/** the system property naming the file evicted lines are written to (none by default) */
+	public static final String LOG_PROPERTY = "javatrek.console.log";
+
+	/** the maximum number of lines held */
+	private final int capacity;
+
+	/** the log file for evicted lines (null if lines are simply discarded) */
+	private final File log_file;
+
+	/** the writer for the log file (opened on the first eviction) */
+	private Writer log;
+
+	/** the lines added since the view last drained the buffer */
+	private List<Line> pending = new ArrayList<>();
+
+	/** the number of characters the view must remove from its start */
+	private int removed = 0;
+
+	/** the lines held, oldest first */
+	private final ArrayDeque<Line> ring;
+
+	/** true if the view must discard everything it displays */
+	private boolean reset = false;
+
+	/**
+	 * Creates a buffer using the capacity and log file given by the system properties.
+	 *
+	 * @since 3.0
+	 */
+
+	public ConsoleBuffer() {
+		this(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY),
+				(System.getProperty(LOG_PROPERTY) == null) ? null : new File(System.getProperty(LOG_PROPERTY)));
+	}
+
+	/**
+	 * Creates a buffer.
+	 *
+	 * @param capacity
+	 *            the maximum number of lines held (at least one)
+	 * @param log_file
+	 *            the file evicted lines are appended to, or null to discard them
+	 *
+	 * @since 3.0
+	 */
+
+	public ConsoleBuffer(int capacity, File log_file) {
+		this.capacity = Math.max(1, capacity);
+		this.log_file = log_file;
+		ring = new ArrayDeque<>(this.capacity + 1);
+	}
+
+	/**
+	 * Adds a message. A message is split at its line breaks, so each line can be evicted on its own.
+	 *
+	 * @param style
+	 *            the name of the message's style
+	 * @param message
+	 *            the message
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void add(String style, String message) {
+		int start = 0;
+		while (start < message.length()) {
+			int end = message.indexOf('\n', start);
+			end = (end < 0) ? message.length() : end + 1;
+			addLine(new Line(style, message.substring(start, end)));
+			start = end;
+		}
+	}
+
+	/**
+	 * Removes every line.
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized void clear() {
+		for (Line line : ring)
+			rotate(line);
+		flushLog();
+
+		ring.clear();
+		pending.clear();
+		removed = 0;
+		reset = true;
+	}
+
+	/**
+	 * Returns the changes made since the last call, leaving the buffer ready to collect more. Evicted lines are
+	 * written to the log here, off the appending path.
+	 *
+	 * @return the changes the view must apply
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized Update drain() {
+		Update update = new Update(reset, removed, pending);
+
+		pending = new ArrayList<>();
+		removed = 0;
+		reset = false;
+		flushLog();
+
+		return update;
+	}
+
+	/**
+	 * Returns the number of lines held.
+	 *
+	 * @return the number of lines held
+	 *
+	 * @since 3.0
+	 */
+
+	public synchronized int size() {
+		return ring.size();
+	}
+
+	/**
+	 * Adds a line, evicting the oldest line if the buffer is full.
+	 *
+	 * @param line
+	 *            the line to add
+	 *
+	 * @since 3.0
+	 */
+
+	private void addLine(Line line) {
+		ring.addLast(line);
+		pending.add(line);
+
+		if (ring.size() > capacity) {
+			Line old = ring.removeFirst();
+
+			// a line the view never received is simply dropped; otherwise the view must remove it
+			if ((pending.isEmpty() == false) && (pending.get(0) == old))
+				pending.remove(0);
+			else
+				removed += old.text.length();
+
+			rotate(old);
+		}
+	}
+
+	/**
+	 * Flushes the log file, if one is open.
+	 *
+	 * @since 3.0
+	 */
+
+	private void flushLog() {
+		if (log == null)
+			return;
+
+		try {
+			log.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes an evicted line to the log file, if one was requested.
+	 *
+	 * @param line
+	 *            the evicted line
+	 *
+	 * @since 3.0
+	 */
+
+	private void rotate(Line line) {
+		if (log_file == null)
+			return;
+
+		try {
+			if (log == null)
+				log = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(log_file, true)));
+			log.write(line.text);
+		} catch (IOException e) {
+			System.out.println(String.format("Could not write to the console log '%s'", log_file));
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * A line of text and the name of its style. The last line of a message need not end with a line break.
+	 */
+	public static class Line {
+
+		/** the name of the line's style */
+		public final String style;
+
+		/** the line's text */
+		public final String text;
+
+		Line(String style, String text) {
+			this.style = style;
+			this.text = text;
+		}
+	}
+
+	/**
+	 * The changes made to a buffer since it was last drained, in the order the view must apply them.
+	 */
+	public static class Update {
+
+		/** the lines to append */
+		public final List<Line> added;
+
+		/** the number of characters to remove from the start of the view */
+		public final int removed;
+
+		/** true if the view must first discard everything it displays */
+		public final boolean reset;
+
+		Update(boolean reset, int removed, List<Line> added) {
+			this.reset = reset;
+			this.removed = removed;
+			this.added = added;
+		}
+
+		/**
+		 * Determines if the update changes nothing.
+		 *
+		 * @return true if there is nothing to apply
+		 */
+
+		public boolean isEmpty() {
+			return (reset == false) && (removed == 0) && added.isEmpty();
+		}
+	}
+
+}
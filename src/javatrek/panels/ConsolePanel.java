@@ -2,12 +2,17 @@ package javatrek.panels;
 
 import java.awt.Color;
 import java.awt.GridLayout;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javatrek.JavaTrek;
 
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.Style;
@@ -31,10 +36,12 @@ import ca.thekillams.widgets.quotes.quotes_server;
  * <LI>Version 1.2 - 10/21/2004 - removed the command line text field, as the game will no longer use console input
  * <LI>Version 1.3 - 10/29/2004 - moved the quotes server inside of this class
  * <LI>Version 2.0 - 11/13/2004 - consolidated the various add message functions to a single function, set a constant font size, fixed the annoying bug that caused the text to not scroll to show a new message, and cleaned up the code
+ * <LI>Version 2.1 - 10/19/2026 - messages are held in a bounded ConsoleBuffer and copied to the display at most once per frame
+ * <LI>Version 2.2 - 10/19/2026 - messages can be added from any thread; they are queued without locking and moved to the buffer by the event dispatch thread in batches
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	Version 2.0 - 11/13/2004
+ * @version	Version 2.2 - 10/19/2026
  */
 
 public class ConsolePanel extends JPanel
@@ -47,6 +54,12 @@ public class ConsolePanel extends JPanel
 /** dictates the font size used in the display */
 private static final int FONT_SIZE = 14;
 
+/** the delay between a message being added and it being displayed (about one frame) */
+private static final int FRAME_DELAY = 16;
+
+/** marks a request to clear the display in the message queue */
+private static final ConsoleBuffer.Line CLEAR = new ConsoleBuffer.Line (null, null);
+
 /** dictates the space above each line of text */	
 private static final int SPACE_ABOVE = 3;
 
@@ -57,9 +70,21 @@ private static final int SPACE_BELOW = 3;
 //  private fields
 //////////////////////////////////////////////////////////////////////////////
 
+/** holds the messages */
+private ConsoleBuffer buffer;
+
+/** set while a drain of the message queue is waiting to run on the event dispatch thread */
+private final AtomicBoolean drain_scheduled = new AtomicBoolean (false);
+
+/** messages (and clear requests) posted by any thread, waiting to be moved to the buffer */
+private final Queue<ConsoleBuffer.Line> queue = new ConcurrentLinkedQueue<> ();
+
 /** lets the messages scroll */
 private JScrollPane sp_messages;
 
+/** copies the buffer's changes to the display, once per frame */
+private Timer timer;
+
 /** displays the game messages */
 private JTextPane tp_messages;
 
@@ -90,6 +115,11 @@ public ConsolePanel ()
 	quotes.add (quotes_module_murphysmilitarylaws.add (null));
 	quotes.add (quotes_module_murphystechnologylaws.add (null));
 
+	// create the message buffer, and the timer that displays its changes
+	buffer = new ConsoleBuffer ();
+	timer = new Timer (FRAME_DELAY, e -> flush ());
+	timer.setRepeats (false);
+
 	// set the border layout
 	setLayout (new GridLayout (1, 1));
 	
@@ -119,7 +149,9 @@ public ConsolePanel ()
 //  functions
 //////////////////////////////////////////////////////////////////////////////
 
-/**		Adds a message to the message display.
+/**		Adds a message to the message display.  This may be called from any
+ * 		thread; the message is displayed with any others added during the same
+ * 		frame.
  * 
  * 		@param		style		the name of the
  *		@param		message		the message string to be displayed
@@ -129,35 +161,45 @@ public ConsolePanel ()
 
 public void addMessage (String style, String message)
 {
-	// add the message
-	try
-	{
-		document.insertString (document.getLength (), message, context.getStyle (style));
-	}
-	catch (BadLocationException ble)
-	{
-		ble.printStackTrace ();
-	}
-	
-	// scroll to the bottom
-	tp_messages.setCaretPosition (document.getLength ());
+	post (new ConsoleBuffer.Line (style, message));
 }
 
-/**		Clears the message display.
+/**		Clears the message display.  This may be called from any thread, and
+ * 		only clears the messages added before it.
  * 
  *		@since		1.0
  */
 
 public void clearMessages ()
 {
-	try
+	post (CLEAR);
+}
+
+/**		Moves every queued message to the buffer, then starts the frame timer.
+ * 		This runs on the event dispatch thread.
+ * 
+ * 		@since		2.2
+ */
+
+private void drain ()
+{
+	// cleared first, so that a message posted during the drain schedules another one
+	drain_scheduled.set (false);
+	
+	ConsoleBuffer.Line line;
+	while ((line = queue.poll ()) != null)
 	{
-		document.remove (0, document.getLength ());
+		if (line == CLEAR)
+		{
+			buffer.clear ();
+		}
+		else
+		{
+			buffer.add (line.style, line.text);
+		}
 	}
-	catch (BadLocationException ble)
-	{
-		ble.printStackTrace ();
-	}		
+	
+	scheduleFlush ();
 }
 
 /**		Creates a style with a specified alignment and colour.
@@ -189,6 +231,74 @@ private void createStyle (String name, Color colour, int align)
 	StyleConstants.setBackground (style, Color.WHITE);	
 }
 
+/**		Copies the buffer's changes to the display:  evicted lines are removed
+ * 		from the top, new lines are appended, and the display is scrolled to the
+ * 		bottom once.
+ * 
+ * 		@since		2.1
+ */
+
+private void flush ()
+{
+	ConsoleBuffer.Update update = buffer.drain ();
+	if (update.isEmpty ()) return;
+	
+	try
+	{
+		if (update.reset == true)
+		{
+			document.remove (0, document.getLength ());
+		}
+		if (update.removed > 0)
+		{
+			document.remove (0, Math.min (update.removed, document.getLength ()));
+		}
+		for (ConsoleBuffer.Line line : update.added)
+		{
+			document.insertString (document.getLength (), line.text, context.getStyle (line.style));
+		}
+	}
+	catch (BadLocationException ble)
+	{
+		ble.printStackTrace ();
+	}
+	
+	// scroll to the bottom
+	tp_messages.setCaretPosition (document.getLength ());
+}
+
+/**		Queues a message (or a clear request), and schedules a drain of the
+ * 		queue unless one is already waiting.
+ * 
+ * 		@param		line		the message to queue
+ * 
+ * 		@since		2.2
+ */
+
+private void post (ConsoleBuffer.Line line)
+{
+	queue.offer (line);
+	
+	if (drain_scheduled.compareAndSet (false, true) == true)
+	{
+		SwingUtilities.invokeLater (this::drain);
+	}
+}
+
+/**		Starts the frame timer, unless it is already waiting to display earlier
+ * 		messages.
+ * 
+ * 		@since		2.1
+ */
+
+private void scheduleFlush ()
+{
+	if (timer.isRunning () == false)
+	{
+		timer.start ();
+	}
+}
+
 /**  	Displays a quote.
  * 
  * 		@since		1.0
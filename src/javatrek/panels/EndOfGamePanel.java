@@ -6,10 +6,13 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import javatrek.JavaTrek;
+import javatrek.Statistics;
 
+import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 
 /**
@@ -22,10 +25,12 @@ import javax.swing.JTabbedPane;
  * <LI>Version 1.2 - 11/26/2002 - converted to a modal JDialog (from a JFrame)
  * <LI>Version 1.3 - 10/18/2003 - converted from a window to a panel
  * <LI>Version 2.0 - 11/22/2004 - simplified this panel and removed legacy content
+ * <LI>Version 2.1 - 10/19/2026 - replaced the place-holder tab with the game's statistics and hourly trends
+ * <LI>Version 2.2 - 10/19/2026 - displays a copy of the statistics taken by the game loop, rather than reading the game's under the game lock
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/22/2004
+ * @version	2.2 - 10/19/2026
  */
 
 public class EndOfGamePanel extends JPanel implements ActionListener
@@ -46,11 +51,12 @@ private JButton b_exit;
  * 
  * 		@param		victory		indicates whether the player won or lost
  * 		@param		message		closing message indicating reason for end of game
+ * 		@param		stats		a copy of the game's statistics
  * 
  * 		@since		1.0
  */
 
-public EndOfGamePanel (boolean victory, String message)
+public EndOfGamePanel (boolean victory, String message, Statistics stats)
 {
 	// TODO:  create content for this panel
 	
@@ -76,16 +82,52 @@ public EndOfGamePanel (boolean victory, String message)
 	p_south.add (b_exit);
 	add (p_south, BorderLayout.SOUTH);
 	
-	// create a place-holder panel for the tabbed panethe high scores panel, and add it to the tabbed pane
-	JPanel p_temp = new JPanel (new GridLayout (1, 1));
-	p_temp.add (new JLabel ("TODO:  develop panels! :)"), JLabel.CENTER);
-	tabbed_pane.addTab ("Work Needed", p_temp);
+	// the statistics and their trends
+	tabbed_pane.addTab ("Statistics", new JScrollPane (createStatisticsPanel (stats)));
+	tabbed_pane.addTab ("Trends", new TrendChart (stats));
 }
 
 //////////////////////////////////////////////////////////////////////////////
 //  functions
 //////////////////////////////////////////////////////////////////////////////
 
+/**		Creates a panel listing the kills by type and the other statistics.
+ * 
+ * 		@param		stats		the game's statistics
+ * 
+ * 		@return		the statistics panel
+ * 
+ * 		@since		2.1
+ */
+
+private JPanel createStatisticsPanel (Statistics stats)
+{
+	String kills[] = stats.getKillTypes ();
+	String other[] = stats.getOtherNames ();
+	
+	JPanel p_stats = new JPanel (new GridLayout (0, 2));
+	p_stats.setBorder (BorderFactory.createEmptyBorder (4, 4, 4, 4));
+	
+	p_stats.add (new JLabel ("Hours Played"));
+	p_stats.add (new JLabel (String.valueOf (stats.getHour ())));
+	
+	// list the kills by type
+	for (int i = 0; i < kills.length; i++)
+	{
+		p_stats.add (new JLabel ("Destroyed - " + kills[i]));
+		p_stats.add (new JLabel (String.valueOf (stats.getKills (kills[i]))));
+	}
+	
+	// then everything else
+	for (int i = 0; i < other.length; i++)
+	{
+		p_stats.add (new JLabel (other[i]));
+		p_stats.add (new JLabel (String.valueOf (stats.getOther (other[i]))));
+	}
+	
+	return p_stats;
+}
+
 //////////////////////////////////////////////////////////////////////////////
 //  action listener
 //////////////////////////////////////////////////////////////////////////////
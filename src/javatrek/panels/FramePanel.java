@@ -13,6 +13,7 @@ import javax.swing.JPanel;
 
 import javatrek.ImageManager.ImagesEnum;
 import javatrek.JavaTrek;
+import javatrek.controls.CommandProgressPanel;
 import javatrek.controls.EnergyTransferButton;
 import javatrek.controls.LightDriveSpeedPanel;
 import javatrek.controls.PilotImprovementButton;
@@ -26,10 +27,12 @@ import javatrek.handlers.Rest;
  * 
  * <UL>
  * <LI>Version 2.0 - 10/31/2004 - the original instance
+ * <LI>Version 2.1 - 10/19/2026 - the north panel shows the game loop's progress
+ * <LI>Version 2.2 - 10/19/2026 - the west panel's buttons are tracked by the event dispatch thread watchdog
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/31/2004
+ * @version 2.2 - 10/19/2026
  */
 
 public class FramePanel extends JPanel implements JavaTrekPanel {
@@ -134,6 +137,11 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 
 		// tracks which column to place the next control on
 		// int col = 0;
+
+		// shows the progress of rests and travel, stretched across the top of the window
+		gbc.fill = GridBagConstraints.HORIZONTAL;
+		gbc.weightx = 1.0;
+		add(new CommandProgressPanel(), 0, 0);
 	}
 
 	/**
@@ -183,7 +191,8 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the main display button
 		JButton b_main = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.SUN_ICON_WEB_COMPONENT));
 		b_main.setToolTipText("display the main game interface");
-		b_main.addActionListener(e -> JavaTrek.game.showPanel(MainScreen.class.getName()));
+		b_main.addActionListener(
+				JavaTrek.watchdog.track("Main Screen", e -> JavaTrek.game.showPanel(MainScreen.class.getName())));
 		b_main.setPreferredSize(preferred);
 		b_main.setMinimumSize(preferred);
 		b_main.setMaximumSize(preferred);
@@ -192,7 +201,8 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the documentation button
 		JButton b_doc = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.HELP));
 		b_doc.setToolTipText("display the game's documentation");
-		b_doc.addActionListener(e -> JavaTrek.game.showPanel(InstructionsPanel.class.getName()));
+		b_doc.addActionListener(
+				JavaTrek.watchdog.track("Documentation", e -> JavaTrek.game.showPanel(InstructionsPanel.class.getName())));
 		b_doc.setPreferredSize(preferred);
 		b_doc.setMinimumSize(preferred);
 		b_doc.setMaximumSize(preferred);
@@ -201,7 +211,7 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the quick save button
 		JButton b_quicksave = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.SAVE));
 		b_quicksave.setToolTipText("quickly save the game");
-		b_quicksave.addActionListener(e -> JavaTrek.game.saveGame("quick"));
+		b_quicksave.addActionListener(JavaTrek.watchdog.track("Quick Save", e -> JavaTrek.game.saveGame("quick")));
 		b_quicksave.setPreferredSize(preferred);
 		b_quicksave.setMinimumSize(preferred);
 		b_quicksave.setMaximumSize(preferred);
@@ -210,7 +220,7 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the quick load button
 		JButton b_quickload = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.SAVE_ALL));
 		b_quickload.setToolTipText("quickly load the game");
-		b_quickload.addActionListener(e -> JavaTrek.game.loadgame("quick"));
+		b_quickload.addActionListener(JavaTrek.watchdog.track("Quick Load", e -> JavaTrek.game.loadgame("quick")));
 		b_quickload.setPreferredSize(preferred);
 		b_quickload.setMinimumSize(preferred);
 		b_quickload.setMaximumSize(preferred);
@@ -219,7 +229,7 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the rest for an hour button
 		JButton b_rest_hour = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.REDO));
 		b_rest_hour.setToolTipText("rest for one hour");
-		b_rest_hour.addActionListener(new Rest(1));
+		b_rest_hour.addActionListener(JavaTrek.watchdog.track("Rest One Hour", new Rest(1)));
 		b_rest_hour.setPreferredSize(preferred);
 		b_rest_hour.setMinimumSize(preferred);
 		b_rest_hour.setMaximumSize(preferred);
@@ -228,7 +238,7 @@ public class FramePanel extends JPanel implements JavaTrekPanel {
 		// add the rest for twenty-four hours button
 		JButton b_rest_24 = new JButton(JavaTrek.imgMgr.loadImageIcon(ImagesEnum.REFRESH));
 		b_rest_24.setToolTipText("rest for eight hours");
-		b_rest_24.addActionListener(new Rest(8));
+		b_rest_24.addActionListener(JavaTrek.watchdog.track("Rest Eight Hours", new Rest(8)));
 		b_rest_24.setPreferredSize(preferred);
 		b_rest_24.setMinimumSize(preferred);
 		b_rest_24.setMaximumSize(preferred);
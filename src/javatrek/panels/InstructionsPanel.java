@@ -1,26 +1,25 @@
 package javatrek.panels;
 
 import java.awt.BorderLayout;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Scanner;
 
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
 
+import javatrek.JavaTrek;
+
 /**
  * This panel window displays instructions on various aspects of the game.
  * 
  * <UL>
  * <LI>Version 1.0 - 10/19/2003 - the original class
  * <LI>Version 2.0 - 11/09/2004 - moved the data from a class named "Instructions" to text files stored in the JAR file
+ * <LI>Version 3.0 - 10/19/2026 - the instruction files come from the asset loader
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 11/09/2004
+ * @version 3.0 - 10/19/2026
  */
 
 public class InstructionsPanel extends JPanel {
@@ -34,54 +33,39 @@ public class InstructionsPanel extends JPanel {
 		JTabbedPane tp = new JTabbedPane();
 		add(tp, BorderLayout.CENTER);
 
-		// TODO: the two stanzas below are almost identical; replace with a proper method
-
-		// create the energy weapon instructions
-		try {
-			StringBuilder sb = new StringBuilder();
-			InputStream in = getClass().getResourceAsStream("/data/instructions_energy_weapons.txt");
-			BufferedReader input = new BufferedReader(new InputStreamReader(in));
-			Scanner scanner = new Scanner(input);
-			scanner.useDelimiter("\n");
-			while (scanner.hasNext())
-				sb.append(scanner.next());
-			scanner.close();
-			input.close();
-			in.close();
+		// create the energy weapon and projectile weapon instructions
+		addInstructions(tp, "Energy Weapons", "/data/instructions_energy_weapons.txt");
+		addInstructions(tp, "Projectile Weapons", "/data/instructions_projectile_weapons.txt");
+	}
 
-			JTextArea ta_energy_weapons = new JTextArea(sb.toString());
-			ta_energy_weapons.setLineWrap(true);
-			ta_energy_weapons.setWrapStyleWord(true);
-			ta_energy_weapons.setEditable(false);
-			tp.addTab("Energy Weapons", new JScrollPane(ta_energy_weapons));
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.exit(1);
-		}
+	/**
+	 * Adds a tab displaying the contents of an instructions file.
+	 * 
+	 * @param tp
+	 *            the tabbed pane to add the tab to
+	 * @param title
+	 *            the tab's title
+	 * @param filename
+	 *            the instructions file
+	 * 
+	 * @since 3.0
+	 */
 
-		// create the projectile weapon instructions
+	private void addInstructions(JTabbedPane tp, String title, String filename) {
 		try {
 			StringBuilder sb = new StringBuilder();
-			InputStream in = getClass().getResourceAsStream("/data/instructions_projectile_weapons.txt");
-			BufferedReader input = new BufferedReader(new InputStreamReader(in));
-			Scanner scanner = new Scanner(input);
-			scanner.useDelimiter("\n");
-			while (scanner.hasNext())
-				sb.append(scanner.next());
-			scanner.close();
-			input.close();
-			in.close();
+			for (String line : JavaTrek.assets.getLines(filename))
+				sb.append(line);
 
-			JTextArea ta_projectile_instructions = new JTextArea(sb.toString());
-			ta_projectile_instructions.setLineWrap(true);
-			ta_projectile_instructions.setWrapStyleWord(true);
-			ta_projectile_instructions.setEditable(false);
-			tp.addTab("Energy Weapons", new JScrollPane(ta_projectile_instructions));
+			JTextArea ta_instructions = new JTextArea(sb.toString());
+			ta_instructions.setLineWrap(true);
+			ta_instructions.setWrapStyleWord(true);
+			ta_instructions.setEditable(false);
+			tp.addTab(title, new JScrollPane(ta_instructions));
 		} catch (Exception e) {
 			e.printStackTrace();
 			System.exit(1);
 		}
-
 	}
 
 }
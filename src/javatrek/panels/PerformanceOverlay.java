@@ -0,0 +1,155 @@
+package javatrek.panels;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import javatrek.JavaTrek;
+
+/**
+ * <P>
+ * A glass pane that draws the performance monitor's report in the window's top-right corner. The report is taken
+ * twice a second while the overlay is shown; the overlay has no mouse listeners, so clicks pass through it to the game.
+ * Only the area of the old and new reports is repainted, so the game beneath is not redrawn for each report.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * <LI>Version 3.1 - 10/19/2026 - repaints only the report's old and new bounds
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.1 - 10/19/2026
+ */
+
+public class PerformanceOverlay extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the delay between reports, in milliseconds */
+	private static final int REPORT_DELAY = 500;
+
+	/** the space around the report's text */
+	private static final int MARGIN = 6;
+
+	/** the area the report was last painted in (null if none has been) */
+	private Rectangle bounds = null;
+
+	/** the latest report */
+	private List<String> lines = Collections.emptyList();
+
+	/** takes a new report and repaints the overlay */
+	private Timer timer;
+
+	/**
+	 * Creates a hidden overlay.
+	 *
+	 * @since 3.0
+	 */
+
+	public PerformanceOverlay() {
+		super();
+		setOpaque(false);
+		setVisible(false);
+		setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+
+		timer = new Timer(REPORT_DELAY, e -> {
+			lines = JavaTrek.perf.report();
+			repaintReport();
+		});
+	}
+
+	/**
+	 * Calculates the area the latest report covers, in the top-right corner.
+	 *
+	 * @param fm
+	 *            the metrics of the overlay's font
+	 *
+	 * @return the report's bounds, including its background
+	 *
+	 * @since 3.1
+	 */
+
+	private Rectangle measure(FontMetrics fm) {
+		int width = 0;
+		for (String line : lines)
+			width = Math.max(width, fm.stringWidth(line));
+		int height = lines.size() * fm.getHeight();
+
+		return new Rectangle(getWidth() - width - (3 * MARGIN), MARGIN, width + (2 * MARGIN), height + (2 * MARGIN));
+	}
+
+	/**
+	 * Draws the latest report over a translucent background.
+	 *
+	 * @param g
+	 *            the overlay's graphics object
+	 *
+	 * @since 3.0
+	 */
+
+	protected void paintComponent(Graphics g) {
+		if (lines.isEmpty())
+			return;
+
+		g.setFont(getFont());
+		FontMetrics fm = g.getFontMetrics();
+
+		Rectangle r = measure(fm);
+		bounds = r;
+		g.setColor(new Color(0, 0, 0, 176));
+		g.fillRect(r.x, r.y, r.width, r.height);
+
+		g.setColor(Color.GREEN);
+		int baseline = r.y + MARGIN + fm.getAscent();
+		for (String line : lines) {
+			g.drawString(line, r.x + MARGIN, baseline);
+			baseline += fm.getHeight();
+		}
+	}
+
+	/**
+	 * Repaints the area the last report was painted in, and the area the latest one will cover.
+	 *
+	 * @since 3.1
+	 */
+
+	private void repaintReport() {
+		Rectangle old = bounds;
+		if (old != null)
+			repaint(old.x, old.y, old.width, old.height);
+
+		if (lines.isEmpty() == false) {
+			Rectangle r = measure(getFontMetrics(getFont()));
+			repaint(r.x, r.y, r.width, r.height);
+		}
+	}
+
+	/**
+	 * Shows or hides the overlay, turning the performance monitor on or off with it.
+	 *
+	 * @param on
+	 *            true to show the overlay
+	 *
+	 * @since 3.0
+	 */
+
+	public void setShowing(boolean on) {
+		JavaTrek.perf.setEnabled(on);
+		lines = Collections.emptyList();
+		bounds = null;
+		setVisible(on);
+
+		if (on)
+			timer.start();
+		else
+			timer.stop();
+	}
+
+}
@@ -8,22 +8,22 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
+import java.util.Objects;
 
 import javax.swing.JPanel;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
+import javatrek.QuadrantView;
 import javatrek.Space;
-import javatrek.spaceobjects.Asteroid;
-import javatrek.spaceobjects.Base;
+import javatrek.metrics.FlightEvent;
 import javatrek.spaceobjects.Ship;
-import javatrek.spaceobjects.SpaceObject;
-import javatrek.spaceobjects.Star;
-import javatrek.systems.Computer;
 
 /**
  * <P>
@@ -34,10 +34,16 @@ import javatrek.systems.Computer;
  * <LI>Version 1.0 - 07/05/2003 - the original class
  * <LI>Version 1.1 - 07/12/2003 - changed to extend the new panel_map_base class
  * <LI>Version 2.0 - 10/29/2004 - implements JavaTrekPanel interface, removed x/y axis numbering
+ * <LI>Version 2.1 - 10/19/2026 - only the cells whose contents, knowledge or hover state have changed are redrawn, and
+ * the cell under the mouse is outlined
+ * <LI>Version 2.2 - 10/19/2026 - light-drive travel is run by the game loop; the game lock is held while cells are drawn
+ * <LI>Version 2.3 - 10/19/2026 - painting is timed for the performance overlay
+ * <LI>Version 2.4 - 10/19/2026 - each repaint emits a Flight Recorder event
+ * <LI>Version 2.5 - 10/19/2026 - cells are drawn from the QuadrantView the game loop publishes, without the game lock
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 10/29/2004
+ * @version 2.5 - 10/19/2026
  */
 
 public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener, MouseMotionListener {
@@ -47,18 +53,30 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 	/** the buffer for double-buffered graphics */
 	private BufferedImage buffer = null;
 
+	/** the state of each cell as last drawn into the buffer (a null entry has not been drawn) */
+	private Cell drawn[][] = null;
+
 	/** used for large characters such as the grid data */
 	private Font font;
 
 	/** the graphics object for the buffer */
 	private Graphics2D g2d = null;
 
+	/** the height of a cell */
+	private int h;
+
 	/** tracks the mouse's quadrant location */
 	private Point mouse;
 
+	/** vertical offset for the grid (all wasted space is at the top) */
+	private int ver;
+
 	/** vertical offset for the font */
 	private int voff;
 
+	/** the width of a cell */
+	private int w;
+
 	/**
 	 * Creates a quadrant map panel
 	 * 
@@ -84,6 +102,9 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 		// add a mouse listener
 		addMouseListener(this);
 		addMouseMotionListener(this);
+
+		// the map shows where the ship is and what it knows of each region
+		JavaTrek.changes.subscribe(this, Change.SHIP_MOVED, Change.REGION_CONTENTS_CHANGED);
 	}
 
 	/**
@@ -176,9 +197,7 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 	 */
 
 	public void mouseExited(MouseEvent e) {
-		mouse.x = -1;
-		mouse.y = -1;
-		repaint();
+		moveHover(-1, -1);
 	}
 
 	/**
@@ -190,8 +209,35 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 	 */
 
 	public void mouseMoved(MouseEvent e) {
-		mouse = calculateMouseLocation(mouse, e);
-		repaint();
+		Point p = calculateMouseLocation(null, e);
+		moveHover(p.x, p.y);
+	}
+
+	/**
+	 * Moves the hover outline, redrawing only the cell it leaves and the cell it enters.
+	 * 
+	 * @param x
+	 *            the mouse's new x-location (-1 if outside the panel)
+	 * @param y
+	 *            the mouse's new y-location (-1 if outside the panel)
+	 * 
+	 * @since 2.1
+	 */
+
+	private void moveHover(int x, int y) {
+		if ((mouse.x == x) && (mouse.y == y))
+			return;
+
+		int old_x = mouse.x;
+		int old_y = mouse.y;
+		mouse.x = x;
+		mouse.y = y;
+
+		QuadrantView view = QuadrantView.getCurrent();
+		if ((view != null) && (drawn != null)) {
+			updateCell(view, old_x, old_y, true);
+			updateCell(view, x, y, true);
+		}
 	}
 
 	/**
@@ -206,13 +252,13 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 	public void mousePressed(MouseEvent e) {
 		mouse = calculateMouseLocation(mouse, e);
 
-		// send the light drive move command
-		Ship p = JavaTrek.game.gamedata.space.getPlayersShip();
-		Point r = p.getRegionLocation();
-		p.lightDriveMove(mouse, r);
-
-		// update the game's display
-		JavaTrek.game.refresh();
+		// send the light drive move command (travel takes hours, so it is run by the game loop)
+		Point target = new Point(mouse);
+		JavaTrek.loop.submit("Light Drive Travel", () -> {
+			Ship p = JavaTrek.game.gamedata.space.getPlayersShip();
+			Point r = p.getRegionLocation();
+			p.lightDriveMove(target, r);
+		});
 	}
 
 	/**
@@ -228,7 +274,8 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 	}
 
 	/**
-	 * Overrides the JPanel's paint function.
+	 * Overrides the JPanel's paint function. Only the buffer is drawn here; the buffer's cells are kept current by
+	 * refresh () and the mouse handlers.
 	 * 
 	 * @param g
 	 *            the panel's associated graphics object
@@ -242,184 +289,276 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 		if (JavaTrek.game == null)
 			return;
 
-		// get required information
-		Ship ship = JavaTrek.game.gamedata.space.getPlayersShip();
-		Image shipimg = JavaTrek.imgMgr.loadImage(ship.getImageName());
-		int quad = ship.getQuadrant();
-		Point qloc = ship.getQuadrantLocation();
+		long t = JavaTrek.perf.start();
+		Object event = FlightEvent.MAP_REPAINT.begin();
 
-		// get the panel's size
-		int width = getWidth();
-		int height = getHeight();
+		// a new (or resized) buffer has every cell drawn into it
+		QuadrantView view = QuadrantView.getCurrent();
+		if ((view != null) && validateBuffer())
+			updateCells(view, false);
 
-		// calculate the width and height of a square
-		int w = width / Space.QUADRANT_WIDTH;
-		int h = height / Space.QUADRANT_HEIGHT;
-
-		// if necessary, re-create the graphics images
-		if ((buffer == null) || ((buffer.getWidth() != getWidth()) || (buffer.getHeight() != getHeight()))) {
-			// create the image buffer, it's Graphics2D instance and a larger font
-			buffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
-			g2d = (Graphics2D) buffer.getGraphics();
-			g2d.setFont(font);
-
-			// get the offset sizes for the large font
-			FontMetrics fm = g2d.getFontMetrics();
-			voff = fm.getHeight() + 1;
-
-			// calculate the offsets to push the dispaly to the lower right
-			// (all wasted space is upper left)
-			int ver = height - (h * Space.QUADRANT_HEIGHT);
-			g2d.translate(0, ver);
-
-			// suggest:
-			// anti-aliasing, text anti-aliasing, rendering and colour rendering all be
-			// performed for optimal quality (as opposed to speed)
-			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-			g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		// draw the buffered image to the screen (the clip limits this to the dirty area)
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, getWidth(), getHeight());
+		if (buffer != null)
+			g.drawImage(buffer, 0, 0, null);
+
+		JavaTrek.perf.stop("QuadrantMap.paint", t);
+		if (event != null) {
+			Rectangle clip = g.getClipBounds();
+			FlightEvent.MAP_REPAINT.commit(event, "QuadrantMap", (clip == null) ? getWidth() : clip.width,
+					(clip == null) ? getHeight() : clip.height);
 		}
+	}
+
+	/**
+	 * Determines what a cell should currently show.
+	 * 
+	 * @param view
+	 *            the quadrant's latest view
+	 * @param i
+	 *            the cell's x-location
+	 * @param j
+	 *            the cell's y-location
+	 * 
+	 * @return the cell's state
+	 * 
+	 * @since 2.1
+	 */
 
-		// modify width and height to be the width and height of the utilized area
-		width = w * Space.QUADRANT_WIDTH;
-		height = h * Space.QUADRANT_HEIGHT;
+	private Cell getCellState(QuadrantView view, int i, int j) {
+		Cell cell = new Cell();
+		cell.hover = ((mouse.x == i) && (mouse.y == j));
 
-		// remove the cliping area for the backdrop draw stage
-		g2d.setClip(null);
+		// the ship's image marks the region the ship is currently in
+		if ((view.ship_x == i) && (view.ship_y == j))
+			cell.ship = view.ship;
+
+		// work through the player's ship's memory
+		if (view.isKnown(i, j) == false)
+			return cell;
+		cell.known = true;
+
+		// a base image, if one exists in the region; in the case of multiple bases, the first one found is displayed
+		cell.base = view.getBase(i, j);
+
+		// the number of enemy ships in the region
+		cell.enemies = view.getEnemies(i, j);
+
+		// the number of stars and asteroids in the region
+		// TODO: improve this to count non-machine space objects
+		cell.objects = view.getObjects(i, j);
+
+		return cell;
+	}
+
+	/**
+	 * Draws a cell into the buffer. Each cell owns the grid lines on its left and top edges, and the cells on the right
+	 * and bottom edges also own the map's outer border, so that a cell can be redrawn without touching its neighbours.
+	 * 
+	 * @param cell
+	 *            the cell's state
+	 * @param i
+	 *            the cell's x-location
+	 * @param j
+	 *            the cell's y-location
+	 * 
+	 * @since 2.1
+	 */
+
+	private void drawCell(Cell cell, int i, int j) {
+		int x = i * w;
+		int y = j * h;
+		g2d.setClip(x, y, w, h);
 
 		// black background
 		g2d.setColor(Color.BLACK);
-		g2d.fillRect(0, 0, width, height);
+		g2d.fillRect(x, y, w, h);
 
 		// draw an image of the ship to indicate which region the ship is currently in
-		int centre_x = (w - shipimg.getWidth(null)) / 2;
-		int centre_y = (h - shipimg.getHeight(null)) / 2;
-		if (centre_y < 0)
-			centre_y = 0;
-		g2d.drawImage(shipimg, (qloc.x * w) + centre_x, (qloc.y * h) + centre_y, null);
-
-		// work through the player's ship's memory and display the data it contains
-		Computer computer = (Computer) ship.getSystem(Computer.class.getName());
-		if (computer != null) {
-			String asteroid_classname = Asteroid.class.getName();
-			String base_classname = Base.class.getName();
-			String ship_classname = Ship.class.getName();
-			String star_classname = Star.class.getName();
-			Point point = new Point(0, 0);
-			for (int i = 0; i < Space.QUADRANT_WIDTH; i++) {
-				for (int j = 0; j < Space.QUADRANT_HEIGHT; j++) {
-					if (computer.getKnown(i, j) == true) {
-						// aim the point object at the current quadrant
-						point.x = i;
-						point.y = j;
-
-						// displays a base image, if one exists in the region; in the case
-						// of multiple bases, the first one found is displayed
-						SpaceObject so[] = JavaTrek.game.gamedata.space.getInRegion(quad, point, 0, base_classname);
-						if (so != null) {
-							Image img_base = JavaTrek.imgMgr.loadImage(so[0].getImageName());
-							centre_x = (w - img_base.getWidth(null)) / 2;
-							centre_y = (h - img_base.getHeight(null)) / 2;
-							if (centre_y < 0)
-								centre_y = 0;
-							g2d.drawImage(img_base, (i * w) + centre_x, (j * h) + centre_y, null);
-						}
-
-						// list the number of enemy ships in the region (if they are present)
-						int enemies = 0;
-						so = JavaTrek.game.gamedata.space.getInRegion(quad, point, ship.getTeam(), ship_classname);
-						if (so != null)
-							enemies = so.length;
-						if (enemies > 0) {
-							// use red to display the raiders
-							g2d.setColor(Color.red);
-
-							// get the number of raiders present as a string
-							String nr = String.valueOf(enemies);
-
-							// calculations for locating the string (left side of the segment)
-							int s_h_loc = (j * h) + voff;
-							int s_w_loc = (i * w) + 4;
-
-							// display the string
-							g2d.drawString(nr, s_w_loc, s_h_loc);
-						}
-
-						// list the number of stars and asteroids in the region (if they are present)
-						// TODO: improve this to count non-machine space objects
-						int objects = 0;
-						so = JavaTrek.game.gamedata.space.getInRegion(quad, point, 0, star_classname);
-						if (so != null)
-							objects += so.length;
-						so = JavaTrek.game.gamedata.space.getInRegion(quad, point, 0, asteroid_classname);
-						if (so != null)
-							objects += so.length;
-						if (objects >= 0) {
-							// use green to display the stars
-							g2d.setColor(Color.green);
-
-							// get the number of stars present as a string
-							String ns = String.valueOf(objects);
-
-							// calculations for locating the string (right side of the segment)
-							int s_h_loc = (j * h) + voff;
-							int s_width = (int) g2d.getFontMetrics().getStringBounds(ns, g2d).getWidth();
-							int s_w_loc = ((i + 1) * w) - s_width - 2;
-
-							// display the string
-							g2d.drawString(ns, s_w_loc, s_h_loc);
-						}
-					}
-					// nothing to display - the player knows nothing about this region
-					else {
-					}
-				}
+		if (cell.ship != null)
+			drawCentred(JavaTrek.imgMgr.loadImage(cell.ship), x, y);
+
+		if (cell.known) {
+			// displays a base image, if one exists in the region
+			if (cell.base != null)
+				drawCentred(JavaTrek.imgMgr.loadImage(cell.base), x, y);
+
+			// list the number of enemy ships in the region (left side of the segment, in red)
+			if (cell.enemies > 0) {
+				g2d.setColor(Color.red);
+				g2d.drawString(String.valueOf(cell.enemies), x + 4, y + voff);
 			}
+
+			// list the number of stars and asteroids in the region (right side of the segment, in green)
+			g2d.setColor(Color.green);
+			String ns = String.valueOf(cell.objects);
+			int s_width = (int) g2d.getFontMetrics().getStringBounds(ns, g2d).getWidth();
+			g2d.drawString(ns, x + w - s_width - 2, y + voff);
 		}
 
-		// draw grid lines
+		// draw the cell's grid lines
 		g2d.setColor(getBackground());
-		g2d.drawRect(0, 0, width - 1, height - 1);
-		for (int i = 1; i < Space.QUADRANT_HEIGHT; i++) {
-			// horizontal lines
-			int y = i * h;
-			g2d.drawLine(0, y, width - 1, y);
-		}
-		for (int i = 1; i < Space.QUADRANT_WIDTH; i++) {
-			// vertical lines
-			int x = (i * w);
-			g2d.drawLine(x, 0, x, height);
+		g2d.drawLine(x, y, x + w - 1, y);
+		g2d.drawLine(x, y, x, y + h - 1);
+		if (i == Space.QUADRANT_WIDTH - 1)
+			g2d.drawLine(x + w - 1, y, x + w - 1, y + h - 1);
+		if (j == Space.QUADRANT_HEIGHT - 1)
+			g2d.drawLine(x, y + h - 1, x + w - 1, y + h - 1);
+
+		// outline the mouse's grid location in grey
+		if (cell.hover) {
+			g2d.setColor(Color.GRAY);
+			g2d.drawRect(x + 1, y + 1, (w - 2), (h - 2));
 		}
 
 		// outline the ship's grid location in red
-		g2d.setColor(Color.red);
-		g2d.drawRect((qloc.x * w) + 1, (qloc.y * h) + 1, (w - 2), (h - 2));
-		g2d.drawRect((qloc.x * w) + 2, (qloc.y * h) + 2, (w - 4), (h - 4));
+		if (cell.ship != null) {
+			g2d.setColor(Color.red);
+			g2d.drawRect(x + 1, y + 1, (w - 2), (h - 2));
+			g2d.drawRect(x + 2, y + 2, (w - 4), (h - 4));
+		}
+	}
 
-		// draw the mouse's quadrant location
-		/*
-		 * if ((mouse.x > -1) && (mouse.y > -1)) { String mouse_loc = "(" + mouse.x + "," + mouse.y + ")";
-		 * 
-		 * g2d.setColor (Color.WHITE);
-		 * 
-		 * g2d.drawString (mouse_loc, 2, height - 4); }
-		 */
+	/**
+	 * Draws an image centred (horizontally, and vertically where it fits) in a cell.
+	 * 
+	 * @param img
+	 *            the image to draw
+	 * @param x
+	 *            the cell's left edge
+	 * @param y
+	 *            the cell's top edge
+	 * 
+	 * @since 2.1
+	 */
 
-		// draw the buffered image to the screen
-		g.setColor(Color.BLACK);
-		g.fillRect(0, 0, getWidth(), getHeight());
-		g.drawImage(buffer, 0, 0, null);
+	private void drawCentred(Image img, int x, int y) {
+		int centre_x = (w - img.getWidth(null)) / 2;
+		int centre_y = (h - img.getHeight(null)) / 2;
+		if (centre_y < 0)
+			centre_y = 0;
+		g2d.drawImage(img, x + centre_x, y + centre_y, null);
+	}
+
+	/**
+	 * Brings a cell up to date, redrawing it into the buffer and (optionally) repainting its screen area if its state
+	 * has changed.
+	 * 
+	 * @param view
+	 *            the quadrant's latest view
+	 * @param i
+	 *            the cell's x-location
+	 * @param j
+	 *            the cell's y-location
+	 * @param repaint
+	 *            if true, the cell's screen area is repainted when the cell changes
+	 * 
+	 * @since 2.1
+	 */
+
+	private void updateCell(QuadrantView view, int i, int j, boolean repaint) {
+		// ignore locations outside of the grid (the mouse can be in the unused margin)
+		if ((i < 0) || (i >= Space.QUADRANT_WIDTH) || (j < 0) || (j >= Space.QUADRANT_HEIGHT))
+			return;
+
+		Cell cell = getCellState(view, i, j);
+		if (cell.same(drawn[i][j]))
+			return;
+
+		drawCell(cell, i, j);
+		drawn[i][j] = cell;
+
+		if (repaint)
+			repaint(i * w, ver + (j * h), w, h);
 	}
 
 	/**
-	 * Requests a repainting of the panel.
+	 * Brings every cell up to date.
+	 * 
+	 * @param view
+	 *            the quadrant's latest view
+	 * @param repaint
+	 *            if true, the screen area of each changed cell is repainted
+	 * 
+	 * @since 2.1
+	 */
+
+	private void updateCells(QuadrantView view, boolean repaint) {
+		for (int i = 0; i < Space.QUADRANT_WIDTH; i++)
+			for (int j = 0; j < Space.QUADRANT_HEIGHT; j++)
+				updateCell(view, i, j, repaint);
+	}
+
+	/**
+	 * Re-creates the buffer if the panel's size has changed.
+	 * 
+	 * @return true if a new buffer was created (every cell then needs to be drawn)
+	 * 
+	 * @since 2.1
+	 */
+
+	private boolean validateBuffer() {
+		// nothing can be drawn until the panel has been laid out
+		if ((getWidth() < Space.QUADRANT_WIDTH) || (getHeight() < Space.QUADRANT_HEIGHT))
+			return false;
+		if ((buffer != null) && (buffer.getWidth() == getWidth()) && (buffer.getHeight() == getHeight()))
+			return false;
+
+		// calculate the width and height of a square
+		w = getWidth() / Space.QUADRANT_WIDTH;
+		h = getHeight() / Space.QUADRANT_HEIGHT;
+
+		// create the image buffer, it's Graphics2D instance and a larger font
+		buffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
+		g2d = (Graphics2D) buffer.getGraphics();
+		g2d.setFont(font);
+
+		// get the offset sizes for the large font
+		FontMetrics fm = g2d.getFontMetrics();
+		voff = fm.getHeight() + 1;
+
+		// calculate the offsets to push the dispaly to the lower right
+		// (all wasted space is upper left)
+		ver = getHeight() - (h * Space.QUADRANT_HEIGHT);
+		g2d.translate(0, ver);
+
+		// suggest:
+		// anti-aliasing, text anti-aliasing, rendering and colour rendering all be
+		// performed for optimal quality (as opposed to speed)
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+		// nothing has been drawn into the new buffer
+		drawn = new Cell[Space.QUADRANT_WIDTH][Space.QUADRANT_HEIGHT];
+
+		return true;
+	}
+
+	/**
+	 * Redraws the cells whose contents or knowledge have changed, and requests a repainting of just those cells.
 	 * 
 	 * @since 2.0
 	 */
 
 	public void refresh() {
-		repaint();
+		if (JavaTrek.game == null)
+			return;
+
+		QuadrantView view = QuadrantView.getCurrent();
+		if (view == null)
+			return;
+
+		if (validateBuffer()) {
+			updateCells(view, false);
+			repaint();
+		} else if (buffer != null) {
+			updateCells(view, true);
+		} else {
+			repaint();
+		}
 	}
 
 	/**
@@ -435,4 +574,46 @@ public class QuadrantMap extends JPanel implements JavaTrekPanel, MouseListener,
 		paint(g);
 	}
 
+	/**
+	 * What a cell shows; two cells with the same state draw identically.
+	 * 
+	 * @since 2.1
+	 */
+
+	private static class Cell {
+
+		/** the image of the first base in the region (null if none, or the region is unknown) */
+		String base = null;
+
+		/** the number of enemy ships in the region */
+		int enemies = 0;
+
+		/** true if the mouse is over the cell */
+		boolean hover = false;
+
+		/** true if the player's ship's computer knows the region's contents */
+		boolean known = false;
+
+		/** the number of stars and asteroids in the region */
+		int objects = 0;
+
+		/** the image of the player's ship, if the ship is in the region (null otherwise) */
+		String ship = null;
+
+		/**
+		 * Compares this state with the state last drawn.
+		 * 
+		 * @param other
+		 *            the state last drawn (may be null)
+		 * 
+		 * @return true if the two states draw identically
+		 */
+
+		boolean same(Cell other) {
+			return (other != null) && (known == other.known) && (hover == other.hover)
+					&& (enemies == other.enemies) && (objects == other.objects) && Objects.equals(base, other.base)
+					&& Objects.equals(ship, other.ship);
+		}
+	}
+
 }
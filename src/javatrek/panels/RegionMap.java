@@ -8,10 +8,19 @@ package javatrek.panels;
  * <LI>Version 1.1 - 07/12/2003 - changed to extend the new panel_map_base class and a proper graphical display
  * <LI>Version 1.2 - 10/18/2004 - updated drawEnergyWeaponShot () to no longer return a value (was not checked)
  * <LI>Version 2.0 - 10/29/2004 - implements JavaTrekPanel interface, removed x/y axis numbering
+ * <LI>Version 2.1 - 10/19/2026 - the background, neutral bodies and grid are cached in a static layer, with ships and
+ * the mouse's outline drawn over it
+ * <LI>Version 2.2 - 10/19/2026 - moves are run by the game loop; the game lock is held while the region is read
+ * <LI>Version 2.3 - 10/19/2026 - in real-time mode, ships are interpolated between their locations before and after a tick
+ * <LI>Version 2.4 - 10/19/2026 - painting is timed for the performance overlay
+ * <LI>Version 2.5 - 10/19/2026 - each repaint emits a Flight Recorder event
+ * <LI>Version 2.6 - 10/19/2026 - the region's contents are cached with the static layer, and only read again once they change
+ * <LI>Version 2.7 - 10/19/2026 - the map paints the RegionView the game loop publishes, without taking the game lock
+ * <LI>Version 2.8 - 10/19/2026 - right-clicks find their target in the RegionView, rather than under the game lock
  * </UL>
  * 
  * @author	Andrew Killam
- * @version 2.0 - 10/29/2004
+ * @version 2.8 - 10/19/2026
  */
 
 import java.awt.Color;
@@ -21,6 +30,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
@@ -28,30 +38,59 @@ import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
 
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
+import javatrek.RegionView;
 import javatrek.Space;
+import javatrek.metrics.FlightEvent;
 import javatrek.controls.RegionMapActionPopupMenu;
-import javatrek.spaceobjects.Ship;
 import javatrek.spaceobjects.SpaceObject;
-import javatrek.systems.Shields;
 
 public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, MouseMotionListener {
 
 	private static final long serialVersionUID = 1L;
 
-	/** the buffer for double-buffered graphics */
-	private BufferedImage buffer = null;
+	/** the delay between frames while ships are moving in real-time mode, in milliseconds */
+	private static final int FRAME_DELAY = 33;
+
+	/** repaints the map while ships are moving between their previous and current locations */
+	private Timer animation;
 
 	/** used for large characters such as the grid data */
 	private Font font;
 
-	/** the graphics object for the buffer */
+	/** the graphics object for the static layer */
 	private Graphics2D g2d = null;
 
+	/** the height of a square */
+	private int h;
+
+	/** horizontal offset for the grid (all wasted space is at the left) */
+	private int hor;
+
+	/** the static layer: the background, neutral bodies and grid lines */
+	private BufferedImage layer = null;
+
+	/** the number of neutral bodies drawn into the static layer */
+	private int layer_count = -1;
+
+	/** the quadrant the static layer was drawn for */
+	private int layer_quad = -1;
+
+	/** the region the static layer was drawn for */
+	private int layer_x = -1, layer_y = -1;
+
 	/** the mouse's "regional" location */
 	private Point mouse;
 
+	/** vertical offset for the grid (all wasted space is at the top) */
+	private int ver;
+
+	/** the width of a square */
+	private int w;
+
 	/**
 	 * Creates a region map panel.
 	 * 
@@ -77,6 +116,25 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 		// add a mouse listener
 		addMouseListener(this);
 		addMouseMotionListener(this);
+
+		// the map shows the ship's region, its contents and who has shields up
+		JavaTrek.changes.subscribe(this, Change.SHIP_MOVED, Change.SHIELDS_CHANGED, Change.REGION_CONTENTS_CHANGED);
+
+		// in real-time mode, ships that moved in a tick are animated until the next tick is due
+		animation = new Timer(FRAME_DELAY, e -> animate());
+		JavaTrek.clock.addMotionListener(animation::start);
+	}
+
+	/**
+	 * Repaints the map for the next frame of an animation, stopping once the ships have reached their locations.
+	 * 
+	 * @since 2.3
+	 */
+
+	private void animate() {
+		repaint();
+		if (JavaTrek.clock.isMoving() == false)
+			animation.stop();
 	}
 
 	/**
@@ -159,7 +217,7 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 	 */
 
 	public void mouseEntered(MouseEvent e) {
-		mouse = calculateMouseLocation(mouse, e);
+		moveHover(calculateMouseLocation(null, e));
 	}
 
 	/**
@@ -172,9 +230,7 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 	 */
 
 	public void mouseExited(MouseEvent e) {
-		mouse.x = -1;
-		mouse.y = -1;
-		repaint();
+		moveHover(new Point(-1, -1));
 	}
 
 	/**
@@ -186,8 +242,7 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 	 */
 
 	public void mouseMoved(MouseEvent e) {
-		mouse = calculateMouseLocation(mouse, e);
-		repaint();
+		moveHover(calculateMouseLocation(null, e));
 	}
 
 	/**
@@ -206,27 +261,23 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 		// left-clicks handle movement, while right-clicks handle scans
 		if (e.getButton() == MouseEvent.BUTTON1) {
 			// attempt to move the ship
-			JavaTrek.game.gamedata.space.getPlayersShip().localMove(mouse.x, mouse.y);
+			int x = mouse.x;
+			int y = mouse.y;
+			JavaTrek.loop.submit("Move", () -> JavaTrek.game.gamedata.space.getPlayersShip().localMove(x, y));
 		}
 		// check for both buttons 2 and 3, as the right button appears to sometimes
 		// use each of these modifiers
 		else if ((e.getButton() == MouseEvent.BUTTON2) || (e.getButton() == MouseEvent.BUTTON3)) {
-			// get a handle to the player's ship
-			Ship ship = JavaTrek.game.gamedata.space.getPlayersShip();
-
-			// get a handle to the space object
-			SpaceObject target = JavaTrek.game.gamedata.space.getSpaceObject(ship.getQuadrant(),
-					ship.getQuadrantLocation(), new Point(mouse.x, mouse.y));
+			// find the object clicked on, as last drawn
+			RegionView view = RegionView.getCurrent();
+			RegionView.Sprite target = (view == null) ? null : view.getSpriteAt(mouse.x, mouse.y);
 
 			// check to see if a ship has been clicked on
 			if (target != null) {
 				// call the right-click function to display a menu with options
-				rightClicked(e.getX(), e.getY(), target);
+				rightClicked(e.getX(), e.getY(), target.object);
 			}
 		}
-
-		// update the game's display
-		JavaTrek.game.refresh();
 	}
 
 	/**
@@ -242,7 +293,9 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 	}
 
 	/**
-	 * Overrides the JPanel's paint function.
+	 * Overrides the JPanel's paint function. The cached static layer is drawn first, and the region's ships (with
+	 * their shields) and the mouse's outline are drawn over it. The region is painted as the latest RegionView shows
+	 * it, so painting never waits for the game lock.
 	 * 
 	 * @param g
 	 *            the panel's associated graphics object
@@ -256,39 +309,231 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 		if (JavaTrek.game == null)
 			return;
 
-		// get required information
-		Ship ship = JavaTrek.game.gamedata.space.getPlayersShip();
-		int quad = ship.getQuadrant();
-		Point qloc = ship.getQuadrantLocation();
+		// nothing is drawn until the game loop (or the window) has published a view of the region
+		RegionView view = RegionView.getCurrent();
+		if (view == null)
+			return;
+
+		long t = JavaTrek.perf.start();
+		Object event = FlightEvent.MAP_REPAINT.begin();
+		paintRegion(g, view);
+		JavaTrek.perf.stop("RegionMap.paint", t);
+		if (event != null) {
+			Rectangle clip = g.getClipBounds();
+			FlightEvent.MAP_REPAINT.commit(event, "RegionMap", (clip == null) ? getWidth() : clip.width,
+					(clip == null) ? getHeight() : clip.height);
+		}
+	}
+
+	/**
+	 * Draws the static layer, then the region's ships and the mouse's outline.
+	 * 
+	 * @param g
+	 *            the panel's associated graphics object
+	 * @param view
+	 *            the region, as it is to be drawn
+	 * 
+	 * @since 2.2
+	 */
+
+	private void paintRegion(Graphics g, RegionView view) {
+		// nothing can be drawn until the panel has been laid out
+		if (validateLayer(view) == false)
+			return;
+
+		// the static layer (the clip limits this to the dirty area)
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, getWidth(), getHeight());
+		g.drawImage(layer, 0, 0, null);
+
+		// the dynamic layer is drawn straight to the screen, with the same offsets and hints as the static layer
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.translate(hor, ver);
+		setRenderingHints(g2);
+
+		// in real-time mode, ships are drawn part-way between where they were before the last tick and where they are now
+		float alpha = JavaTrek.clock.getAlpha();
+
+		for (RegionView.Sprite sprite : view.moving) {
+			int left = sprite.x * w;
+			int top = sprite.y * h;
+
+			if ((sprite.from_x != sprite.x) || (sprite.from_y != sprite.y)) {
+				left = Math.round((sprite.from_x + ((sprite.x - sprite.from_x) * alpha)) * w);
+				top = Math.round((sprite.from_y + ((sprite.y - sprite.from_y) * alpha)) * h);
+			}
+
+			drawCentredAt(g2, JavaTrek.imgMgr.loadImage(sprite.image), left, top);
+
+			// draw a yellow elipse around ships if they have their shields up
+			if (sprite.shields == true) {
+				g2.setColor(Color.YELLOW);
+				g2.drawArc(left + 2, top + 2, w - 4, h - 4, 0, 360);
+			}
+		}
+
+		// outline the mouse's "regional" location in grey
+		if (inGrid(mouse.x, mouse.y)) {
+			g2.setColor(Color.GRAY);
+			g2.drawRect((mouse.x * w) + 1, (mouse.y * h) + 1, (w - 2), (h - 2));
+		}
+
+		g2.dispose();
+	}
+
+	/**
+	 * Draws an image centred (horizontally, and vertically where it fits) in a square.
+	 * 
+	 * @param g
+	 *            the graphics object to draw with
+	 * @param img
+	 *            the image to draw
+	 * @param x
+	 *            the square's x-location
+	 * @param y
+	 *            the square's y-location
+	 * 
+	 * @since 2.1
+	 */
+
+	private void drawCentred(Graphics2D g, Image img, int x, int y) {
+		drawCentredAt(g, img, x * w, y * h);
+	}
+
+	/**
+	 * Draws an image centred (horizontally, and vertically where it fits) in a square-sized area at any pixel location.
+	 * 
+	 * @param g
+	 *            the graphics object to draw with
+	 * @param img
+	 *            the image to draw
+	 * @param left
+	 *            the area's left edge, in pixels
+	 * @param top
+	 *            the area's top edge, in pixels
+	 * 
+	 * @since 2.3
+	 */
+
+	private void drawCentredAt(Graphics2D g, Image img, int left, int top) {
+		int centre_x = (w - img.getWidth(null)) / 2;
+		int centre_y = (h - img.getHeight(null)) / 2;
+		if (centre_y < 0)
+			centre_y = 0;
+
+		g.drawImage(img, left + centre_x, top + centre_y, null);
+	}
+
+	/**
+	 * Determines if a location is on the grid.
+	 * 
+	 * @param x
+	 *            the x-location
+	 * @param y
+	 *            the y-location
+	 * 
+	 * @return true if the location is a square of the region
+	 * 
+	 * @since 2.1
+	 */
+
+	private boolean inGrid(int x, int y) {
+		return (x >= 0) && (x < Space.REGION_WIDTH) && (y >= 0) && (y < Space.REGION_HEIGHT);
+	}
+
+	/**
+	 * Moves the mouse's outline, repainting only the square it leaves and the square it enters.
+	 * 
+	 * @param p
+	 *            the mouse's new "regional" location (-1, -1 if outside the panel)
+	 * 
+	 * @since 2.1
+	 */
+
+	private void moveHover(Point p) {
+		if (p.equals(mouse))
+			return;
+
+		repaintSquare(mouse.x, mouse.y);
+		mouse.setLocation(p);
+		repaintSquare(mouse.x, mouse.y);
+	}
+
+	/**
+	 * Requests a repainting of a single square.
+	 * 
+	 * @param x
+	 *            the square's x-location
+	 * @param y
+	 *            the square's y-location
+	 * 
+	 * @since 2.1
+	 */
+
+	private void repaintSquare(int x, int y) {
+		if (inGrid(x, y) && (w > 0))
+			repaint(hor + (x * w), ver + (y * h), w, h);
+	}
 
+	/**
+	 * Suggests that anti-aliasing, text anti-aliasing, rendering and colour rendering all be performed for optimal
+	 * quality (as opposed to speed).
+	 * 
+	 * @param g
+	 *            the graphics object to set the hints on
+	 * 
+	 * @since 2.1
+	 */
+
+	private void setRenderingHints(Graphics2D g) {
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+		g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+	}
+
+	/**
+	 * Rebuilds the static layer (background, neutral bodies and grid lines) if the player has changed region, the
+	 * panel has been resized or the region's neutral bodies have changed.
+	 * 
+	 * @param view
+	 *            the region, as it is to be drawn
+	 * 
+	 * @return false if the panel is too small to draw in
+	 * 
+	 * @since 2.1
+	 */
+
+	private boolean validateLayer(RegionView view) {
 		// get the panel's size
 		int width = getWidth();
 		int height = getHeight();
+		if ((width < Space.REGION_WIDTH) || (height < Space.REGION_HEIGHT))
+			return false;
+
+		boolean resized = (layer == null) || (layer.getWidth() != width) || (layer.getHeight() != height);
+		if ((resized == false) && (layer_quad == view.quad) && (layer_x == view.region_x) && (layer_y == view.region_y)
+				&& (view.fixed.size() == layer_count))
+			return true;
 
 		// calculate the width and height of a square
-		int w = width / Space.REGION_WIDTH;
-		int h = height / Space.REGION_HEIGHT;
+		w = width / Space.REGION_WIDTH;
+		h = height / Space.REGION_HEIGHT;
 
 		// if necessary, re-create the graphics images
-		if ((buffer == null) || ((buffer.getWidth() != width) || (buffer.getHeight() != height))) {
+		if (resized) {
 			// create the image buffer and it's Graphics2D instance
-			buffer = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
-			g2d = (Graphics2D) buffer.getGraphics();
+			layer = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+			g2d = (Graphics2D) layer.getGraphics();
 			g2d.setFont(font);
 
 			// calculate the offsets to push the dispaly to the lower right
 			// (all wasted space is upper left)
-			int hor = width - (w * Space.REGION_WIDTH);
-			int ver = height - (h * Space.REGION_HEIGHT);
+			hor = width - (w * Space.REGION_WIDTH);
+			ver = height - (h * Space.REGION_HEIGHT);
 			g2d.translate(hor, ver);
 
-			// suggest:
-			// anti-aliasing, text anti-aliasing, rendering and colour rendering all be
-			// performed for optimal quality (as opposed to speed)
-			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-			g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			setRenderingHints(g2d);
 		}
 
 		// modify width and height to be the width and height of the utilized area
@@ -299,32 +544,9 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 		g2d.setColor(Color.BLACK);
 		g2d.fillRect(0, 0, width, height);
 
-		// get and display any space objects in the region
-		SpaceObject obj[] = JavaTrek.game.gamedata.space.getInRegion(quad, qloc, 0, null);
-		if (obj != null) {
-			int howmany = obj.length;
-			for (int i = 0; i < howmany; i++) {
-				Point p = obj[i].getRegionLocation();
-				Image objimg = JavaTrek.imgMgr.loadImage(obj[i].getImageName());
-
-				int centre_x = (w - objimg.getWidth(null)) / 2;
-				int centre_y = (h - objimg.getHeight(null)) / 2;
-				if (centre_y < 0)
-					centre_y = 0;
-
-				g2d.drawImage(objimg, (p.x * w) + centre_x, (p.y * h) + centre_y, null);
-
-				// draw a yellow elipse around ships if they have their shields up
-				if (obj[i].getClass().getName() == Ship.class.getName()) {
-					Ship s = (Ship) obj[i];
-					Shields shields = (Shields) s.getSystem(Shields.class.getName());
-					if (shields.getShieldsOn() == true) {
-						g2d.setColor(Color.YELLOW);
-						g2d.drawArc((p.x * w) + 2, (p.y * h) + 2, w - 4, h - 4, 0, 360);
-					}
-				}
-			}
-		}
+		// display the region's neutral bodies
+		for (RegionView.Sprite sprite : view.fixed)
+			drawCentred(g2d, JavaTrek.imgMgr.loadImage(sprite.image), sprite.x, sprite.y);
 
 		// draw grid lines
 		g2d.setColor(getBackground());
@@ -340,26 +562,17 @@ public class RegionMap extends JPanel implements JavaTrekPanel, MouseListener, M
 			g2d.drawLine(x, 0, x, height);
 		}
 
-		// draw the mouse's "regional" location
-		/*
-		 * if ((mouse.x > -1) && (mouse.y > -1)) { FontMetrics fm = g2d.getFontMetrics ();
-		 * 
-		 * String mouse_loc = "(" + mouse.x + "," + mouse.y + ")";
-		 * 
-		 * g2d.setColor (Color.WHITE);
-		 * 
-		 * g2d.drawString (mouse_loc, width - fm.stringWidth (mouse_loc) - 2, height - 4); }
-		 */
-
-		// draw the buffered image to the screen
-		// black background
-		g.setColor(Color.BLACK);
-		g.fillRect(0, 0, getWidth(), getHeight());
-		g.drawImage(buffer, 0, 0, null);
+		// remember what the layer shows
+		layer_quad = view.quad;
+		layer_x = view.region_x;
+		layer_y = view.region_y;
+		layer_count = view.fixed.size();
+
+		return true;
 	}
 
 	/**
-	 * Requests a repainting of the panel.
+	 * Requests a repainting of the panel, from the latest view of the region.
 	 * 
 	 * @since 2.0
 	 */
@@ -6,7 +6,6 @@ import java.awt.Color;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -14,13 +13,8 @@ import javax.swing.JPanel;
 
 import javatrek.ImageManager.ImagesEnum;
 import javatrek.JavaTrek;
-import javatrek.spaceobjects.Ship;
-import javatrek.spaceobjects.SpaceObject;
-import javatrek.systems.Generator;
-import javatrek.systems.LightDrive;
-import javatrek.systems.LongRangeScanner;
-import javatrek.systems.Shields;
-import javatrek.systems.ShortRangeScanner;
+import javatrek.factory.ShipClass;
+import javatrek.factory.ShipTable;
 
 /**
  * This panel displays JavaTrek's ships' details.
@@ -30,10 +24,12 @@ import javatrek.systems.ShortRangeScanner;
  * <LI>Version 1.1 - 10/19/2004 - updated to use the new ShipFactory class to create ships
  * <LI>Version 2.0 - 11/22/2004 - renamed to ShipsDatabasePanel, changed the button icons and made small changes to
  * neaten up the code
+ * <LI>Version 3.0 - 10/19/2026 - the details are read from the ship classes, rather than from a demonstration ship
+ * built for each class
  * </UL>
  * 
  * @author Andrew Killam
- * @version Version 2.0 - 11/22/2004
+ * @version 3.0 - 10/19/2026
  */
 
 public class ShipsDatabasePanel extends JPanel implements ActionListener {
@@ -140,6 +136,24 @@ public class ShipsDatabasePanel extends JPanel implements ActionListener {
 		add(p_controls, BorderLayout.SOUTH);
 	}
 
+	/**
+	 * Adds a row to a ship's panel.
+	 * 
+	 * @param p
+	 *            the ship's panel
+	 * @param heading
+	 *            the row's heading
+	 * @param value
+	 *            the row's value
+	 * 
+	 * @since 3.0
+	 */
+
+	private static void addRow(JPanel p, String heading, String value) {
+		p.add(new JLabel(heading + ":  ", JLabel.LEFT));
+		p.add(new JLabel(value, JLabel.LEFT));
+	}
+
 	/**
 	 * Creates the ship panels.
 	 * 
@@ -147,94 +161,38 @@ public class ShipsDatabasePanel extends JPanel implements ActionListener {
 	 */
 
 	private void setupShips() {
-		// get a list of the classes of ships in the game
-		List<String> ships = JavaTrek.ship_factory.getShipClasses();
+		// read the classes of ships once, in case they are reloaded meanwhile
+		ShipTable table = JavaTrek.ship_factory.getShipTable();
 
-		// create the array of panels and an array of strings
-		JPanel[] p_ships = new JPanel[ships.size()];
+		for (int i = 0; i < table.getShipClassCount(); i++) {
+			ShipClass sc = table.getShipClass(i);
 
-		// iterate through the array of constants
-		for (int i = 0; i < ships.size(); i++) {
 			// create the panel
-			p_ships[i] = new JPanel(new GridLayout(6, 4));
-			p_ships[i].setBackground(Color.WHITE);
-
-			// create an instance of the ship type
-			Ship ship = JavaTrek.ship_factory.createShip((String) ships.get(i), "demo", SpaceObject.FEDERATION, 1,
-					false, 0, 0, 0, 0, 0);
+			JPanel p_ship = new JPanel(new GridLayout(6, 4));
+			p_ship.setBackground(Color.WHITE);
 
 			// ship information begins here
-			if (ship != null) {
-				p_ships[i].add(new JLabel("Icon:  ", JLabel.LEFT));
-				p_ships[i].add(
-						new JLabel(JavaTrek.imgMgr.loadImageIcon("/images/ships/" + ship.getImageName()), JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Type:  ", JLabel.LEFT));
-				p_ships[i].add(new JLabel(ship.getShipType(), JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Hull Strength:  ", JLabel.LEFT));
-				p_ships[i].add(new JLabel(String.valueOf(ship.getHPMax()), JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Shield Strength:  ", JLabel.LEFT));
-				Shields shields = (Shields) ship.getSystem(Shields.class.getName());
-				if (shields == null) {
-					p_ships[i].add(new JLabel("No Shields", JLabel.LEFT));
-				} else {
-					p_ships[i].add(new JLabel(String.valueOf(shields.getCapacity()) + " (" + shields.getName() + ")",
-							JLabel.LEFT));
-				}
-
-				p_ships[i].add(new JLabel("Energy Capacity:  ", JLabel.LEFT));
-				p_ships[i].add(new JLabel(String.valueOf(ship.getEnergyMax()), JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Energy Generator:  ", JLabel.LEFT));
-				Generator generator = (Generator) ship.getSystem(Generator.class.getName());
-				if (generator == null) {
-					p_ships[i].add(new JLabel("No Generator", JLabel.LEFT));
-				} else {
-					p_ships[i].add(new JLabel(String.valueOf(generator.getOutput()) + " / hour", JLabel.LEFT));
-				}
-
-				p_ships[i].add(new JLabel("Hyperdrive:  ", JLabel.LEFT));
-				LightDrive ld = (LightDrive) ship.getSystem(LightDrive.class.getName());
-				if (ld == null) {
-					p_ships[i].add(new JLabel("No Hyperdrive", JLabel.LEFT));
-				} else {
-					p_ships[i].add(new JLabel(String.valueOf(ld.getMax()) + " (max)", JLabel.LEFT));
-				}
-
-				p_ships[i].add(new JLabel("Short-Range Scanner:  ", JLabel.LEFT));
-				ShortRangeScanner sr = (ShortRangeScanner) ship.getSystem(ShortRangeScanner.class.getName());
-				if (sr == null) {
-					p_ships[i].add(new JLabel("none", JLabel.LEFT));
-				} else {
-					p_ships[i].add(new JLabel(sr.getName(), JLabel.LEFT));
-				}
-
-				p_ships[i].add(new JLabel("Long-Range Scanner:  ", JLabel.LEFT));
-				LongRangeScanner lr = (LongRangeScanner) ship.getSystem(LongRangeScanner.class.getName());
-				if (lr == null) {
-					p_ships[i].add(new JLabel("none", JLabel.LEFT));
-				} else {
-					p_ships[i].add(new JLabel(lr.getName() + " (radius:  " + String.valueOf(lr.getRadius()) + ")",
-							JLabel.LEFT));
-				}
-
-				p_ships[i].add(new JLabel("Repair Ability:  ", JLabel.LEFT));
-				p_ships[i]
-						.add(new JLabel(String.valueOf((int) (ship.getRepairPoints() * 100)) + " / hour", JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Dodge Ability:  ", JLabel.LEFT));
-				p_ships[i].add(new JLabel(String.valueOf(ship.getDodge()), JLabel.LEFT));
-
-				p_ships[i].add(new JLabel("Experience Value:  ", JLabel.LEFT));
-				p_ships[i].add(new JLabel(String.valueOf(ship.getPointValue()), JLabel.LEFT));
-
-				// ship information ends here
-
-				// add the ship to the layout
-				p_main.add(p_ships[i], ships.get(i));
-			}
+			p_ship.add(new JLabel("Icon:  ", JLabel.LEFT));
+			p_ship.add(new JLabel(JavaTrek.imgMgr.loadImageIcon("/images/ships/" + sc.getImage()), JLabel.LEFT));
+
+			addRow(p_ship, "Type", sc.getName());
+			addRow(p_ship, "Hull Strength", String.valueOf(sc.getHitPoints()));
+			addRow(p_ship, "Shield Strength", (sc.getShieldsName() == null) ? "No Shields"
+					: sc.getShieldEnergy() + " (" + sc.getShieldsName() + ")");
+			addRow(p_ship, "Energy Capacity", String.valueOf(sc.getMaxEnergy()));
+			addRow(p_ship, "Energy Generator", sc.getGenerator() + " / hour");
+			addRow(p_ship, "Hyperdrive", sc.getBlastDrive() + " (max)");
+			addRow(p_ship, "Short-Range Scanner", sc.getShortRangeScannerName());
+			addRow(p_ship, "Long-Range Scanner",
+					sc.getLongRangeScannerName() + " (radius:  " + sc.getLongRangeScannerRadius() + ")");
+			addRow(p_ship, "Repair Ability", (int) (sc.getRepairPoints() * 100) + " / hour");
+			addRow(p_ship, "Dodge Ability", String.valueOf(sc.getDodge()));
+			addRow(p_ship, "Experience Value", String.valueOf(sc.getPointValue()));
+
+			// ship information ends here
+
+			// add the ship to the layout
+			p_main.add(p_ship, sc.getName());
 		}
 	}
 
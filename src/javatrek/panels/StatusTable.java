@@ -0,0 +1,369 @@
+package javatrek.panels;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.swing.JComponent;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+
+/**
+ * <P>
+ * A custom-painted, read-only table of "label.........value" rows, used by the ship and pilot panels. Each row's text
+ * is measured once when it is set, and setting a row to the value it already holds does nothing, so that only the
+ * rows whose values have changed are repainted.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class StatusTable extends JComponent implements Scrollable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the colour of values at or below the low threshold */
+	public static final Color POOR = Color.red;
+
+	/** the colour of values above the high threshold */
+	public static final Color GOOD = Color.blue;
+
+	/** the colour of headings, and of values between the thresholds */
+	public static final Color NORMAL = Color.black;
+
+	/** the number of characters in a row, used for the table's preferred width */
+	private static final int COLUMNS = 44;
+
+	/** the space left at each side of the table */
+	private static final int MARGIN = 4;
+
+	/** the space above and below each row */
+	private static final int SPACING = 3;
+
+	/** a run of dots long enough for any row (drawn in part, so that painting allocates nothing) */
+	private char dots[] = new char[0];
+
+	/** the width of a dot */
+	private int dot_width;
+
+	/** the metrics for the table's font */
+	private FontMetrics metrics;
+
+	/** the height of a row */
+	private int row_height;
+
+	/** the table's rows */
+	private List<Row> rows = new ArrayList<>();
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @since 3.0
+	 */
+
+	public StatusTable() {
+		super();
+		setOpaque(true);
+		setBackground(Color.WHITE);
+		setFont(new Font("Courier", Font.PLAIN, 14));
+	}
+
+	/**
+	 * Chooses a row's colour from a percentage: above 80 is good, above 50 is normal and anything else is poor.
+	 *
+	 * @param percent
+	 *            the percentage displayed by the row
+	 *
+	 * @return the row's colour
+	 *
+	 * @since 3.0
+	 */
+
+	public static Color colourFor(int percent) {
+		if (percent > 80)
+			return GOOD;
+		else if (percent > 50)
+			return NORMAL;
+		else
+			return POOR;
+	}
+
+	/**
+	 * Returns the table's preferred size: every row, at a width of 44 characters.
+	 *
+	 * @return the preferred size
+	 *
+	 * @since 3.0
+	 */
+
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet())
+			return super.getPreferredSize();
+
+		return new Dimension((COLUMNS * dot_width) + (2 * MARGIN), rows.size() * row_height);
+	}
+
+	/**
+	 * Returns the size of the viewport needed to display the table.
+	 *
+	 * @return the table's preferred size
+	 *
+	 * @since 3.0
+	 */
+
+	public Dimension getPreferredScrollableViewportSize() {
+		return getPreferredSize();
+	}
+
+	/**
+	 * Returns the distance scrolled by a block (a page).
+	 *
+	 * @since 3.0
+	 */
+
+	public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL) ? visible.height : visible.width;
+	}
+
+	/**
+	 * The table's height tracks the viewport's height only when the viewport is the taller of the two.
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean getScrollableTracksViewportHeight() {
+		return (getParent() != null) && (getParent().getHeight() > getPreferredSize().height);
+	}
+
+	/**
+	 * The table is always as wide as its viewport; the dots absorb the difference.
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+
+	/**
+	 * Returns the distance scrolled by a unit (a row).
+	 *
+	 * @since 3.0
+	 */
+
+	public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+		return row_height;
+	}
+
+	/**
+	 * Paints the rows that intersect the clip.
+	 *
+	 * @param g
+	 *            the component's graphics object
+	 *
+	 * @since 3.0
+	 */
+
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+		g.setColor(getBackground());
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		g.setFont(getFont());
+
+		int first = Math.max(0, clip.y / row_height);
+		int last = Math.min(rows.size() - 1, (clip.y + clip.height) / row_height);
+		int right = getWidth() - MARGIN;
+		for (int i = first; i <= last; i++) {
+			Row row = rows.get(i);
+			int baseline = (i * row_height) + SPACING + metrics.getAscent();
+
+			g.setColor(row.colour);
+			g.drawString(row.label, MARGIN, baseline);
+
+			// headings and blank rows have no value or dots
+			if (row.value == null)
+				continue;
+
+			int value_x = right - row.value_width;
+			g.drawString(row.value, value_x, baseline);
+
+			int count = (value_x - (MARGIN + row.label_width)) / dot_width;
+			if (count > 0)
+				g.drawChars(dots(count), 0, count, value_x - (count * dot_width), baseline);
+		}
+	}
+
+	/**
+	 * Sets the font, re-measuring every row.
+	 *
+	 * @param font
+	 *            the new font
+	 *
+	 * @since 3.0
+	 */
+
+	public void setFont(Font font) {
+		super.setFont(font);
+
+		metrics = getFontMetrics(font);
+		dot_width = Math.max(1, metrics.charWidth('.'));
+		row_height = metrics.getHeight() + (2 * SPACING);
+		for (Row row : rows)
+			row.measure(metrics);
+
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Sets a heading (or, with an empty string, a blank row).
+	 *
+	 * @param index
+	 *            the row to set (rows past the end of the table are added)
+	 * @param heading
+	 *            the heading's text
+	 *
+	 * @since 3.0
+	 */
+
+	public void setHeading(int index, String heading) {
+		setRow(index, heading, null, NORMAL);
+	}
+
+	/**
+	 * Sets a row, repainting it only if it has changed.
+	 *
+	 * @param index
+	 *            the row to set (rows past the end of the table are added)
+	 * @param label
+	 *            the row's label
+	 * @param value
+	 *            the row's value (null for a heading)
+	 * @param colour
+	 *            the row's colour
+	 *
+	 * @since 3.0
+	 */
+
+	public void setRow(int index, String label, String value, Color colour) {
+		if (index < rows.size()) {
+			Row row = rows.get(index);
+			if (row.matches(label, value, colour))
+				return;
+
+			row.set(label, value, colour, metrics);
+			repaint(0, index * row_height, getWidth(), row_height);
+		} else {
+			while (rows.size() <= index)
+				rows.add(new Row());
+			rows.get(index).set(label, value, colour, metrics);
+
+			revalidate();
+			repaint(0, index * row_height, getWidth(), row_height);
+		}
+	}
+
+	/**
+	 * Removes the rows past a given number.
+	 *
+	 * @param count
+	 *            the number of rows to keep
+	 *
+	 * @since 3.0
+	 */
+
+	public void setRowCount(int count) {
+		if (count >= rows.size())
+			return;
+
+		int height = getHeight();
+		rows.subList(count, rows.size()).clear();
+
+		revalidate();
+		repaint(0, count * row_height, getWidth(), Math.max(height, row_height) - (count * row_height));
+	}
+
+	/**
+	 * Returns a run of at least the given number of dots.
+	 *
+	 * @param count
+	 *            the number of dots required
+	 *
+	 * @return the dots
+	 *
+	 * @since 3.0
+	 */
+
+	private char[] dots(int count) {
+		if (dots.length < count) {
+			dots = new char[Math.max(count, COLUMNS * 2)];
+			Arrays.fill(dots, '.');
+		}
+
+		return dots;
+	}
+
+	/**
+	 * A row of the table, with its measured text widths.
+	 */
+	private static class Row {
+
+		/** the row's colour */
+		Color colour;
+
+		/** the row's label */
+		String label;
+
+		/** the width of the label */
+		int label_width;
+
+		/** the row's value (null for a heading) */
+		String value;
+
+		/** the width of the value */
+		int value_width;
+
+		/**
+		 * Determines if the row already holds the given contents.
+		 */
+
+		boolean matches(String l, String v, Color c) {
+			return l.equals(label) && Objects.equals(v, value) && c.equals(colour);
+		}
+
+		/**
+		 * Measures the row's text.
+		 */
+
+		void measure(FontMetrics fm) {
+			label_width = fm.stringWidth(label);
+			value_width = (value == null) ? 0 : fm.stringWidth(value);
+		}
+
+		/**
+		 * Sets the row's contents and measures them.
+		 */
+
+		void set(String l, String v, Color c, FontMetrics fm) {
+			label = l;
+			value = v;
+			colour = c;
+			measure(fm);
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package javatrek.panels;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JComponent;
+
+import javatrek.Statistics;
+
+/**
+ * Draws the statistics' hourly trends as a stack of line charts, one per trend, sharing the game-hour axis. The values
+ * are copied when the chart is created, so the chart can be painted without the game lock.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public class TrendChart extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the colours of the trends' lines, by trend */
+	private static final Color COLOURS[] = { Color.RED, Color.ORANGE, Color.CYAN, Color.GREEN };
+
+	/** the space around each chart, in pixels */
+	private static final int MARGIN = 6;
+
+	/** the game hour of each trend's first value */
+	private final int first_hour;
+
+	/** the trends' hourly totals, oldest first */
+	private final int values[][];
+
+	/**
+	 * Creates a chart of a game's trends.
+	 *
+	 * @param stats
+	 *            the game's statistics (read only while the chart is created)
+	 *
+	 * @since 3.0
+	 */
+
+	public TrendChart(Statistics stats) {
+		values = new int[Statistics.HOWMANY_TRENDS][];
+		for (int t = 0; t < Statistics.HOWMANY_TRENDS; t++)
+			values[t] = stats.getTrend(t);
+		first_hour = stats.getHour() + 1 - values[0].length;
+
+		setPreferredSize(new Dimension(400, 80 * Statistics.HOWMANY_TRENDS));
+		setOpaque(true);
+		setBackground(Color.BLACK);
+	}
+
+	/**
+	 * Paints the charts.
+	 *
+	 * @param g
+	 *            the graphics context
+	 *
+	 * @since 3.0
+	 */
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Graphics2D g2 = (Graphics2D) g.create();
+		try {
+			g2.setColor(getBackground());
+			g2.fillRect(0, 0, getWidth(), getHeight());
+			g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+			int height = getHeight() / Statistics.HOWMANY_TRENDS;
+			for (int t = 0; t < Statistics.HOWMANY_TRENDS; t++)
+				paintTrend(g2, t, t * height, height);
+		} finally {
+			g2.dispose();
+		}
+	}
+
+	/**
+	 * Paints one trend's chart.
+	 *
+	 * @param g
+	 *            the graphics context
+	 * @param trend
+	 *            the trend
+	 * @param top
+	 *            the top of the chart's band
+	 * @param height
+	 *            the height of the chart's band
+	 *
+	 * @since 3.0
+	 */
+
+	private void paintTrend(Graphics2D g, int trend, int top, int height) {
+		int v[] = values[trend];
+
+		long total = 0;
+		int peak = 0;
+		for (int value : v) {
+			total += value;
+			peak = Math.max(peak, value);
+		}
+		int max = Math.max(1, peak);
+
+		FontMetrics fm = g.getFontMetrics();
+		int left = MARGIN;
+		int width = getWidth() - 2 * MARGIN;
+		int base = top + height - MARGIN;
+		int chart_height = height - 2 * MARGIN - fm.getHeight();
+
+		g.setColor(Color.DARK_GRAY);
+		g.drawLine(left, base, left + width, base);
+
+		g.setColor(Color.LIGHT_GRAY);
+		g.drawString(String.format("%s: %d in total, at most %d an hour (hours %d to %d)",
+				Statistics.getTrendName(trend), total, peak, first_hour, first_hour + v.length - 1), left,
+				top + MARGIN + fm.getAscent());
+
+		if ((v.length == 0) || (chart_height <= 0))
+			return;
+
+		// a single hour is drawn as a flat line across the chart
+		g.setColor(COLOURS[trend % COLOURS.length]);
+		int last_x = left;
+		int last_y = base - (int) ((long) v[0] * chart_height / max);
+		for (int i = 1; i < Math.max(2, v.length); i++) {
+			int value = v[Math.min(i, v.length - 1)];
+			int x = left + (int) ((long) i * width / Math.max(1, v.length - 1));
+			int y = base - (int) ((long) value * chart_height / max);
+			g.drawLine(last_x, last_y, x, y);
+			last_x = x;
+			last_y = y;
+		}
+	}
+
+}
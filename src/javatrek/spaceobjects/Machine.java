@@ -6,9 +6,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.Pilot;
+import javatrek.SensorCoverage;
 import javatrek.Space;
+import javatrek.metrics.Counter;
+import javatrek.metrics.FlightEvent;
+import javatrek.metrics.Histogram;
+import javatrek.metrics.Metrics;
 import javatrek.systems.Computer;
 import javatrek.systems.Generator;
 import javatrek.systems.LongRangeScanner;
@@ -25,10 +31,16 @@ import javatrek.systems.Shields;
  * <LI>Version 1.2 - 11/27/2002 - moved dodge rating here from object_ship class
  * <LI>Version 1.3 - 10/18/2004 - removed shuttle and transporter systems, as no ships actually have them and the game does nothing with them at this point
  * <LI>Version 2.0 - 11/25/2004 - moved the systems into a hashmap, improved the code in many areas
+ * <LI>Version 2.1 - 10/19/2026 - changes to the player's machine are posted to the change bus
+ * <LI>Version 2.2 - 10/19/2026 - damage and repairs are counted in the game's metrics
+ * <LI>Version 2.3 - 10/19/2026 - each hit emits a Flight Recorder event
+ * <LI>Version 2.4 - 10/19/2026 - long-range scans mark their square in the computer's memory in one call
+ * <LI>Version 2.5 - 10/19/2026 - a long-range scan only marks regions when the machine has moved, its scanner's radius has changed or its computer has forgotten regions, and then only the regions the last scan did not cover
+ * <LI>Version 2.6 - 10/19/2026 - the machine keeps its scanner's square up to date in space's sensor coverage as it moves, is damaged or is repaired
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 11/25/2004
+ * @version	2.6 - 10/19/2026
  */
 
 public class Machine extends SpaceObject implements Serializable
@@ -54,6 +66,18 @@ public static final int PROJECTILE_DAMAGE = 1003;
 //  private constants
 //////////////////////////////////////////////////////////////////////////////
 
+/** counts the damage taken by every machine */
+private static final Counter DAMAGE_EVENTS = Metrics.counter ("damage.events");
+
+/** the sizes of the hits taken by every machine */
+private static final Histogram DAMAGE_POINTS = Metrics.histogram ("damage.points");
+
+/** counts the hits that reached machines' systems */
+private static final Counter SYSTEM_DAMAGE_EVENTS = Metrics.counter ("damage.system_events");
+
+/** counts the hull and system points repaired by every machine */
+private static final Counter REPAIR_POINTS = Metrics.counter ("repairs.points");
+
 //////////////////////////////////////////////////////////////////////////////
 //  public fields
 //////////////////////////////////////////////////////////////////////////////
@@ -86,6 +110,27 @@ private int energy_remaining = 1;
 /** the value of the machine (for a kill) */
 private int point_value = 1;
 
+/** the sensor coverage the machine's scanner is counted in (null while the machine is not in space) */
+private transient SensorCoverage coverage;
+
+/** the quadrant, radius and centre the machine's scanner is counted with in the coverage */
+private transient int cover_quad, cover_radius, cover_x, cover_y;
+
+/** set once a long-range scan has been stored in the computer (cleared when a game is loaded) */
+private transient boolean scanned = false;
+
+/** the computer the last long-range scan was stored in */
+private transient Computer scan_computer;
+
+/** the scanner's radius at the last long-range scan */
+private transient int scan_radius;
+
+/** the computer's memory revision at the last long-range scan */
+private transient int scan_revision;
+
+/** the region the last long-range scan was centred on */
+private transient int scan_x, scan_y;
+
 //////////////////////////////////////////////////////////////////////////////
 //  constructor
 //////////////////////////////////////////////////////////////////////////////
@@ -128,6 +173,7 @@ public Machine (String n, String in, int t, int hp, int quad, int qx, int qy, in
 
 public int addEnergy (int e)
 {
+	int old = energy_remaining;
 	energy_remaining += e;
 
 	int overflow = 0;
@@ -138,6 +184,8 @@ public int addEnergy (int e)
 		if (overflow < 0) overflow = 0;
 	}
 
+	if (energy_remaining != old) changed (Change.ENERGY_CHANGED);
+
 	return overflow;
 }
 
@@ -163,6 +211,20 @@ public void addPilotExperience (long xp)
 public void addSystem (MachineSystem s)
 {
 	systems.put (s.getClass ().getName (), s);
+	updateCoverage ();
+}
+
+/**		Posts a change to the change bus, if this is the player's machine (the
+ * 		panels only display the player's machine).
+ * 
+ * 		@param		c		the change made
+ * 
+ * 		@since		2.1
+ */
+
+protected void changed (Change c)
+{
+	if (ai == false) JavaTrek.changes.post (c);
 }
 
 /**		Applies damage to the machine's systems.
@@ -178,6 +240,8 @@ public void damageSystems (int damage, int cause)
 	// bounds checking
 	if (damage < 1) return;
 	
+	SYSTEM_DAMAGE_EVENTS.increment ();
+	
 	// apply projectile damage a point at a time
 	int lots = 1;
 	if (cause == PROJECTILE_DAMAGE)
@@ -231,6 +295,9 @@ public void damageSystems (int damage, int cause)
 		int x = ((int)(Math.random () * 100)) % sys.length;
 		sys[x].applyDamage (remainder);
 	}
+	
+	changed (Change.SYSTEMS_DAMAGED);
+	updateCoverage ();
 }
 
 /**		This function finds the target closest to the machine.  This is used to
@@ -321,6 +388,7 @@ private void generatePower (int h)
 			
 			// add the amount determined
 			shields.setRemaining (shields.getRemaining () + add);
+			if (add > 0) changed (Change.SHIELDS_CHANGED);
 			
 			// remove the amount added from the power available
 			power -= add;
@@ -426,6 +494,19 @@ public float getRepairPoints ()
 	return repair_points + percentage;
 }
 
+/**		Returns the radius of the square the machine's long-range scanner can
+ * 		see.
+ * 
+ * 		@return		the radius, or -1 if the machine has no long-range scanner
+ * 
+ * 		@since		2.6
+ */
+
+public int getScannerRadius ()
+{
+	LongRangeScanner lr = (LongRangeScanner) getSystem (LongRangeScanner.class.getName ());
+	return (lr != null) ? lr.getRadius () : -1;
+}
 
 /**		Retrieves one of the machine's systems.
  * 
@@ -507,17 +588,74 @@ public void longRangeScan (int x, int y)
 	if ((computer != null) && (lr != null))
 	{
 		int r = lr.getRadius ();
+		int revision = computer.getMemoryRevision ();
 		
-		for (int i = x - r; i <= x + r; i++)
+		// everything the last scan covered is still known, unless the computer has forgotten some of it
+		int revealed;
+		if ((scanned == false) || (computer != scan_computer) || (revision != scan_revision))
 		{
-			for (int j = y - r; j <= y + r; j++)
-			{
-				computer.setKnown (i, j, true);
-			}
+			revealed = computer.reveal (x - r, y - r, x + r, y + r);
+		}
+		else if ((x == scan_x) && (y == scan_y) && (r == scan_radius))
+		{
+			return;
 		}
+		else
+		{
+			revealed = revealUncovered (computer, x - r, y - r, x + r, y + r, scan_x - scan_radius, scan_y - scan_radius, scan_x + scan_radius, scan_y + scan_radius);
+		}
+		
+		scanned = true;
+		scan_computer = computer;
+		scan_radius = r;
+		scan_revision = revision;
+		scan_x = x;
+		scan_y = y;
+		
+		if (revealed > 0) changed (Change.REGION_CONTENTS_CHANGED);
 	}
 }
 
+/**		Marks the regions of a new scan's square that the previous square did
+ * 		not cover: the rows above and below the previous square, and the
+ * 		columns to either side of it.
+ * 
+ * 		@param		computer	the computer to store the regions in
+ * 		@param		x1			the new square's left-most column
+ * 		@param		y1			the new square's top row
+ * 		@param		x2			the new square's right-most column
+ * 		@param		y2			the new square's bottom row
+ * 		@param		ox1			the previous square's left-most column
+ * 		@param		oy1			the previous square's top row
+ * 		@param		ox2			the previous square's right-most column
+ * 		@param		oy2			the previous square's bottom row
+ * 
+ * 		@return		the number of regions newly known
+ * 
+ * 		@since		2.5
+ */
+
+private static int revealUncovered (Computer computer, int x1, int y1, int x2, int y2, int ox1, int oy1, int ox2, int oy2)
+{
+	// squares that do not overlap share nothing
+	if ((ox1 > x2) || (ox2 < x1) || (oy1 > y2) || (oy2 < y1))
+	{
+		return computer.reveal (x1, y1, x2, y2);
+	}
+	
+	// the rows above and below the previous square
+	int revealed = computer.reveal (x1, y1, x2, oy1 - 1);
+	revealed += computer.reveal (x1, oy2 + 1, x2, y2);
+	
+	// and, in the rows they share, the columns to either side of it
+	int top = Math.max (y1, oy1);
+	int bottom = Math.min (y2, oy2);
+	revealed += computer.reveal (x1, top, ox1 - 1, bottom);
+	revealed += computer.reveal (ox2 + 1, top, x2, bottom);
+	
+	return revealed;
+}
+
 /**		Transfers as much energy as possible from shields to main energy.
  * 
  *		@since 2.0
@@ -545,6 +683,7 @@ public void maxEnergy ()
 		
 		// add the energy to main energy
 		addEnergy (amount);
+		if (amount > 0) changed (Change.SHIELDS_CHANGED);
 	}
 }
 
@@ -574,6 +713,7 @@ public void maxShields ()
 				
 		// add the energy to the shield system
 		shields.addEnergy (amount);
+		if (amount > 0) changed (Change.SHIELDS_CHANGED);
 	}
 }
 
@@ -590,6 +730,7 @@ public void maxShields ()
 public void passTime (int h)
 {
 	// scan the area
+	updateCoverage ();
 	longRangeScan ();
 	
 	// complete h hours of repairs
@@ -614,6 +755,7 @@ public boolean removeEnergy (int energy)
 					
 	// subtract the energy
 	energy_remaining -= energy;
+	if (energy > 0) changed (Change.ENERGY_CHANGED);
 	
 	// operation successful
 	return true;
@@ -635,6 +777,7 @@ public void repairs (int h)
 	
 	// get the number of repair points available
 	float rp = getRepairPoints () * h;
+	float available = rp;
 	
 	// create and populate an array of systems which require repairs
 	ArrayList in_need = new ArrayList (systems.size ());
@@ -657,6 +800,7 @@ public void repairs (int h)
 		{
 			rp -= 0.01f;
 			setHP (getHP () + 1);
+			REPAIR_POINTS.increment ();
 		}
 		
 		// if repair points and work remain, continue on
@@ -670,6 +814,7 @@ public void repairs (int h)
 				sys.setRepair (sys.getRepair () + 0.01f);
 				rp -= 0.01f;
 			}
+			REPAIR_POINTS.add (loop);
 		}
 		
 		// re-populate the in-need array
@@ -684,6 +829,38 @@ public void repairs (int h)
 			}
 		}
 	}
+	
+	// any repair points spent changed the hull or the systems
+	if (rp < available)
+	{
+		changed (Change.SYSTEMS_DAMAGED);
+		updateCoverage ();
+	}
+}
+
+/**		Counts the machine's scanner in a sensor coverage, replacing the
+ * 		coverage it was counted in before.  Space sets the coverage as the
+ * 		machine is added, and clears it as the machine is removed.
+ * 
+ * 		@param		c		the coverage, or null to stop being counted
+ * 
+ * 		@since		2.6
+ */
+
+public void setCoverage (SensorCoverage c)
+{
+	if (coverage != null) coverage.remove (getTeam (), cover_quad, cover_x, cover_y, cover_radius);
+	
+	coverage = c;
+	if (coverage != null)
+	{
+		Point q = getQuadrantLocation ();
+		cover_quad = getQuadrant ();
+		cover_radius = getScannerRadius ();
+		cover_x = q.x;
+		cover_y = q.y;
+		coverage.add (getTeam (), cover_quad, cover_x, cover_y, cover_radius);
+	}
 }
 
 /**		Sets whether or not the machine is computer-controlled.
@@ -726,6 +903,7 @@ public void setEnergyMax (int c)
 	if (c < 1) c = 1;
 	
 	// change the setting
+	if (energy_max != c) changed (Change.ENERGY_CHANGED);
 	energy_max = c;
 }
 
@@ -742,6 +920,7 @@ public void setEnergyRemaining (int c)
 	if (c > energy_max) c = energy_max;
 	
 	// change the setting
+	if (energy_remaining != c) changed (Change.ENERGY_CHANGED);
 	energy_remaining = c;
 }
 
@@ -776,6 +955,35 @@ public void setPointValue (int v)
 	}
 }
 
+/**		Sets the quadrant the machine is located in, moving its scanner's
+ * 		square in the sensor coverage.
+ * 
+ * 		@param		q		the quadrant
+ * 
+ * 		@since		2.6
+ */
+
+public void setQuadrant (int q)
+{
+	super.setQuadrant (q);
+	updateCoverage ();
+}
+
+/**		Sets the machine's location within the current quadrant, moving its
+ * 		scanner's square in the sensor coverage.
+ * 
+ *		@param		x		the x-co-ordinate
+ *		@param		y		the y-co-ordinate
+ * 
+ *		@since		2.6
+ */
+
+public void setQuadrantLocation (int x, int y)
+{
+	super.setQuadrantLocation (x, y);
+	updateCoverage ();
+}
+
 /**		Sets the ship's number of repair points.
  * 
  *		@param		r		the number of repair points
@@ -807,6 +1015,10 @@ public boolean takeDamage (int damage, int cause)
 	// bounds checking
 	if (damage < 1) return true;
 	
+	DAMAGE_EVENTS.increment ();
+	DAMAGE_POINTS.record (damage);
+	Object event = FlightEvent.COMBAT.begin ();
+	
 	// store the amount of damage done, as it may change below
 	// and is required for system damage as well
 	int points = damage;
@@ -820,6 +1032,7 @@ public boolean takeDamage (int damage, int cause)
 	{
 		// apply damage to the shields
 		damage = shields.takeDamage (damage);
+		changed (Change.SHIELDS_CHANGED);
 	}
 	
 	// next, if damage remains, apply it to the hull and the machine's
@@ -828,6 +1041,7 @@ public boolean takeDamage (int damage, int cause)
 	{
 		// damage the hull
 		setHP (getHP () - damage);
+		changed (Change.SYSTEMS_DAMAGED);
 	}	
 	
 	// finally apply damage to the machine's systems ...
@@ -853,14 +1067,32 @@ public boolean takeDamage (int damage, int cause)
 	}
 	
 	// return true if the ship survived, false otherwise
-	if (getHP () > 0)
-	{
-		return true;
-	}
-	else
-	{
-		return false;
-	}
+	boolean survived = getHP () > 0;
+	if (event != null) FlightEvent.COMBAT.commit (event, getName (), points, cause, survived);
+	return survived;
+}
+
+/**		Moves the machine's scanner's square in the sensor coverage, if the
+ * 		machine has moved or its scanner's radius has changed since it was
+ * 		last counted.  This does nothing while the machine is not in space.
+ * 
+ * 		@since		2.6
+ */
+
+public void updateCoverage ()
+{
+	if (coverage == null) return;
+	
+	Point q = getQuadrantLocation ();
+	int quad = getQuadrant ();
+	int r = getScannerRadius ();
+	if ((q.x == cover_x) && (q.y == cover_y) && (quad == cover_quad) && (r == cover_radius)) return;
+	
+	coverage.move (getTeam (), cover_quad, cover_x, cover_y, cover_radius, quad, q.x, q.y, r);
+	cover_quad = quad;
+	cover_radius = r;
+	cover_x = q.x;
+	cover_y = q.y;
 }
 
 }
@@ -2,9 +2,11 @@ package javatrek.spaceobjects;
 
 import java.awt.Point;
 
+import javatrek.ChangeBus.Change;
 import javatrek.JavaTrek;
 import javatrek.Pilot;
 import javatrek.Space;
+import javatrek.Statistics;
 import javatrek.systems.Computer;
 import javatrek.systems.Generator;
 import javatrek.systems.ImpulseDrive;
@@ -29,10 +31,15 @@ import javatrek.systems.ShortRangeScanner;
  * constants and the function which returned a set of ship-type constants
  * <LI>Version 2.0 - 11/04/2004 - moved appropriate functions to the Machine class, reworked the move commands and made
  * some other minor improvvements
+ * <LI>Version 2.1 - 10/19/2026 - moves are posted to the change bus
+ * <LI>Version 2.2 - 10/19/2026 - the player's energy use and damage, and destroyed ships, are recorded in the statistics
+ * <LI>Version 2.3 - 10/19/2026 - computer-controlled ships are run by the AI scheduler, rather than each in its own
+ * passTime ()
+ * <LI>Version 2.4 - 10/19/2026 - kills are counted through the ship type's statistics slot, interned once per ship
  * </UL>
  * 
  * @author Andrew Killam
- * @version 2.0 - 11/04/2004
+ * @version 2.4 - 10/19/2026
  */
 
 public class Ship extends Machine {
@@ -44,6 +51,9 @@ public class Ship extends Machine {
 	/** the class of ship */
 	private String ship_type = null;
 
+	/** the class of ship's statistics slot plus one, or 0 until it is first needed (cleared when a game is loaded) */
+	private transient int kill_slot = 0;
+
 	//////////////////////////////////////////////////////////////////////////////
 	// constructor
 	//////////////////////////////////////////////////////////////////////////////
@@ -169,6 +179,20 @@ public class Ship extends Machine {
 		return buffer.toString();
 	}
 
+	/**
+	 * Returns the statistics slot the ship's kills are counted in, interning the ship's type the first time.
+	 * 
+	 * @return the slot
+	 * 
+	 * @since 2.4
+	 */
+
+	private int getKillSlot() {
+		if (kill_slot == 0)
+			kill_slot = Statistics.intern(ship_type) + 1;
+		return kill_slot - 1;
+	}
+
 	/**
 	 * Returns the ship's type.
 	 * 
@@ -273,6 +297,8 @@ public class Ship extends Machine {
 
 		// remove the energy cost
 		removeEnergy(cost);
+		if (getAI() == false)
+			JavaTrek.game.gamedata.stats.addEnergyUsed(cost);
 
 		// only pass time if this is the player's ship
 		if (getAI() == false) {
@@ -289,6 +315,9 @@ public class Ship extends Machine {
 		// do a long-range scan of the new area
 		longRangeScan();
 
+		// the player's move changes the maps; anyone else's changes the contents of two regions
+		moved();
+
 		// the move was successful, so return true
 		return true;
 	}
@@ -347,15 +376,31 @@ public class Ship extends Machine {
 		} else {
 			// deduct the energy cost
 			removeEnergy(cost);
+			if (getAI() == false)
+				JavaTrek.game.gamedata.stats.addEnergyUsed(cost);
 		}
 
 		// move the ship
 		setRegionLocation(x, y);
+		moved();
 
 		// if we get this far, the move was a success
 		return true;
 	}
 
+	/**
+	 * Posts a move to the change bus.
+	 * 
+	 * @since 2.1
+	 */
+
+	private void moved() {
+		if (getAI() == false)
+			JavaTrek.changes.post(Change.SHIP_MOVED);
+		else
+			JavaTrek.changes.post(Change.REGION_CONTENTS_CHANGED);
+	}
+
 	/**
 	 * Passes time in the game, and handles all the effects time passing has. Note that passTime (0) is valid - it is
 	 * called for quick actions (like firing a laser) which take up a trivial amount of time, but should allow other
@@ -370,9 +415,8 @@ public class Ship extends Machine {
 	public void passTime(int h) {
 		super.passTime(h);
 
-		// if the ship is ai controlled, run appropriate AI routines
-		if (getAI() == true) {
-		}
+		// computer-controlled ships are given their orders together, once every object has passed time (see
+		// javatrek.ai.AIScheduler)
 	}
 
 	/**
@@ -387,6 +431,7 @@ public class Ship extends Machine {
 	public void setShipType(String stype) {
 		if (stype != null) {
 			ship_type = stype;
+			kill_slot = 0;
 		}
 	}
 
@@ -407,7 +452,16 @@ public class Ship extends Machine {
 	public boolean takeDamage(int damage, int cause) {
 		// TODO: handle if the ship is docked
 
-		return super.takeDamage(damage, cause);
+		boolean intact = getHP() > 0;
+		boolean survived = super.takeDamage(damage, cause);
+
+		// the player's damage and the ships destroyed are tracked for the end-of-game statistics
+		if ((getAI() == false) && (damage > 0))
+			JavaTrek.game.gamedata.stats.addDamageTaken(damage);
+		else if (getAI() && intact && (survived == false))
+			JavaTrek.game.gamedata.stats.addKill(getKillSlot(), getPointValue());
+
+		return survived;
 	}
 
 }
\ No newline at end of file
@@ -13,6 +13,10 @@ import javatrek.Space;
  * Once a computer reaches level three, it can plot increasingly accurate
  * long-distance travel routes, reducing the energy used by a blast drive.
  * 
+ * The memory is a KnowledgeMap: a sparse set of 8 by 8 tiles of bits,
+ * which may be forked from a team's shared chart so that the computer
+ * stores only what it has learned (or forgotten) since.
+ * 
  * <UL>
  * <LI>Version 1.0 - 03/16/2002 - the original class
  * <LI>Version 1.1 - 11/24/2002 - added serializable interface
@@ -22,10 +26,14 @@ import javatrek.Space;
  * <LI>Version 1.5 - 05/04/2003 - added multiple computer types
  * <LI>Version 1.6 - 10/15/2004 - added a string-driven constructor
  * <LI>Version 2.0 - 10/23/2004 - simplified the computer system
+ * <LI>Version 2.1 - 10/19/2026 - copies get their own memory
+ * <LI>Version 3.0 - 10/19/2026 - the memory is a bitmap of longs rather than an array of booleans; added reveal (), merge (), getKnownCount () and getExploredPercent (), and a compact serialized form
+ * <LI>Version 3.1 - 10/19/2026 - the memory is a sparse, tiled KnowledgeMap that can be forked from a team's chart; added share () and getKnowledge (); sharing never restores forgotten regions
+ * <LI>Version 3.2 - 10/19/2026 - added getMemoryRevision (), so that scans can tell when regions have been forgotten
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 10/23/2004
+ * @version	3.2 - 10/19/2026
  */
 
 public class Computer extends MachineSystem implements Serializable
@@ -47,16 +55,24 @@ public static final String ID = "Computer";
 /** the maximum level a computer can have */
 private static final int MAX_LEVEL = 5;
 
+/** the number of regions in the memory */
+private static final int REGIONS = Space.QUADRANT_WIDTH * Space.QUADRANT_HEIGHT;
+
+private static final long serialVersionUID = 4L;
+
 //////////////////////////////////////////////////////////////////////////////
 //  private fields
 //////////////////////////////////////////////////////////////////////////////
 
-/** tracks of which regions are known */
-private boolean region_known[];
+/** tracks which regions are known */
+private KnowledgeMap known;
 
 /** stores the computer's level */
 private int level;
 
+/** counts the times regions have been forgotten (restarts when a game is loaded) */
+private transient int revision = 0;
+
 //////////////////////////////////////////////////////////////////////////////
 //  constructor
 //////////////////////////////////////////////////////////////////////////////
@@ -76,8 +92,7 @@ public Computer (int l)
 	setLevel (l);
 	
 	// initially, no regions are known
-	region_known = new boolean[Space.QUADRANT_WIDTH * Space.QUADRANT_HEIGHT];
-	setAll (false);
+	known = new KnowledgeMap (Space.QUADRANT_WIDTH, Space.QUADRANT_HEIGHT);
 }
 
 //////////////////////////////////////////////////////////////////////////////
@@ -119,6 +134,20 @@ public float applyDamage (float d)
 	return super.applyDamage (d);
 }
 
+/**		Returns a copy of the computer, with its own copy of the memory.
+ * 
+ * 		@return		the copy
+ * 
+ * 		@since		2.1
+ */
+
+public MachineSystem copy ()
+{
+	Computer c = (Computer) super.copy ();
+	c.known = known.copy ();
+	return c;
+}
+
 /** 	Gets whether a specific region's contents is known or not.
  * 
  * 		@param		qx			the x-co-ordinate for the region
@@ -134,7 +163,57 @@ public boolean getKnown (int qx, int qy)
 	if (qy < 0) qy = 0;
 	if (qy >= Space.QUADRANT_HEIGHT) qy = Space.QUADRANT_HEIGHT - 1;
 	
-	return region_known[qx + (qy * Space.QUADRANT_WIDTH)];
+	return known.get (qx, qy);
+}
+
+/**		Returns the computer's memory.
+ * 
+ * 		@return		the map of known regions
+ * 
+ * 		@since		3.1
+ */
+
+public KnowledgeMap getKnowledge ()
+{
+	return known;
+}
+
+/**		Returns a number that changes whenever the computer may have forgotten
+ * 		regions, through damage or by being cleared.  Learning regions, or
+ * 		being given a team's chart, never forgets any, so leaves it as it is.
+ * 
+ * 		@return		the memory's revision
+ * 
+ * 		@since		3.2
+ */
+
+public int getMemoryRevision ()
+{
+	return revision;
+}
+
+/**		Returns the number of regions whose contents are known.
+ * 
+ * 		@return		the number of regions known
+ * 
+ * 		@since		3.0
+ */
+
+public int getKnownCount ()
+{
+	return known.getCount ();
+}
+
+/**		Returns the share of the quadrant whose contents are known.
+ * 
+ * 		@return		the percentage of regions known (0 to 100)
+ * 
+ * 		@since		3.0
+ */
+
+public int getExploredPercent ()
+{
+	return (getKnownCount () * 100) / REGIONS;
 }
 
 /**		Returns the name of the computer system, as a string.
@@ -179,6 +258,39 @@ public float getSaved ()
 	}
 }
 
+/**		Adds another computer's knowledge to this computer's, as when ships
+ * 		share their charts.
+ * 
+ * 		@param		other		the computer whose known regions are added
+ * 
+ * 		@return		true if any region became known
+ * 
+ * 		@since		3.0
+ */
+
+public boolean merge (Computer other)
+{
+	return known.merge (other.known);
+}
+
+/**		Marks every region in a rectangle as known.  The rectangle is clipped
+ * 		to the quadrant.
+ * 
+ * 		@param		x1			the left-most column
+ * 		@param		y1			the top row
+ * 		@param		x2			the right-most column
+ * 		@param		y2			the bottom row
+ * 
+ * 		@return		the number of regions that were not known before
+ * 
+ * 		@since		3.0
+ */
+
+public int reveal (int x1, int y1, int x2, int y2)
+{
+	return known.reveal (x1, y1, x2, y2);
+}
+
 /**  	Sets all of the regions to a given value.
  * 
  * 		@param		value		the value to apply
@@ -188,11 +300,8 @@ public float getSaved ()
 
 public void setAll (boolean value)
 {
-	int size = region_known.length;
-	for (int i = 0; i < size; i++)
-	{
-		region_known[i] = value;
-	} 
+	known.fill (value);
+	if (value == false) revision++;
 }
 
 /** 	Sets whether a specific region's contents are known or not.
@@ -211,7 +320,25 @@ public void setKnown (int qx, int qy, boolean known)
 	if (qy < 0) qy = 0;
 	if (qy >= Space.QUADRANT_HEIGHT) qy = Space.QUADRANT_HEIGHT - 1;
 	
-	region_known[qx + (qy * Space.QUADRANT_WIDTH)] = known;
+	this.known.set (qx, qy, known);
+	if (known == false) revision++;
+}
+
+/**		Replaces the computer's memory with a fork of a shared chart, such as
+ * 		its team's.  The computer then stores only the regions it learns or
+ * 		forgets after this.  Regions the computer had forgotten since its last
+ * 		chart stay forgotten, even if the new chart knows them.
+ * 
+ * 		@param		chart		the chart to start from
+ * 
+ * 		@since		3.1
+ */
+
+public void share (KnowledgeMap chart)
+{
+	KnowledgeMap old = known;
+	known = chart.fork ();
+	known.forget (old);
 }
 
 /**		Sets the level of the computer.
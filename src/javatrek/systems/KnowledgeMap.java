@@ -0,0 +1,562 @@
+package javatrek.systems;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * A sparse record of which regions are known, for galaxies too large to give every ship a full bitmap. Regions are
+ * grouped into tiles of 8 by 8, each held in one long, and only tiles with something known in them are stored.
+ *
+ * <P>
+ * A map may be forked from a frozen base map, such as a team's shared chart. The fork stores only the tiles it has
+ * changed since; every other tile is read from the base. Writing to a fork copies just the tile written, so a ship
+ * that explores a little, or loses a little memory to damage, costs a few longs rather than a copy of the chart.
+ * The regions a fork has forgotten are the ones its base knows but it does not; forget () carries them over to a
+ * fresh fork of a newer base.
+ *
+ * <UL>
+ * <LI>Version 3.0 - 10/19/2026 - the original instance
+ * </UL>
+ *
+ * @author Andrew Killam
+ * @version 3.0 - 10/19/2026
+ */
+
+public final class KnowledgeMap implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the width and height of a tile, in regions */
+	private static final int TILE = 8;
+
+	/** the tiles this map has written, overriding the base (written by writeObject ()) */
+	private transient int keys[];
+
+	/** the map's tiles are read from here unless written (null for none) */
+	private final KnowledgeMap base;
+
+	/** the number of regions known */
+	private int count;
+
+	/** set once the map is a base map, which is never written again */
+	private boolean frozen = false;
+
+	/** the height of the map, in regions */
+	private final int height;
+
+	/** the number of tiles stored */
+	private transient int size;
+
+	/** the number of tiles across the map */
+	private final int tiles_across;
+
+	/** the stored tiles, matching the keys */
+	private transient long values[];
+
+	/** the width of the map, in regions */
+	private final int width;
+
+	/**
+	 * Creates an empty map, with nothing known.
+	 *
+	 * @param width
+	 *            the width of the map, in regions
+	 * @param height
+	 *            the height of the map, in regions
+	 *
+	 * @since 3.0
+	 */
+
+	public KnowledgeMap(int width, int height) {
+		this(width, height, null);
+	}
+
+	/**
+	 * Creates a map that reads its tiles from a base map until it writes them.
+	 *
+	 * @since 3.0
+	 */
+
+	private KnowledgeMap(int width, int height, KnowledgeMap base) {
+		this.width = width;
+		this.height = height;
+		this.base = base;
+		tiles_across = (width + TILE - 1) / TILE;
+		count = (base == null) ? 0 : base.count;
+		clearTiles();
+	}
+
+	/**
+	 * Returns a map with the same contents, sharing this map's base, that can be written without changing this one.
+	 *
+	 * @return the copy
+	 *
+	 * @since 3.0
+	 */
+
+	public KnowledgeMap copy() {
+		KnowledgeMap m = new KnowledgeMap(width, height, base);
+		m.keys = keys.clone();
+		m.values = values.clone();
+		m.size = size;
+		m.count = count;
+		return m;
+	}
+
+	/**
+	 * Sets every region to a value.
+	 *
+	 * @param known
+	 *            whether every region is known
+	 *
+	 * @since 3.0
+	 */
+
+	public void fill(boolean known) {
+		checkWritable();
+
+		clearTiles();
+		count = (base == null) ? 0 : base.count;
+
+		// without a base, an empty map stores nothing; with one, every tile must hide the base's
+		if ((known == false) && (base == null))
+			return;
+		for (int t = 0; t < tiles_across * ((height + TILE - 1) / TILE); t++)
+			writeTile(t, known ? tileMask(t) : 0L);
+	}
+
+	/**
+	 * Clears every region another map has forgotten: those its base knows but it does not. Only the other map's own
+	 * tiles can hold such regions, so only they are read.
+	 *
+	 * @param other
+	 *            the map whose forgotten regions are cleared
+	 *
+	 * @return true if any region was cleared
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean forget(KnowledgeMap other) {
+		checkWritable();
+		if ((other.width != width) || (other.height != height))
+			throw new IllegalArgumentException("Cannot apply a map of a different size");
+		if (other.base == null)
+			return false;
+
+		int before = count;
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.keys[i] == 0)
+				continue;
+
+			int t = other.keys[i] - 1;
+			long lost = other.base.readTile(t) & ~other.values[i];
+			long tile = readTile(t);
+			if ((tile & lost) != 0)
+				writeTile(t, tile & ~lost);
+		}
+
+		return count < before;
+	}
+
+	/**
+	 * Returns a map that reads this map's current contents as its base and stores only its own changes. This map is
+	 * not changed; later changes to it are not seen by the fork.
+	 *
+	 * @return the fork
+	 *
+	 * @since 3.0
+	 */
+
+	public KnowledgeMap fork() {
+		return new KnowledgeMap(width, height, snapshot());
+	}
+
+	/**
+	 * Determines if a region is known.
+	 *
+	 * @param x
+	 *            the region's x-location
+	 * @param y
+	 *            the region's y-location
+	 *
+	 * @return true if the region is known (false outside the map)
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean get(int x, int y) {
+		if ((x < 0) || (x >= width) || (y < 0) || (y >= height))
+			return false;
+
+		return (readTile(tileOf(x, y)) & bitOf(x, y)) != 0;
+	}
+
+	/**
+	 * Returns the number of regions known.
+	 *
+	 * @return the number of regions known
+	 *
+	 * @since 3.0
+	 */
+
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the height of the map.
+	 *
+	 * @return the height, in regions
+	 *
+	 * @since 3.0
+	 */
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the number of tiles this map stores itself, rather than reads from its base.
+	 *
+	 * @return the number of tiles stored
+	 *
+	 * @since 3.0
+	 */
+
+	public int getStoredTiles() {
+		return size;
+	}
+
+	/**
+	 * Returns the width of the map.
+	 *
+	 * @return the width, in regions
+	 *
+	 * @since 3.0
+	 */
+
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Adds every region known in another map of the same size to this one.
+	 *
+	 * @param other
+	 *            the map whose known regions are added
+	 *
+	 * @return true if any region became known
+	 *
+	 * @since 3.0
+	 */
+
+	public boolean merge(KnowledgeMap other) {
+		checkWritable();
+		if ((other.width != width) || (other.height != height))
+			throw new IllegalArgumentException("Cannot merge maps of different sizes");
+
+		int before = count;
+
+		// the other map's own tiles override its base's, so they are read through it (a shared base adds nothing)
+		if ((other.base != null) && (other.base != base)) {
+			for (int i = 0; i < other.base.keys.length; i++) {
+				if (other.base.keys[i] != 0)
+					mergeTile(other.base.keys[i] - 1, other.readTile(other.base.keys[i] - 1));
+			}
+		}
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.keys[i] != 0)
+				mergeTile(other.keys[i] - 1, other.values[i]);
+		}
+
+		return count > before;
+	}
+
+	/**
+	 * Marks every region in a rectangle as known. The rectangle is clipped to the map, and each tile it covers is
+	 * written once.
+	 *
+	 * @param x1
+	 *            the left-most column
+	 * @param y1
+	 *            the top row
+	 * @param x2
+	 *            the right-most column
+	 * @param y2
+	 *            the bottom row
+	 *
+	 * @return the number of regions that were not known before
+	 *
+	 * @since 3.0
+	 */
+
+	public int reveal(int x1, int y1, int x2, int y2) {
+		checkWritable();
+
+		x1 = Math.max(0, x1);
+		y1 = Math.max(0, y1);
+		x2 = Math.min(width - 1, x2);
+		y2 = Math.min(height - 1, y2);
+		if ((x1 > x2) || (y1 > y2))
+			return 0;
+
+		int before = count;
+		for (int ty = y1 / TILE; ty <= y2 / TILE; ty++) {
+			// the rectangle's rows within this row of tiles
+			int top = Math.max(y1, ty * TILE) - ty * TILE;
+			int bottom = Math.min(y2, ty * TILE + TILE - 1) - ty * TILE;
+
+			for (int tx = x1 / TILE; tx <= x2 / TILE; tx++) {
+				int left = Math.max(x1, tx * TILE) - tx * TILE;
+				int right = Math.min(x2, tx * TILE + TILE - 1) - tx * TILE;
+
+				// one row's bits, repeated for each row covered
+				long row = ((0xFFL >>> (TILE - 1 - (right - left))) << left);
+				long mask = 0;
+				for (int r = top; r <= bottom; r++)
+					mask |= row << (r * TILE);
+
+				mergeTile(ty * tiles_across + tx, mask);
+			}
+		}
+
+		return count - before;
+	}
+
+	/**
+	 * Sets whether a region is known. Regions outside the map are ignored.
+	 *
+	 * @param x
+	 *            the region's x-location
+	 * @param y
+	 *            the region's y-location
+	 * @param known
+	 *            whether the region is known
+	 *
+	 * @since 3.0
+	 */
+
+	public void set(int x, int y, boolean known) {
+		checkWritable();
+		if ((x < 0) || (x >= width) || (y < 0) || (y >= height))
+			return;
+
+		int t = tileOf(x, y);
+		long tile = readTile(t);
+		writeTile(t, known ? (tile | bitOf(x, y)) : (tile & ~bitOf(x, y)));
+	}
+
+	/**
+	 * Returns a frozen map with this map's current contents, for sharing as a base. A frozen map is its own snapshot;
+	 * any other map is flattened into a new one, so that a base never has a base of its own.
+	 *
+	 * @return the frozen map
+	 *
+	 * @since 3.0
+	 */
+
+	public KnowledgeMap snapshot() {
+		if (frozen)
+			return this;
+
+		KnowledgeMap m = new KnowledgeMap(width, height, null);
+		if (base != null) {
+			for (int i = 0; i < base.keys.length; i++) {
+				if (base.keys[i] != 0)
+					m.writeTile(base.keys[i] - 1, readTile(base.keys[i] - 1));
+			}
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0)
+				m.writeTile(keys[i] - 1, values[i]);
+		}
+
+		m.frozen = true;
+		return m;
+	}
+
+	/**
+	 * Returns a region's bit within its tile.
+	 *
+	 * @since 3.0
+	 */
+
+	private static long bitOf(int x, int y) {
+		return 1L << (((y % TILE) * TILE) + (x % TILE));
+	}
+
+	/**
+	 * Fails if the map is a frozen base.
+	 *
+	 * @throws IllegalStateException
+	 *             if the map is frozen
+	 *
+	 * @since 3.0
+	 */
+
+	private void checkWritable() {
+		if (frozen)
+			throw new IllegalStateException("A base map cannot be changed; fork it instead");
+	}
+
+	/**
+	 * Empties the stored tiles.
+	 *
+	 * @since 3.0
+	 */
+
+	private void clearTiles() {
+		keys = new int[4];
+		values = new long[4];
+		size = 0;
+	}
+
+	/**
+	 * Finds a tile's slot in the stored tiles.
+	 *
+	 * @param t
+	 *            the tile
+	 *
+	 * @return the tile's slot, or the empty slot where it would go
+	 *
+	 * @since 3.0
+	 */
+
+	private int find(int t) {
+		int mask = keys.length - 1;
+		int h = t * 0x9E3779B9;
+		int i = (h ^ (h >>> 16)) & mask;
+		while ((keys[i] != 0) && (keys[i] != t + 1))
+			i = (i + 1) & mask;
+		return i;
+	}
+
+	/**
+	 * Adds regions to a tile.
+	 *
+	 * @since 3.0
+	 */
+
+	private void mergeTile(int t, long bits) {
+		long tile = readTile(t);
+		if ((bits & ~tile) != 0)
+			writeTile(t, tile | bits);
+	}
+
+	/**
+	 * Reads a tile, from this map if it has written it, or else from the base.
+	 *
+	 * @since 3.0
+	 */
+
+	private long readTile(int t) {
+		int i = find(t);
+		if (keys[i] != 0)
+			return values[i];
+		return (base == null) ? 0L : base.readTile(t);
+	}
+
+	/**
+	 * Reads the stored tiles.
+	 *
+	 * @since 3.0
+	 */
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		clearTiles();
+		int n = in.readInt();
+		for (int i = 0; i < n; i++)
+			store(in.readInt(), in.readLong());
+	}
+
+	/**
+	 * Stores a tile, growing the table when it is half full.
+	 *
+	 * @since 3.0
+	 */
+
+	private void store(int t, long tile) {
+		int i = find(t);
+		if (keys[i] == 0) {
+			if ((size + 1) * 2 > keys.length) {
+				int old_keys[] = keys;
+				long old_values[] = values;
+				keys = new int[old_keys.length * 2];
+				values = new long[old_values.length * 2];
+				for (int j = 0; j < old_keys.length; j++) {
+					if (old_keys[j] != 0) {
+						int k = find(old_keys[j] - 1);
+						keys[k] = old_keys[j];
+						values[k] = old_values[j];
+					}
+				}
+				i = find(t);
+			}
+			keys[i] = t + 1;
+			size++;
+		}
+		values[i] = tile;
+	}
+
+	/**
+	 * Returns the bits of a tile that lie inside the map (the last row and column of tiles may be partly outside).
+	 *
+	 * @since 3.0
+	 */
+
+	private long tileMask(int t) {
+		int cols = Math.min(TILE, width - (t % tiles_across) * TILE);
+		int rows = Math.min(TILE, height - (t / tiles_across) * TILE);
+
+		long row = 0xFFL >>> (TILE - cols);
+		long mask = 0;
+		for (int r = 0; r < rows; r++)
+			mask |= row << (r * TILE);
+		return mask;
+	}
+
+	/**
+	 * Returns the tile holding a region.
+	 *
+	 * @since 3.0
+	 */
+
+	private int tileOf(int x, int y) {
+		return (y / TILE) * tiles_across + (x / TILE);
+	}
+
+	/**
+	 * Writes a tile to this map, keeping the count of known regions.
+	 *
+	 * @since 3.0
+	 */
+
+	private void writeTile(int t, long tile) {
+		count += Long.bitCount(tile) - Long.bitCount(readTile(t));
+		store(t, tile);
+	}
+
+	/**
+	 * Writes the stored tiles as (tile, bits) pairs, rather than as the hash table's arrays.
+	 *
+	 * @since 3.0
+	 */
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+
+		out.writeInt(size);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				out.writeInt(keys[i] - 1);
+				out.writeLong(values[i]);
+			}
+		}
+	}
+
+}
@@ -11,13 +11,14 @@ import java.io.Serializable;
  * <LI>Version 1.1 - 11/24/2002 - added serializable interface
  * <LI>Version 1.2 - 04/29/2003 - added abstract upgrade-naming functions
  * <LI>Version 2.0 - 10/22/2004 - removed the option to upgrade a system, made other minor changes
+ * <LI>Version 2.1 - 10/19/2026 - added copy (), so that ships can be built from prototype systems
  * </UL>
  * 
  * @author	Andrew Killam
- * @version	2.0 - 10/22/2004
+ * @version	2.1 - 10/19/2026
  */
 
-public abstract class MachineSystem implements Serializable
+public abstract class MachineSystem implements Cloneable, Serializable
 {
 	
 //////////////////////////////////////////////////////////////////////////////
@@ -73,6 +74,28 @@ public float applyDamage (float d)
 	}
 }
 
+/**		Returns a copy of the system, in the same state.  Systems whose state
+ * 		includes arrays or other objects must override this function to copy
+ * 		them as well.
+ * 
+ * 		@return		the copy
+ * 
+ * 		@since		2.1
+ */
+
+public MachineSystem copy ()
+{
+	try
+	{
+		return (MachineSystem) clone ();
+	}
+	catch (CloneNotSupportedException e)
+	{
+		// cannot happen, as every system is cloneable
+		throw new InternalError (e);
+	}
+}
+
 /**		Provides a string to identify the system.
  * 
  * 		@return		a string to identify the system